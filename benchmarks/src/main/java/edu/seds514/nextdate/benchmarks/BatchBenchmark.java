@@ -0,0 +1,86 @@
+package edu.seds514.nextdate.benchmarks;
+
+import edu.seds514.nextdate.NextDate;
+import edu.seds514.nextdate.PackedDate;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Batch throughput in rows per microsecond: a getNextDate loop against the column
+ * batch API and the packed batch API. {@link ParallelScalingBenchmark} covers the
+ * parallel processor.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+@OperationsPerInvocation(BatchBenchmark.ROWS)
+public class BatchBenchmark {
+
+    static final int ROWS = 1 << 20;
+
+    private NextDate nextDate;
+    private int[] months;
+    private int[] days;
+    private int[] years;
+    private int[] packed;
+    private int[] out;
+    private int[] outMonths;
+    private int[] outDays;
+    private int[] outYears;
+    private long[] invalid;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        nextDate = new NextDate();
+        Random random = new Random(514);
+        months = new int[ROWS];
+        days = new int[ROWS];
+        years = new int[ROWS];
+        packed = new int[ROWS];
+        for (int i = 0; i < ROWS; i++) {
+            int date = PackedDate.fromOrdinal(random.nextInt(105_000));
+            packed[i] = date;
+            months[i] = PackedDate.month(date);
+            days[i] = PackedDate.day(date);
+            years[i] = PackedDate.year(date);
+        }
+        out = new int[ROWS];
+        outMonths = new int[ROWS];
+        outDays = new int[ROWS];
+        outYears = new int[ROWS];
+        invalid = new long[ROWS / 64];
+    }
+
+    @Benchmark
+    public void getNextDateLoop(Blackhole blackhole) {
+        for (int i = 0; i < ROWS; i++) {
+            blackhole.consume(nextDate.getNextDate(months[i], days[i], years[i]));
+        }
+    }
+
+    @Benchmark
+    public int batchColumns() {
+        return nextDate.nextDates(months, days, years, 0, ROWS, outMonths, outDays, outYears, invalid);
+    }
+
+    @Benchmark
+    public int batchPacked() {
+        return nextDate.nextDates(packed, 0, ROWS, out, invalid);
+    }
+}
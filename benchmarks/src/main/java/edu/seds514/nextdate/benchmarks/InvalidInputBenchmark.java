@@ -0,0 +1,60 @@
+package edu.seds514.nextdate.benchmarks;
+
+import edu.seds514.nextdate.NextDate;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Throughput on invalid input: the throwing getNextDate against the status-code
+ * tryNextDate, for each kind of validation failure.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class InvalidInputBenchmark {
+
+    /** Invalid inputs as month/day/year, one per validation failure. */
+    @Param({"6/15/1811", "13/15/2000", "1/32/2000", "2/30/2000"})
+    public String input;
+
+    private NextDate nextDate;
+    private int month;
+    private int day;
+    private int year;
+
+    @Setup
+    public void setUp() {
+        nextDate = new NextDate();
+        String[] parts = input.split("/");
+        month = Integer.parseInt(parts[0]);
+        day = Integer.parseInt(parts[1]);
+        year = Integer.parseInt(parts[2]);
+    }
+
+    @Benchmark
+    public Object getNextDateThrows() {
+        try {
+            return nextDate.getNextDate(month, day, year);
+        } catch (IllegalArgumentException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public int tryNextDateStatus() {
+        return nextDate.tryNextDate(month, day, year);
+    }
+}
@@ -0,0 +1,90 @@
+package edu.seds514.nextdate.benchmarks;
+
+import edu.seds514.nextdate.NextDate;
+import edu.seds514.nextdate.PackedDate;
+import edu.seds514.nextdate.ParallelNextDate;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Scaling of {@link ParallelNextDate} from 1 to N threads: time per batch of the
+ * sequential packed batch API and of the parallel processor for each pool size. The
+ * speedup for a pool size is the {@code sequential} score over its {@code parallel}
+ * score at the same row count; the larger row count no longer fits in the CPU caches.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(value = 2, jvmArgsAppend = "-Xmx1g")
+@State(Scope.Thread)
+public class ParallelScalingBenchmark {
+
+    /** Rows per batch. */
+    @Param({"1048576", "50000000"})
+    public int rows;
+
+    private NextDate nextDate;
+    private int[] dates;
+    private int[] next;
+    private long[] invalid;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        nextDate = new NextDate();
+        Random random = new Random(1);
+        dates = new int[rows];
+        for (int i = 0; i < rows; i++) {
+            dates[i] = PackedDate.fromOrdinal(random.nextInt(105_000));
+        }
+        next = new int[rows];
+        invalid = new long[(rows + 63) / 64];
+    }
+
+    /** The parallel processor and its pool. */
+    @State(Scope.Thread)
+    public static class Pool {
+
+        /** Pool size; 0 means all available processors. */
+        @Param({"1", "2", "4", "0"})
+        public int threads;
+
+        ForkJoinPool pool;
+        ParallelNextDate parallel;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            pool = new ForkJoinPool(threads == 0 ? Runtime.getRuntime().availableProcessors() : threads);
+            parallel = new ParallelNextDate(pool);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            pool.shutdown();
+        }
+    }
+
+    @Benchmark
+    public int sequential() {
+        return nextDate.nextDates(dates, 0, rows, next, invalid);
+    }
+
+    @Benchmark
+    public int parallel(Pool pool) {
+        return pool.parallel.nextDates(dates, 0, rows, next, invalid);
+    }
+}
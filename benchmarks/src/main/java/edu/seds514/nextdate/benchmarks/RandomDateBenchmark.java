@@ -0,0 +1,81 @@
+package edu.seds514.nextdate.benchmarks;
+
+import edu.seds514.nextdate.NextDate;
+import edu.seds514.nextdate.NextDateTable;
+import edu.seds514.nextdate.PackedDate;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Single-call cost on random valid dates, where the month-end and leap-year branches
+ * cannot be predicted: {@code tryNextDate} against a bare {@link NextDateTable} lookup
+ * and against an instance with a non-default range, which skips the table.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+@OperationsPerInvocation(RandomDateBenchmark.DATES)
+public class RandomDateBenchmark {
+
+    static final int DATES = 4096;
+
+    private NextDate nextDate;
+    private NextDate customRange;
+    private NextDateTable table;
+    private int[] months;
+    private int[] days;
+    private int[] years;
+
+    @Setup
+    public void setUp() {
+        nextDate = new NextDate();
+        customRange = new NextDate(1812, 2101);
+        table = NextDateTable.getInstance();
+        Random random = new Random(514);
+        months = new int[DATES];
+        days = new int[DATES];
+        years = new int[DATES];
+        for (int i = 0; i < DATES; i++) {
+            int date = PackedDate.fromOrdinal(random.nextInt(table.size()));
+            months[i] = PackedDate.month(date);
+            days[i] = PackedDate.day(date);
+            years[i] = PackedDate.year(date);
+        }
+    }
+
+    @Benchmark
+    public void tryNextDate(Blackhole blackhole) {
+        for (int i = 0; i < DATES; i++) {
+            blackhole.consume(nextDate.tryNextDate(months[i], days[i], years[i]));
+        }
+    }
+
+    @Benchmark
+    public void tryNextDateCustomRange(Blackhole blackhole) {
+        for (int i = 0; i < DATES; i++) {
+            blackhole.consume(customRange.tryNextDate(months[i], days[i], years[i]));
+        }
+    }
+
+    @Benchmark
+    public void tableNext(Blackhole blackhole) {
+        for (int i = 0; i < DATES; i++) {
+            blackhole.consume(table.next(months[i], days[i], years[i]));
+        }
+    }
+}
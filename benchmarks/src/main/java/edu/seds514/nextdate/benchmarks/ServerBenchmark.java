@@ -0,0 +1,88 @@
+package edu.seds514.nextdate.benchmarks;
+
+import edu.seds514.nextdate.NextDateClient;
+import edu.seds514.nextdate.NextDateServer;
+import edu.seds514.nextdate.PackedDate;
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Binary protocol round trips: every benchmark thread owns one connection to a server
+ * running in the same JVM and sends a batch of random dates per operation. Sample
+ * mode reports the latency percentiles; change the connection count with {@code -t}.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@Threads(4)
+public class ServerBenchmark {
+
+    /** The server shared by all benchmark threads. */
+    @State(Scope.Benchmark)
+    public static class Server {
+
+        NextDateServer server;
+
+        @Setup(Level.Trial)
+        public void setUp() throws IOException {
+            server = new NextDateServer(0, 0, Runtime.getRuntime().availableProcessors());
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws IOException {
+            server.close();
+        }
+    }
+
+    /** One connection and batch per benchmark thread. */
+    @State(Scope.Thread)
+    public static class Connection {
+
+        /** Dates per request. */
+        @Param({"1", "1024"})
+        public int batchSize;
+
+        NextDateClient client;
+        int[] dates;
+        int[] results;
+
+        @Setup(Level.Trial)
+        public void setUp(Server server) throws IOException {
+            client = new NextDateClient(server.server.getTcpPort());
+            Random random = new Random(Thread.currentThread().getId());
+            dates = new int[batchSize];
+            results = new int[batchSize];
+            for (int i = 0; i < batchSize; i++) {
+                dates[i] = PackedDate.fromOrdinal(random.nextInt(105_000));
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws IOException {
+            client.close();
+        }
+    }
+
+    @Benchmark
+    public int[] roundTrip(Connection connection) throws IOException {
+        connection.client.nextDates(connection.dates, 0, connection.batchSize, connection.results);
+        return connection.results;
+    }
+}
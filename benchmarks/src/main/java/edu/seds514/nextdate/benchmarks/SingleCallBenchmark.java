@@ -0,0 +1,112 @@
+package edu.seds514.nextdate.benchmarks;
+
+import edu.seds514.nextdate.NextDate;
+import edu.seds514.nextdate.NextDateTable;
+import edu.seds514.nextdate.PackedDate;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Single-call latency of the NextDate hot paths, one run per decision-table case,
+ * with {@code LocalDate.plusDays(1)} as a baseline.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class SingleCallBenchmark {
+
+    /**
+     * Decision-table cases, as month/day/year.
+     * MID_MONTH: Rule 1, MONTH_END: Rules 2-3, FEB_28_LEAP: Rule 4,
+     * FEB_29_LEAP: Rule 5, FEB_28_NON_LEAP: Rule 6, DEC_31: Rule 7
+     */
+    @Param({"MID_MONTH", "MONTH_END", "FEB_28_LEAP", "FEB_29_LEAP", "FEB_28_NON_LEAP", "DEC_31"})
+    public String dateCase;
+
+    private NextDate nextDate;
+    private NextDateTable table;
+    private int month;
+    private int day;
+    private int year;
+    private int packed;
+    private LocalDate localDate;
+    private char[] buffer;
+
+    @Setup
+    public void setUp() {
+        nextDate = new NextDate();
+        table = NextDateTable.getInstance();
+        buffer = new char[NextDate.FORMATTED_LENGTH];
+        switch (dateCase) {
+            case "MID_MONTH":
+                packed = 20000615;
+                break;
+            case "MONTH_END":
+                packed = 20000131;
+                break;
+            case "FEB_28_LEAP":
+                packed = 20000228;
+                break;
+            case "FEB_29_LEAP":
+                packed = 20000229;
+                break;
+            case "FEB_28_NON_LEAP":
+                packed = 19000228;
+                break;
+            case "DEC_31":
+                packed = 19991231;
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown case: " + dateCase);
+        }
+        month = PackedDate.month(packed);
+        day = PackedDate.day(packed);
+        year = PackedDate.year(packed);
+        localDate = LocalDate.of(year, month, day);
+    }
+
+    @Benchmark
+    public String getNextDateString() {
+        return nextDate.getNextDate(month, day, year);
+    }
+
+    @Benchmark
+    public char[] getNextDateCharBuffer() {
+        nextDate.getNextDate(month, day, year, buffer, 0);
+        return buffer;
+    }
+
+    @Benchmark
+    public int nextDatePacked() {
+        return nextDate.nextDate(packed);
+    }
+
+    @Benchmark
+    public int tryNextDate() {
+        return nextDate.tryNextDate(month, day, year);
+    }
+
+    @Benchmark
+    public int tableNext() {
+        return table.next(month, day, year);
+    }
+
+    @Benchmark
+    public LocalDate localDatePlusDaysBaseline() {
+        return localDate.plusDays(1);
+    }
+}
@@ -0,0 +1,177 @@
+package edu.seds514.nextdate.benchmarks;
+
+import edu.seds514.nextdate.NextDate;
+import edu.seds514.nextdate.NextDateTable;
+import edu.seds514.nextdate.PackedDate;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cold-start cost: time to the first result and to the first 10,000 results.
+ *
+ * The in-JVM benchmarks run once per fresh fork, so each sample includes class
+ * loading, table construction and interpreted execution of the first calls, but not
+ * JVM boot. {@link #runtimeTableFirstResult} builds the same month tables with
+ * the lengths computed at runtime, as before {@code CalendarData} was generated, as
+ * the baseline for {@link #tableFirstResult}. {@link #cliProcess} covers the whole picture by launching the packaged
+ * CLI jar in a new JVM per sample, with or without the AppCDS archive built by the
+ * {@code appcds} profile; run it from the project root after
+ * {@code mvn -P appcds package -Djacoco.skip=true}.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(20)
+public class StartupBenchmark {
+
+    /** Number of results in the "first 10k" benchmarks. */
+    private static final int RESULTS = 10_000;
+
+    /** First input date. */
+    private static final int START = 20000101;
+
+    @Benchmark
+    public int nextDateFirstResult() {
+        return new NextDate().nextDate(START);
+    }
+
+    @Benchmark
+    public int nextDateFirst10kResults() {
+        NextDate nextDate = new NextDate();
+        int date = START;
+        for (int i = 0; i < RESULTS; i++) {
+            date = nextDate.nextDate(date);
+        }
+        return date;
+    }
+
+    @Benchmark
+    public int tableFirstResult() {
+        return NextDateTable.getInstance().next(PackedDate.month(START), PackedDate.day(START), PackedDate.year(START));
+    }
+
+    @Benchmark
+    public int runtimeTableFirstResult() {
+        int years = NextDateTable.MAX_YEAR - NextDateTable.MIN_YEAR + 1;
+        int[] monthStart = new int[years * 12];
+        byte[] monthLength = new byte[years * 12];
+        int ordinal = 0;
+        for (int slot = 0; slot < monthStart.length; slot++) {
+            monthStart[slot] = ordinal;
+            monthLength[slot] = (byte) daysInMonth(slot % 12 + 1, NextDateTable.MIN_YEAR + slot / 12);
+            ordinal += monthLength[slot];
+        }
+        int slot = (PackedDate.year(START) - NextDateTable.MIN_YEAR) * 12 + PackedDate.month(START) - 1;
+        return PackedDate.day(START) < monthLength[slot] ? START + 1 : monthStart[slot];
+    }
+
+    @Benchmark
+    public int tableFirst10kResults() {
+        NextDateTable table = NextDateTable.getInstance();
+        int date = START;
+        for (int i = 0; i < RESULTS; i++) {
+            date = table.next(PackedDate.month(date), PackedDate.day(date), PackedDate.year(date));
+        }
+        return date;
+    }
+
+    private static int daysInMonth(int month, int year) {
+        if (month == 2) {
+            return year % 400 == 0 || (year % 4 == 0 && year % 100 != 0) ? 29 : 28;
+        }
+        return month == 4 || month == 6 || month == 9 || month == 11 ? 30 : 31;
+    }
+
+    @Benchmark
+    @Warmup(iterations = 2)
+    @Measurement(iterations = 10)
+    @Fork(1)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public int cliProcess(CliState state) throws IOException, InterruptedException {
+        Process process = new ProcessBuilder(state.command)
+            .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+            .redirectError(ProcessBuilder.Redirect.INHERIT)
+            .start();
+        int status = process.waitFor();
+        if (status != 0) {
+            throw new IllegalStateException("CLI exited with status " + status);
+        }
+        return status;
+    }
+
+    /**
+     * Launch command and input file for {@link #cliProcess}.
+     */
+    @State(Scope.Benchmark)
+    public static class CliState {
+
+        /** Path of the CLI jar. */
+        @Param("target/nextdate-1.0.0.jar")
+        public String jar;
+
+        /** Path of the AppCDS archive, or empty to start without one. */
+        @Param({"", "target/nextdate.jsa"})
+        public String archive;
+
+        /** Number of input lines. */
+        @Param({"1", "10000"})
+        public int lines;
+
+        List<String> command;
+        private Path input;
+
+        @Setup(Level.Trial)
+        public void setUp() throws IOException {
+            if (!Files.isRegularFile(Paths.get(jar))) {
+                throw new IllegalStateException("No jar at " + jar + "; run mvn package first");
+            }
+            input = Files.createTempFile("nextdate-startup", ".txt");
+            try (Writer out = Files.newBufferedWriter(input, StandardCharsets.US_ASCII)) {
+                int date = START;
+                NextDate nextDate = new NextDate();
+                for (int i = 0; i < lines; i++) {
+                    out.write(PackedDate.format(date));
+                    out.write('\n');
+                    date = nextDate.nextDate(date);
+                }
+            }
+            command = new ArrayList<>();
+            command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+            if (!archive.isEmpty()) {
+                if (!Files.isRegularFile(Paths.get(archive))) {
+                    throw new IllegalStateException("No archive at " + archive + "; run mvn -P appcds package first");
+                }
+                command.add("-XX:SharedArchiveFile=" + archive);
+            }
+            command.add("-jar");
+            command.add(jar);
+            command.add(input.toString());
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws IOException {
+            Files.deleteIfExists(input);
+        }
+    }
+}
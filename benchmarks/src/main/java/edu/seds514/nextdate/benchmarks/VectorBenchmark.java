@@ -0,0 +1,92 @@
+package edu.seds514.nextdate.benchmarks;
+
+import edu.seds514.nextdate.NextDate;
+import edu.seds514.nextdate.PackedDate;
+import edu.seds514.nextdate.VectorizedNextDate;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Column batch throughput in rows per microsecond: the scalar batch kernel against the
+ * Vector API kernel, on random dates (including invalid ones) and on sorted dates.
+ * Forks run with the incubator module so the SIMD kernel can load; check the
+ * {@code vectorized} line printed at setup on JDKs older than 17.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+@State(Scope.Thread)
+@OperationsPerInvocation(VectorBenchmark.ROWS)
+public class VectorBenchmark {
+
+    static final int ROWS = 1 << 16;
+
+    /** "random": uniform over the domain with ~10% invalid rows; "sorted": consecutive valid dates. */
+    @Param({"random", "sorted"})
+    public String input;
+
+    private NextDate nextDate;
+    private VectorizedNextDate vectorized;
+    private int[] months;
+    private int[] days;
+    private int[] years;
+    private int[] outMonths;
+    private int[] outDays;
+    private int[] outYears;
+    private long[] invalid;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        nextDate = new NextDate();
+        vectorized = new VectorizedNextDate();
+        System.out.println("vectorized: " + vectorized.isVectorized());
+        Random random = new Random(514);
+        int[] packed = new int[ROWS];
+        for (int i = 0; i < ROWS; i++) {
+            if (input.equals("sorted")) {
+                packed[i] = PackedDate.fromOrdinal(i);
+            } else if (random.nextInt(10) == 0) {
+                packed[i] = PackedDate.pack(random.nextInt(14), random.nextInt(33), 1805 + random.nextInt(300));
+            } else {
+                packed[i] = PackedDate.fromOrdinal(random.nextInt(105_000));
+            }
+        }
+        months = new int[ROWS];
+        days = new int[ROWS];
+        years = new int[ROWS];
+        for (int i = 0; i < ROWS; i++) {
+            months[i] = PackedDate.month(packed[i]);
+            days[i] = PackedDate.day(packed[i]);
+            years[i] = PackedDate.year(packed[i]);
+        }
+        outMonths = new int[ROWS];
+        outDays = new int[ROWS];
+        outYears = new int[ROWS];
+        invalid = new long[ROWS / 64];
+    }
+
+    @Benchmark
+    public int scalar() {
+        return nextDate.nextDates(months, days, years, 0, ROWS, outMonths, outDays, outYears, invalid);
+    }
+
+    @Benchmark
+    public int vector() {
+        return vectorized.nextDates(months, days, years, 0, ROWS, outMonths, outDays, outYears, invalid);
+    }
+}
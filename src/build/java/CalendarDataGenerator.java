@@ -0,0 +1,89 @@
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+/**
+ * Build-time generator for {@code edu.seds514.nextdate.CalendarData}.
+ *
+ * Run by Maven in the generate-sources phase as a single-file source program
+ * ({@code java CalendarDataGenerator.java <output directory>}), so it needs no
+ * compilation step of its own. It writes the month lengths of the 1812-2100
+ * domain as one string constant, which the JVM loads straight from the constant
+ * pool, plus the domain bounds as compile-time constants. The calendar rules come
+ * from java.time, independently of NextDate; NextDateTableTest checks that the two
+ * agree.
+ */
+public class CalendarDataGenerator {
+
+    private static final int MIN_YEAR = 1812;
+    private static final int MAX_YEAR = 2100;
+
+    /** Month lengths per line of the generated string literal. */
+    private static final int PER_LINE = 24;
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.err.println("Usage: java CalendarDataGenerator.java <output directory>");
+            System.exit(2);
+        }
+        Path file = Paths.get(args[0], "edu", "seds514", "nextdate", "CalendarData.java");
+        Files.createDirectories(file.getParent());
+
+        LocalDate first = LocalDate.of(MIN_YEAR, 1, 1);
+        LocalDate last = LocalDate.of(MAX_YEAR, 12, 31);
+        long days = last.toEpochDay() - first.toEpochDay() + 1;
+
+        StringBuilder lengths = new StringBuilder();
+        int slot = 0;
+        for (int year = MIN_YEAR; year <= MAX_YEAR; year++) {
+            for (int month = 1; month <= 12; month++, slot++) {
+                if (slot % PER_LINE == 0) {
+                    lengths.append(slot == 0 ? "\n        \"" : "\"\n        + \"");
+                }
+                lengths.append(String.format("\\%03o", YearMonth.of(year, month).lengthOfMonth()));
+            }
+        }
+        lengths.append('"');
+
+        try (Writer out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            out.write("package edu.seds514.nextdate;\n"
+                + "\n"
+                + "/**\n"
+                + " * Calendar constants for the " + MIN_YEAR + "-" + MAX_YEAR + " domain.\n"
+                + " *\n"
+                + " * Generated at build time by src/build/java/CalendarDataGenerator.java; do not edit.\n"
+                + " */\n"
+                + "final class CalendarData {\n"
+                + "\n"
+                + "    /** Smallest supported year. */\n"
+                + "    static final int MIN_YEAR = " + MIN_YEAR + ";\n"
+                + "\n"
+                + "    /** Largest supported year. */\n"
+                + "    static final int MAX_YEAR = " + MAX_YEAR + ";\n"
+                + "\n"
+                + "    /** Number of dates from 01/01/" + MIN_YEAR + " to 12/31/" + MAX_YEAR + ". */\n"
+                + "    static final int DAYS = " + days + ";\n"
+                + "\n"
+                + "    /** Epoch day of 01/01/" + MIN_YEAR + ". */\n"
+                + "    static final long FIRST_EPOCH_DAY = " + first.toEpochDay() + "L;\n"
+                + "\n"
+                + "    /** Epoch day of 12/31/" + MAX_YEAR + ". */\n"
+                + "    static final long LAST_EPOCH_DAY = " + last.toEpochDay() + "L;\n"
+                + "\n"
+                + "    /**\n"
+                + "     * Days in each month as one Latin-1 char per month, indexed by\n"
+                + "     * {@code (year - MIN_YEAR) * 12 + (month - 1)}.\n"
+                + "     */\n"
+                + "    static final String MONTH_LENGTHS =" + lengths + ";\n"
+                + "\n"
+                + "    private CalendarData() {\n"
+                + "    }\n"
+                + "}\n");
+        }
+    }
+}
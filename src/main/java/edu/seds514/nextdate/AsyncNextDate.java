@@ -0,0 +1,322 @@
+package edu.seds514.nextdate;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Asynchronous NextDate facade that coalesces concurrent single-date calls into batches.
+ *
+ * Callers get a {@link CompletableFuture} immediately. A single flusher thread collects
+ * queued requests into a batch and runs it through the batch kernel of
+ * {@link NextDate#nextDates(int[], int, int, int[], long[])} once either
+ * - the batch holds {@code maxBatchSize} requests, or
+ * - {@code maxDelay} has passed since the first request of the batch was taken.
+ * Under load batches fill up and the per-call cost of validation is amortized; when
+ * idle, a lone request waits at most {@code maxDelay}.
+ *
+ * Futures are completed on the flusher thread, so dependent stages added with the
+ * non-async {@code then...} methods also run there; use the {@code ...Async} variants
+ * for anything slow. An invalid date completes its future exceptionally with the same
+ * {@link IllegalArgumentException} that {@link NextDate#nextDate(int, int, int)} throws.
+ */
+public final class AsyncNextDate implements Closeable {
+
+    /** Default largest batch. */
+    public static final int DEFAULT_MAX_BATCH_SIZE = 1024;
+
+    /** Default longest wait for a batch to fill: 50 microseconds. */
+    public static final long DEFAULT_MAX_DELAY_NANOS = 50_000L;
+
+    /** Number of batch-size histogram buckets; bucket {@code b} counts sizes from 2^b to 2^(b+1) - 1. */
+    static final int HISTOGRAM_BUCKETS = 32;
+
+    /** Queued by {@link #close()} to stop the flusher. */
+    private static final Request POISON = new Request(0);
+
+    private final NextDate nextDate;
+    private final int maxBatchSize;
+    private final long maxDelayNanos;
+    private final BlockingQueue<Request> queue = new LinkedBlockingQueue<>();
+    private final Thread flusher;
+    private volatile boolean closed;
+
+    // Written only by the flusher thread
+    private volatile long batches;
+    private volatile long requests;
+    private volatile int largestBatch;
+    private volatile int peakQueueDepth;
+    private final AtomicLongArray batchSizeHistogram = new AtomicLongArray(HISTOGRAM_BUCKETS);
+
+    /**
+     * Creates a facade for years 1812-2100 with the default batch size and deadline.
+     */
+    public AsyncNextDate() {
+        this(DEFAULT_MAX_BATCH_SIZE, DEFAULT_MAX_DELAY_NANOS, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Creates a facade for years 1812-2100 and starts its flusher thread.
+     *
+     * @param maxBatchSize the most requests in one batch
+     * @param maxDelay the longest time a batch waits to fill after its first request
+     * @param unit the unit of maxDelay
+     * @throws IllegalArgumentException if maxBatchSize is not positive or maxDelay is negative
+     */
+    public AsyncNextDate(int maxBatchSize, long maxDelay, TimeUnit unit) {
+        this(CalendarData.MIN_YEAR, CalendarData.MAX_YEAR, maxBatchSize, maxDelay, unit);
+    }
+
+    /**
+     * Creates a facade for a range of years and starts its flusher thread.
+     *
+     * @param minYear the smallest valid year, at least {@link NextDate#MIN_SUPPORTED_YEAR}
+     * @param maxYear the largest valid year, at most {@link NextDate#MAX_SUPPORTED_YEAR}
+     * @param maxBatchSize the most requests in one batch
+     * @param maxDelay the longest time a batch waits to fill after its first request
+     * @param unit the unit of maxDelay
+     * @throws IllegalArgumentException if the range is empty or not supported, maxBatchSize
+     *         is not positive or maxDelay is negative
+     */
+    public AsyncNextDate(int minYear, int maxYear, int maxBatchSize, long maxDelay, TimeUnit unit) {
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be positive");
+        }
+        if (maxDelay < 0) {
+            throw new IllegalArgumentException("Delay must not be negative");
+        }
+        this.nextDate = new NextDate(minYear, maxYear);
+        this.maxBatchSize = maxBatchSize;
+        this.maxDelayNanos = unit.toNanos(maxDelay);
+        this.flusher = new Thread(this::flushLoop, "nextdate-async-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    /**
+     * Requests the next date for a date.
+     *
+     * @param month the month (1-12)
+     * @param day the day (1-31 depending on month)
+     * @param year the year (1812-2100 unless configured)
+     * @return a future of the next date packed as described in {@link PackedDate}
+     * @throws IllegalStateException if this facade is closed
+     */
+    public CompletableFuture<Integer> nextDate(int month, int day, int year) {
+        // Checked before packing, or out-of-range fields would carry into another date
+        int status = nextDate.checkDate(month, day, year);
+        if (status < 0) {
+            if (closed) {
+                throw new IllegalStateException("AsyncNextDate is closed");
+            }
+            return CompletableFuture.failedFuture(nextDate.invalidDate(status, month, day, year));
+        }
+        return nextDate(PackedDate.pack(month, day, year));
+    }
+
+    /**
+     * Requests the next date for a packed date.
+     *
+     * @param date the date packed as described in {@link PackedDate}
+     * @return a future of the next date, packed
+     * @throws IllegalStateException if this facade is closed
+     */
+    public CompletableFuture<Integer> nextDate(int date) {
+        Request request = new Request(date);
+        queue.add(request);
+        // Queued after the flusher's last drain: take it back. Queued before, the flusher answers it.
+        if (closed && queue.remove(request)) {
+            throw new IllegalStateException("AsyncNextDate is closed");
+        }
+        return request.future;
+    }
+
+    /**
+     * Requests the next date for a date, formatted as "MM/DD/YYYY".
+     *
+     * @param month the month (1-12)
+     * @param day the day (1-31 depending on month)
+     * @param year the year (1812-2100 unless configured)
+     * @return a future of the formatted next date
+     * @throws IllegalStateException if this facade is closed
+     */
+    public CompletableFuture<String> getNextDate(int month, int day, int year) {
+        return nextDate(month, day, year).thenApply(PackedDate::format);
+    }
+
+    /**
+     * Gets the number of requests waiting for the flusher.
+     *
+     * @return the current queue depth
+     */
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    /**
+     * Gets the largest queue depth seen by the flusher when it started a batch.
+     *
+     * @return the peak queue depth
+     */
+    public int getPeakQueueDepth() {
+        return peakQueueDepth;
+    }
+
+    /**
+     * Gets the number of batches run.
+     *
+     * @return the batch count
+     */
+    public long getBatchCount() {
+        return batches;
+    }
+
+    /**
+     * Gets the number of requests completed through batches.
+     *
+     * @return the request count
+     */
+    public long getRequestCount() {
+        return requests;
+    }
+
+    /**
+     * Gets the largest batch run so far.
+     *
+     * @return the largest batch size
+     */
+    public int getLargestBatchSize() {
+        return largestBatch;
+    }
+
+    /**
+     * Gets the mean batch size.
+     *
+     * @return requests per batch, or 0 before the first batch
+     */
+    public double getAverageBatchSize() {
+        long b = batches;
+        return b == 0 ? 0 : (double) requests / b;
+    }
+
+    /**
+     * Gets the batch-size histogram. Bucket {@code b} counts batches of
+     * 2^b to 2^(b+1) - 1 requests, so bucket 0 is single-request batches.
+     *
+     * @return a copy of the bucket counts
+     */
+    public long[] getBatchSizeHistogram() {
+        long[] counts = new long[HISTOGRAM_BUCKETS];
+        for (int b = 0; b < HISTOGRAM_BUCKETS; b++) {
+            counts[b] = batchSizeHistogram.get(b);
+        }
+        return counts;
+    }
+
+    /**
+     * Completes every queued request, then stops the flusher thread. Requests made
+     * after closing are rejected.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        queue.add(POISON);
+        boolean interrupted = false;
+        while (flusher.isAlive()) {
+            try {
+                flusher.join();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void flushLoop() {
+        List<Request> batch = new ArrayList<>(maxBatchSize);
+        int[] dates = new int[maxBatchSize];
+        int[] results = new int[maxBatchSize];
+        long[] invalid = new long[(maxBatchSize + 63) >>> 6];
+        boolean stopping = false;
+        while (!stopping) {
+            try {
+                batch.add(queue.take());
+                peakQueueDepth = Math.max(peakQueueDepth, queue.size() + 1);
+                long deadline = System.nanoTime() + maxDelayNanos;
+                while (batch.size() < maxBatchSize) {
+                    queue.drainTo(batch, maxBatchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= maxBatchSize || remaining <= 0 || closed) {
+                        break;
+                    }
+                    Request next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                // Only close() stops the flusher; keep serving
+            }
+            stopping = batch.remove(POISON);
+            if (stopping) {
+                // Requests queued before close() still get an answer
+                queue.drainTo(batch);
+            }
+            for (int start = 0; start < batch.size(); start += maxBatchSize) {
+                run(batch.subList(start, Math.min(start + maxBatchSize, batch.size())), dates, results, invalid);
+            }
+            batch.clear();
+        }
+    }
+
+    /**
+     * Runs one batch through the kernel and completes its futures.
+     */
+    private void run(List<Request> batch, int[] dates, int[] results, long[] invalid) {
+        int size = batch.size();
+        for (int i = 0; i < size; i++) {
+            dates[i] = batch.get(i).date;
+        }
+        nextDate.nextDates(dates, 0, size, results, invalid);
+        // Counted before completing, so a caller sees its own batch in the statistics
+        batches = batches + 1;
+        requests = requests + size;
+        largestBatch = Math.max(largestBatch, size);
+        batchSizeHistogram.incrementAndGet(31 - Integer.numberOfLeadingZeros(size));
+        for (int i = 0; i < size; i++) {
+            Request request = batch.get(i);
+            if ((invalid[i >>> 6] & 1L << i) == 0) {
+                request.future.complete(results[i]);
+            } else {
+                // The same exception as a direct call
+                int date = request.date;
+                request.future.completeExceptionally(nextDate.invalidDate(nextDate.tryNextDate(date),
+                    PackedDate.month(date), PackedDate.day(date), PackedDate.year(date)));
+            }
+        }
+    }
+
+    /**
+     * One queued call.
+     */
+    private static final class Request {
+
+        private final int date;
+        private final CompletableFuture<Integer> future = new CompletableFuture<>();
+
+        Request(int date) {
+            this.date = date;
+        }
+    }
+}
@@ -0,0 +1,273 @@
+package edu.seds514.nextdate;
+
+import java.time.DayOfWeek;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * NextDate with business-day arithmetic over the 1812-2100 domain, or a range of
+ * years within it.
+ *
+ * A business day is any date that is neither a weekend day nor a holiday. Non-business
+ * days are kept in a bitmap with one bit per day ordinal (about 13 KB for the whole
+ * domain), plus a rank index holding the number of business days before each 64-day
+ * word. With these:
+ * - rank(ordinal), the business days before a date, is one index read and one bit count
+ * - select(k), the k-th business day, is a binary search over the index plus a scan
+ *   of one word
+ * so {@link #plusBusinessDays} and {@link #businessDaysBetween} take the same time
+ * for an offset of 1 or 100,000 days. With a narrower range, days outside it are
+ * marked closed, so no result can leave the range.
+ *
+ * Dates are packed as described in {@link PackedDate}. Instances are immutable and
+ * thread-safe.
+ */
+public class BusinessCalendar extends NextDate {
+
+    /** Day of week of ordinal 0, 01/01/1812. */
+    private static final DayOfWeek FIRST_DAY_OF_WEEK = DayOfWeek.WEDNESDAY;
+
+    /** Number of ordinals covered: every date from 01/01/1812 to 12/31/2100. */
+    private static final int DAYS = NextDateTable.getInstance().size();
+
+    private final Set<DayOfWeek> weekend;
+    private final long[] closed;
+    private final int[] businessBefore;
+    private final int businessDays;
+    private final int holidays;
+
+    /**
+     * Creates a calendar for years 1812-2100 with a Saturday/Sunday weekend.
+     *
+     * @param holidays the holidays, packed
+     * @throws IllegalArgumentException if a holiday is not a valid date in 1812-2100
+     */
+    public BusinessCalendar(int... holidays) {
+        this(EnumSet.of(DayOfWeek.SATURDAY, DayOfWeek.SUNDAY), holidays);
+    }
+
+    /**
+     * Creates a calendar for years 1812-2100.
+     *
+     * @param weekend the days of the week that are never business days (may be empty)
+     * @param holidays the holidays, packed; duplicates and holidays on weekend days are allowed
+     * @throws IllegalArgumentException if a holiday is not a valid date in 1812-2100
+     */
+    public BusinessCalendar(Set<DayOfWeek> weekend, int... holidays) {
+        this(CalendarData.MIN_YEAR, CalendarData.MAX_YEAR, weekend, holidays);
+    }
+
+    /**
+     * Creates a calendar for a range of years. The bitmap is indexed by
+     * {@link NextDateTable} ordinals, so the range must lie within 1812-2100.
+     *
+     * @param minYear the smallest valid year, at least 1812
+     * @param maxYear the largest valid year, at most 2100
+     * @param weekend the days of the week that are never business days (may be empty)
+     * @param holidays the holidays, packed; duplicates and holidays on weekend days are allowed
+     * @throws IllegalArgumentException if the range is empty or not within 1812-2100, or a
+     *         holiday is not a valid date in the range
+     */
+    public BusinessCalendar(int minYear, int maxYear, Set<DayOfWeek> weekend, int... holidays) {
+        super(minYear, maxYear);
+        if (minYear < CalendarData.MIN_YEAR || maxYear > CalendarData.MAX_YEAR) {
+            throw new IllegalArgumentException("Business calendar years must be within " + CalendarData.MIN_YEAR
+                + " and " + CalendarData.MAX_YEAR + ", got " + minYear + " to " + maxYear);
+        }
+        this.weekend = weekend.isEmpty()
+            ? Collections.unmodifiableSet(EnumSet.noneOf(DayOfWeek.class))
+            : Collections.unmodifiableSet(EnumSet.copyOf(weekend));
+        int words = (DAYS + 63) >>> 6;
+        closed = new long[words];
+
+        for (DayOfWeek day : this.weekend) {
+            int first = Math.floorMod(day.getValue() - FIRST_DAY_OF_WEEK.getValue(), 7);
+            for (int ordinal = first; ordinal < DAYS; ordinal += 7) {
+                closed[ordinal >>> 6] |= 1L << ordinal;
+            }
+        }
+        int weekdayHolidays = 0;
+        for (int holiday : holidays) {
+            int ordinal = toOrdinal(holiday);
+            if ((closed[ordinal >>> 6] & 1L << ordinal) == 0) {
+                closed[ordinal >>> 6] |= 1L << ordinal;
+                weekdayHolidays++;
+            }
+        }
+        this.holidays = weekdayHolidays;
+
+        // Ordinals outside the range are never business days, nor are those past the
+        // domain in the last word
+        int first = toOrdinal(PackedDate.pack(1, 1, minYear));
+        int end = toOrdinal(PackedDate.pack(12, 31, maxYear)) + 1;
+        for (int ordinal = 0; ordinal < first; ordinal++) {
+            closed[ordinal >>> 6] |= 1L << ordinal;
+        }
+        for (int ordinal = end; ordinal < words << 6; ordinal++) {
+            closed[ordinal >>> 6] |= 1L << ordinal;
+        }
+        businessBefore = new int[words + 1];
+        for (int w = 0; w < words; w++) {
+            businessBefore[w + 1] = businessBefore[w] + Long.bitCount(~closed[w]);
+        }
+        businessDays = businessBefore[words];
+    }
+
+    /**
+     * Gets the weekend days.
+     *
+     * @return an unmodifiable set of the weekend days
+     */
+    public Set<DayOfWeek> getWeekend() {
+        return weekend;
+    }
+
+    /**
+     * Gets the number of holidays that fall on days that would otherwise be business days.
+     *
+     * @return the number of distinct weekday holidays
+     */
+    public int getHolidayCount() {
+        return holidays;
+    }
+
+    /**
+     * Gets the number of business days from 01/01 of the first year to 12/31 of the last.
+     *
+     * @return the total number of business days
+     */
+    public int getBusinessDayCount() {
+        return businessDays;
+    }
+
+    /**
+     * Gets the day of the week of a date.
+     *
+     * @param date the date, packed
+     * @return the day of the week
+     * @throws IllegalArgumentException if the date is invalid
+     */
+    public DayOfWeek getDayOfWeek(int date) {
+        return FIRST_DAY_OF_WEEK.plus(toOrdinal(date) % 7);
+    }
+
+    /**
+     * Checks if a date is a business day.
+     *
+     * @param date the date, packed
+     * @return true if the date is neither a weekend day nor a holiday
+     * @throws IllegalArgumentException if the date is invalid
+     */
+    public boolean isBusinessDay(int date) {
+        int ordinal = toOrdinal(date);
+        return (closed[ordinal >>> 6] & 1L << ordinal) == 0;
+    }
+
+    /**
+     * Calculates the next business day after a given date.
+     *
+     * @param month the month (1-12)
+     * @param day the day (1-31 depending on month)
+     * @param year the year (1812-2100 unless configured)
+     * @return the next business day in "MM/DD/YYYY" format
+     * @throws IllegalArgumentException if the input date is invalid or no business day
+     *         follows it within the range
+     */
+    public String getNextBusinessDate(int month, int day, int year) {
+        // Validate before packing, or out-of-range fields would carry into another date
+        int status = checkDate(month, day, year);
+        if (status < 0) {
+            throw invalidDate(status, month, day, year);
+        }
+        return PackedDate.format(nextBusinessDate(PackedDate.pack(month, day, year)));
+    }
+
+    /**
+     * Calculates the first business day after a date.
+     *
+     * @param date the date, packed
+     * @return the next business day, packed
+     * @throws IllegalArgumentException if the date is invalid or no business day
+     *         follows it within the range
+     */
+    public int nextBusinessDate(int date) {
+        return plusBusinessDays(date, 1);
+    }
+
+    /**
+     * Moves a date by a number of business days. For {@code n > 0} the result is the
+     * n-th business day after the date, for {@code n < 0} the |n|-th business day
+     * before it, and for {@code n == 0} the date itself. The date need not be a
+     * business day.
+     *
+     * @param date the date, packed
+     * @param n the number of business days to move (may be negative)
+     * @return the resulting business day, packed
+     * @throws IllegalArgumentException if the date is invalid or the result is outside the range
+     */
+    public int plusBusinessDays(int date, int n) {
+        int ordinal = toOrdinal(date);
+        if (n == 0) {
+            return date;
+        }
+        // Business days strictly before the target: after the date for n > 0, before it for n < 0
+        long k = n > 0 ? (long) rank(ordinal + 1) + n - 1 : (long) rank(ordinal) + n;
+        if (k < 0 || k >= businessDays) {
+            throw yearOutOfRange();
+        }
+        return PackedDate.fromOrdinal(select((int) k));
+    }
+
+    /**
+     * Counts the business days in [from, to).
+     *
+     * @param from the start date, packed (counted if it is a business day)
+     * @param to the end date, packed (not counted)
+     * @return the number of business days from {@code from} up to but excluding {@code to};
+     *         negative if {@code to} is earlier
+     * @throws IllegalArgumentException if either date is invalid
+     */
+    public int businessDaysBetween(int from, int to) {
+        int fromOrdinal = toOrdinal(from);
+        return rank(toOrdinal(to)) - rank(fromOrdinal);
+    }
+
+    /**
+     * Counts business days with ordinals below {@code ordinal}.
+     *
+     * @param ordinal a day ordinal from 0 to the domain size (01/01/2101)
+     */
+    int rank(int ordinal) {
+        int word = ordinal >>> 6;
+        if (word == closed.length) {
+            return businessBefore[word];
+        }
+        long below = (1L << ordinal) - 1;
+        return businessBefore[word] + Long.bitCount(~closed[word] & below);
+    }
+
+    /**
+     * Finds the ordinal of the k-th business day (0-based).
+     *
+     * @param k from 0 to {@link #getBusinessDayCount()} - 1
+     */
+    int select(int k) {
+        // Last word whose business days before it are at most k
+        int low = 0;
+        int high = closed.length - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (businessBefore[mid] <= k) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        long open = ~closed[low];
+        for (int skip = k - businessBefore[low]; skip > 0; skip--) {
+            open &= open - 1;
+        }
+        return (low << 6) + Long.numberOfTrailingZeros(open);
+    }
+}
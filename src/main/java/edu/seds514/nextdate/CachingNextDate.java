@@ -0,0 +1,359 @@
+package edu.seds514.nextdate;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * NextDate that caches the "MM/DD/YYYY" results of
+ * {@link #getNextDate(int, int, int)} for skewed traffic, where a few dates make up
+ * most calls.
+ *
+ * The cache is bounded and lock-striped: keys are spread over up to 16 segments,
+ * each an access-ordered map behind its own lock, so threads asking for different
+ * dates rarely contend. When a segment is full the least recently used entry is
+ * evicted, subject to the {@link Policy}. In front of the map, each thread
+ * remembers its last hit and answers a repeat of the same date without locking.
+ *
+ * Only valid dates are cached. Invalid input always goes to
+ * {@link NextDate#getNextDate(int, int, int)}, so it throws exactly what an uncached
+ * call throws, and cached strings are the ones that method returned. Other methods
+ * are inherited unchanged and do not use the cache.
+ */
+public class CachingNextDate extends NextDate {
+
+    /**
+     * Decides which entries stay when the cache is full.
+     */
+    public enum Policy {
+
+        /** Always admit the new entry and evict the least recently used one. */
+        LRU,
+
+        /**
+         * TinyLFU admission: estimate how often each date was requested, and admit
+         * a new entry only if it was requested more often than the least recently
+         * used entry it would evict. One-off dates then cannot push out hot ones.
+         */
+        TINY_LFU
+    }
+
+    /** Largest number of segments. */
+    private static final int MAX_SEGMENTS = 16;
+
+    private final Segment[] segments;
+    private final int segmentMask;
+    private final Policy policy;
+    private final int maximumSize;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final ThreadLocal<LastHit> lastHit = ThreadLocal.withInitial(LastHit::new);
+
+    /**
+     * Creates an LRU cache for years 1812-2100.
+     *
+     * @param maximumSize the most dates to cache
+     * @throws IllegalArgumentException if maximumSize is not positive
+     */
+    public CachingNextDate(int maximumSize) {
+        this(maximumSize, Policy.LRU);
+    }
+
+    /**
+     * Creates a cache for years 1812-2100.
+     *
+     * @param maximumSize the most dates to cache; rounded up to a multiple of the segment count
+     * @param policy the eviction policy
+     * @throws IllegalArgumentException if maximumSize is not positive
+     */
+    public CachingNextDate(int maximumSize, Policy policy) {
+        this(CalendarData.MIN_YEAR, CalendarData.MAX_YEAR, maximumSize, policy);
+    }
+
+    /**
+     * Creates a cache for a range of years.
+     *
+     * @param minYear the smallest valid year, at least {@link #MIN_SUPPORTED_YEAR}
+     * @param maxYear the largest valid year, at most {@link #MAX_SUPPORTED_YEAR}
+     * @param maximumSize the most dates to cache; rounded up to a multiple of the segment count
+     * @param policy the eviction policy
+     * @throws IllegalArgumentException if the range is empty or not supported, or maximumSize
+     *         is not positive
+     */
+    public CachingNextDate(int minYear, int maxYear, int maximumSize, Policy policy) {
+        super(minYear, maxYear);
+        if (maximumSize < 1) {
+            throw new IllegalArgumentException("Cache size must be positive");
+        }
+        int count = Integer.highestOneBit(Math.min(maximumSize, MAX_SEGMENTS));
+        int perSegment = (maximumSize + count - 1) / count;
+        this.segments = new Segment[count];
+        for (int i = 0; i < count; i++) {
+            segments[i] = new Segment(perSegment, policy == Policy.TINY_LFU);
+        }
+        this.segmentMask = count - 1;
+        this.policy = policy;
+        this.maximumSize = perSegment * count;
+    }
+
+    @Override
+    public String getNextDate(int month, int day, int year) {
+        // Out-of-shape input could alias another date when packed (years 2^28 apart
+        // overflow to the same key); never cache it
+        if (month < 1 || month > 12 || day < 1 || day > 31 || year < getMinYear() || year > getMaxYear()) {
+            return super.getNextDate(month, day, year);
+        }
+        int key = PackedDate.pack(month, day, year);
+        LastHit last = lastHit.get();
+        if (last.key == key) {
+            hits.increment();
+            return last.value;
+        }
+        int hash = hash(key);
+        Segment segment = segments[hash & segmentMask];
+        String value = segment.get(key, hash);
+        if (value != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+            // Throws for invalid dates before anything is cached
+            value = super.getNextDate(month, day, year);
+            evictions.add(segment.put(key, hash, value));
+        }
+        last.key = key;
+        last.value = value;
+        return value;
+    }
+
+    /**
+     * Spreads a packed date so that consecutive dates land in different segments.
+     */
+    private static int hash(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Gets the eviction policy.
+     *
+     * @return the policy
+     */
+    public Policy getPolicy() {
+        return policy;
+    }
+
+    /**
+     * Gets the capacity.
+     *
+     * @return the most dates the cache holds
+     */
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+
+    /**
+     * Gets the number of cached dates.
+     *
+     * @return the current size
+     */
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    /**
+     * Gets the number of calls answered from the cache, including the per-thread last hit.
+     *
+     * @return the hit count
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * Gets the number of valid-shaped calls that had to be computed.
+     *
+     * @return the miss count
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * Gets the number of entries removed, or refused by TinyLFU admission, to stay within capacity.
+     *
+     * @return the eviction count
+     */
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    /**
+     * Gets the share of cacheable calls that hit.
+     *
+     * @return hits / (hits + misses), or 0 before the first call
+     */
+    public double getHitRate() {
+        long h = hits.sum();
+        long total = h + misses.sum();
+        return total == 0 ? 0 : (double) h / total;
+    }
+
+    /**
+     * Empties the cache and resets the statistics. Each thread's last hit stays
+     * valid, since results never change.
+     */
+    public void clear() {
+        for (Segment segment : segments) {
+            segment.clear();
+        }
+        hits.reset();
+        misses.reset();
+        evictions.reset();
+    }
+
+    /**
+     * The calling thread's most recent answer.
+     */
+    private static final class LastHit {
+        private int key = -1;
+        private String value;
+    }
+
+    /**
+     * One lock stripe: an access-ordered map and, for TinyLFU, a frequency sketch.
+     */
+    private static final class Segment {
+
+        private final int capacity;
+        private final LinkedHashMap<Integer, String> map;
+        private final FrequencySketch sketch;
+
+        Segment(int capacity, boolean tinyLfu) {
+            this.capacity = capacity;
+            this.map = new LinkedHashMap<>(capacity * 4 / 3 + 1, 0.75f, true);
+            this.sketch = tinyLfu ? new FrequencySketch(capacity) : null;
+        }
+
+        synchronized String get(int key, int hash) {
+            if (sketch != null) {
+                sketch.increment(hash);
+            }
+            return map.get(key);
+        }
+
+        /**
+         * Inserts an entry, evicting or refusing one if the segment is full.
+         *
+         * @return the number of entries evicted or refused (0 or 1)
+         */
+        synchronized int put(int key, int hash, String value) {
+            if (map.size() < capacity || map.containsKey(key)) {
+                map.put(key, value);
+                return 0;
+            }
+            Map.Entry<Integer, String> eldest = map.entrySet().iterator().next();
+            if (sketch != null && sketch.frequency(hash) <= sketch.frequency(CachingNextDate.hash(eldest.getKey()))) {
+                // The candidate is no more popular than the victim; keep the victim
+                return 1;
+            }
+            map.remove(eldest.getKey());
+            map.put(key, value);
+            return 1;
+        }
+
+        synchronized int size() {
+            return map.size();
+        }
+
+        synchronized void clear() {
+            map.clear();
+            if (sketch != null) {
+                sketch.clear();
+            }
+        }
+    }
+
+    /**
+     * Count-min sketch of 4-bit counters that estimates how often a key was seen.
+     * Counters are halved every {@code 10 * capacity} increments, so estimates
+     * follow recent traffic. Guarded by the owning segment's lock.
+     */
+    static final class FrequencySketch {
+
+        /** Counters per long. */
+        private static final int PER_WORD = 16;
+
+        /** One multiplier per hash function. */
+        private static final int[] SEEDS = {0x97CB3127, 0xB0A2F6A1, 0x5BD1E995, 0x85EBCA6B};
+
+        private final long[] table;
+        private final int mask;
+        private final int resetAfter;
+        private int additions;
+
+        FrequencySketch(int capacity) {
+            int words = Integer.highestOneBit(Math.max(1, capacity - 1)) << 1;
+            this.table = new long[words];
+            this.mask = words * PER_WORD - 1;
+            this.resetAfter = 10 * Math.max(capacity, PER_WORD);
+        }
+
+        /**
+         * Gets the estimated count of a key, from 0 to 15.
+         */
+        int frequency(int hash) {
+            int min = 15;
+            for (int i = 0; i < 4; i++) {
+                min = Math.min(min, counter(index(hash, i)));
+            }
+            return min;
+        }
+
+        /**
+         * Counts one occurrence of a key.
+         */
+        void increment(int hash) {
+            boolean added = false;
+            for (int i = 0; i < 4; i++) {
+                int index = index(hash, i);
+                if (counter(index) < 15) {
+                    table[index >>> 4] += 1L << ((index & 15) << 2);
+                    added = true;
+                }
+            }
+            if (added && ++additions == resetAfter) {
+                halve();
+            }
+        }
+
+        void clear() {
+            for (int i = 0; i < table.length; i++) {
+                table[i] = 0;
+            }
+            additions = 0;
+        }
+
+        private void halve() {
+            for (int i = 0; i < table.length; i++) {
+                // Shift every 4-bit counter right by one without borrowing from its neighbour
+                table[i] = (table[i] >>> 1) & 0x7777_7777_7777_7777L;
+            }
+            additions /= 2;
+        }
+
+        private int counter(int index) {
+            return (int) (table[index >>> 4] >>> ((index & 15) << 2)) & 15;
+        }
+
+        private int index(int hash, int i) {
+            int h = hash * SEEDS[i];
+            h ^= h >>> 17;
+            return h & mask;
+        }
+    }
+}
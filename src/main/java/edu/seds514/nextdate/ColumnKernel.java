@@ -0,0 +1,18 @@
+package edu.seds514.nextdate;
+
+/**
+ * Next-date kernel over rows [from, to) of month/day/year columns, with the contract
+ * of {@link NextDate#nextDatesKernel(int[], int[], int[], int, int, int[], int[], int[], long[], int)}:
+ * invalid rows get 0 in all three outputs and a set bit in {@code invalid}, where bit 0
+ * belongs to row {@code bitBase} and {@code from - bitBase} is a multiple of 64.
+ */
+interface ColumnKernel {
+
+    /**
+     * Runs the kernel.
+     *
+     * @return the number of invalid rows
+     */
+    int nextDates(int[] months, int[] days, int[] years, int from, int to,
+                  int[] nextMonths, int[] nextDays, int[] nextYears, long[] invalid, int bitBase);
+}
@@ -0,0 +1,227 @@
+package edu.seds514.nextdate;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * File-to-file pipeline that writes the next date for every line of a date file.
+ *
+ * The input holds one date per line, as "MM/DD/YYYY" or "M,D,Y" (anything
+ * {@link DateParser} accepts in lenient mode), with '\n' or "\r\n" line endings.
+ * It is memory-mapped in windows with {@link FileChannel#map}, so files larger than
+ * 2 GB work, and each line is parsed in place from the mapped bytes. The output gets
+ * one line per input line: the next date as "MM/DD/YYYY", or {@link #INVALID_LINE}
+ * for lines that are malformed or not valid dates. Output goes through a single
+ * reusable direct buffer, so nothing is allocated per line.
+ */
+public final class DateFileProcessor {
+
+    /** Text written in place of the next date for an invalid line. */
+    public static final String INVALID_LINE = "INVALID";
+
+    /** Default size of each mapped input window: 256 MB. */
+    public static final long DEFAULT_WINDOW_SIZE = 1L << 28;
+
+    /** Default size of the direct output buffer: 1 MB. */
+    public static final int DEFAULT_OUTPUT_BUFFER_SIZE = 1 << 20;
+
+    private static final byte[] INVALID_BYTES = INVALID_LINE.getBytes(StandardCharsets.US_ASCII);
+
+    /** Longest output line: "MM/DD/YYYY" plus the newline. */
+    private static final int MAX_OUTPUT_LINE = NextDate.FORMATTED_LENGTH + 1;
+
+    private final NextDate nextDate = new NextDate();
+    private final long windowSize;
+    private final int outputBufferSize;
+
+    /**
+     * Creates a processor with the default window and output buffer sizes.
+     */
+    public DateFileProcessor() {
+        this(DEFAULT_WINDOW_SIZE, DEFAULT_OUTPUT_BUFFER_SIZE);
+    }
+
+    /**
+     * Creates a processor with custom sizes.
+     *
+     * @param windowSize the number of input bytes mapped at a time (at most
+     *                   {@link Integer#MAX_VALUE}); must exceed the longest line
+     * @param outputBufferSize the size of the direct output buffer
+     * @throws IllegalArgumentException if a size is out of range
+     */
+    public DateFileProcessor(long windowSize, int outputBufferSize) {
+        if (windowSize < 2 || windowSize > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Window size must be between 2 and " + Integer.MAX_VALUE);
+        }
+        if (outputBufferSize < MAX_OUTPUT_LINE) {
+            throw new IllegalArgumentException("Output buffer size must be at least " + MAX_OUTPUT_LINE);
+        }
+        this.windowSize = windowSize;
+        this.outputBufferSize = outputBufferSize;
+    }
+
+    /**
+     * Processes an input file into an output file, replacing the output if it exists.
+     *
+     * @param input the date file to read
+     * @param output the file to write next dates to
+     * @return a summary of the run
+     * @throws IOException if a file cannot be read or written, or a line is longer
+     *         than the window size
+     */
+    public Summary process(Path input, Path output) throws IOException {
+        long start = System.nanoTime();
+        long lines = 0;
+        long invalid = 0;
+        long size;
+        try (FileChannel in = FileChannel.open(input, StandardOpenOption.READ);
+             FileChannel out = FileChannel.open(output, StandardOpenOption.CREATE,
+                 StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            size = in.size();
+            ByteBuffer buffer = ByteBuffer.allocateDirect(outputBufferSize);
+            long position = 0;
+            while (position < size) {
+                int length = (int) Math.min(windowSize, size - position);
+                boolean lastWindow = position + length == size;
+                MappedByteBuffer window = in.map(FileChannel.MapMode.READ_ONLY, position, length);
+
+                int lineStart = 0;
+                for (int i = 0; i < length; i++) {
+                    if (window.get(i) == '\n') {
+                        invalid += processLine(window, lineStart, i, buffer, out);
+                        lines++;
+                        lineStart = i + 1;
+                    }
+                }
+                if (lastWindow && lineStart < length) {
+                    // Final line without a trailing newline
+                    invalid += processLine(window, lineStart, length, buffer, out);
+                    lines++;
+                    lineStart = length;
+                }
+                if (lineStart == 0 && !lastWindow) {
+                    throw new IOException("Line at byte " + position + " is longer than the window size " + windowSize);
+                }
+                // The next window starts at the first unfinished line
+                position += lineStart;
+            }
+            flush(buffer, out);
+        }
+        return new Summary(lines, invalid, size, System.nanoTime() - start);
+    }
+
+    /**
+     * Parses one line [from, to) of a window and buffers its output line.
+     *
+     * @return 1 if the line was invalid, otherwise 0
+     */
+    private int processLine(ByteBuffer window, int from, int to, ByteBuffer buffer, FileChannel out)
+            throws IOException {
+        if (to > from && window.get(to - 1) == '\r') {
+            to--;
+        }
+        if (buffer.remaining() < MAX_OUTPUT_LINE) {
+            flush(buffer, out);
+        }
+        int date = DateParser.parse(window, from, to, true);
+        int next = DateStatus.isError(date) ? date : nextDate.tryNextDate(date);
+        if (DateStatus.isError(next)) {
+            buffer.put(INVALID_BYTES).put((byte) '\n');
+            return 1;
+        }
+        PackedDate.format(next, buffer);
+        buffer.put((byte) '\n');
+        return 0;
+    }
+
+    private static void flush(ByteBuffer buffer, FileChannel out) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            out.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Counts and timing for one {@link #process} run.
+     */
+    public static final class Summary {
+
+        private final long lines;
+        private final long invalidLines;
+        private final long inputBytes;
+        private final long elapsedNanos;
+
+        Summary(long lines, long invalidLines, long inputBytes, long elapsedNanos) {
+            this.lines = lines;
+            this.invalidLines = invalidLines;
+            this.inputBytes = inputBytes;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        /**
+         * Gets the number of input lines processed.
+         *
+         * @return the number of input lines processed
+         */
+        public long getLines() {
+            return lines;
+        }
+
+        /**
+         * Gets the number of lines written as {@link #INVALID_LINE}.
+         *
+         * @return the number of lines written as {@link #INVALID_LINE}
+         */
+        public long getInvalidLines() {
+            return invalidLines;
+        }
+
+        /**
+         * Gets the size of the input file in bytes.
+         *
+         * @return the size of the input file in bytes
+         */
+        public long getInputBytes() {
+            return inputBytes;
+        }
+
+        /**
+         * Gets the wall-clock time of the run in nanoseconds.
+         *
+         * @return the wall-clock time of the run in nanoseconds
+         */
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        /**
+         * Gets lines processed per second.
+         *
+         * @return lines processed per second
+         */
+        public double getLinesPerSecond() {
+            return elapsedNanos == 0 ? 0 : lines * 1e9 / elapsedNanos;
+        }
+
+        /**
+         * Gets input megabytes (2^20 bytes) processed per second.
+         *
+         * @return input megabytes (2^20 bytes) processed per second
+         */
+        public double getMegabytesPerSecond() {
+            return elapsedNanos == 0 ? 0 : inputBytes * 1e9 / elapsedNanos / (1 << 20);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d lines (%d invalid), %d bytes in %.3f s: %.0f lines/s, %.1f MB/s",
+                lines, invalidLines, inputBytes, elapsedNanos / 1e9, getLinesPerSecond(), getMegabytesPerSecond());
+        }
+    }
+}
@@ -0,0 +1,242 @@
+package edu.seds514.nextdate;
+
+import java.nio.ByteBuffer;
+import java.util.Objects;
+
+/**
+ * Zero-copy parser for dates in the "MM/DD/YYYY" format produced by
+ * {@link NextDate#getNextDate(int, int, int)}.
+ *
+ * Text is read in place from a {@link CharSequence}, {@code char[]}, ASCII
+ * {@code byte[]} or ASCII {@link ByteBuffer} between two indexes, with no substrings, regex or boxing. The
+ * result is a {@link PackedDate} (never negative) or {@link DateStatus#MALFORMED}.
+ * Parsing checks the text only: a well-formed but impossible date such as 02/30/2000
+ * parses, and is rejected later by {@link NextDate#tryNextDate(int)}.
+ *
+ * The year is always four digits (0000-9999). A {@link NextDate} configured with years
+ * past 9999 formats them with five or six digits; that text is MALFORMED here, so only
+ * dates up to 12/31/9999 round-trip.
+ *
+ * Two modes are supported:
+ * - strict: exactly "MM/DD/YYYY"; every strict result formats back to the same text
+ * - lenient: one or two digits for month and day, and '/', '-' or ',' as the
+ *   separator (both separators must match), e.g. "3/7/2024" or "3,7,2024"
+ */
+public final class DateParser {
+
+    private DateParser() {
+    }
+
+    /**
+     * Parses a whole CharSequence in strict mode.
+     *
+     * @param text the text to parse
+     * @return the packed date, or {@link DateStatus#MALFORMED}
+     */
+    public static int parse(CharSequence text) {
+        return parse(text, 0, text.length(), false);
+    }
+
+    /**
+     * Parses the characters [from, to) of a CharSequence.
+     *
+     * @param text the text to parse
+     * @param from the index of the first character
+     * @param to the index after the last character
+     * @param lenient true to accept one-digit fields and '-' or ',' separators
+     * @return the packed date, or {@link DateStatus#MALFORMED}
+     * @throws IndexOutOfBoundsException if [from, to) is outside the text
+     */
+    public static int parse(CharSequence text, int from, int to, boolean lenient) {
+        Objects.checkFromToIndex(from, to, text.length());
+        if (!lenient) {
+            if (to - from != NextDate.FORMATTED_LENGTH
+                    || text.charAt(from + 2) != '/' || text.charAt(from + 5) != '/') {
+                return DateStatus.MALFORMED;
+            }
+            return strict(text.charAt(from), text.charAt(from + 1),
+                text.charAt(from + 3), text.charAt(from + 4),
+                text.charAt(from + 6), text.charAt(from + 7), text.charAt(from + 8), text.charAt(from + 9));
+        }
+
+        int i = from;
+        int month = 0;
+        while (i < to && i - from < 2 && isDigit(text.charAt(i))) {
+            month = month * 10 + text.charAt(i++) - '0';
+        }
+        if (i == from || i == to || !isSeparator(text.charAt(i))) {
+            return DateStatus.MALFORMED;
+        }
+        char separator = text.charAt(i++);
+        int dayStart = i;
+        int day = 0;
+        while (i < to && i - dayStart < 2 && isDigit(text.charAt(i))) {
+            day = day * 10 + text.charAt(i++) - '0';
+        }
+        if (i == dayStart || to - i != 5 || text.charAt(i) != separator) {
+            return DateStatus.MALFORMED;
+        }
+        return lenientYear(month, day, text.charAt(i + 1), text.charAt(i + 2), text.charAt(i + 3), text.charAt(i + 4));
+    }
+
+    /**
+     * Parses the characters [from, to) of a char array.
+     *
+     * @param text the text to parse
+     * @param from the index of the first character
+     * @param to the index after the last character
+     * @param lenient true to accept one-digit fields and '-' or ',' separators
+     * @return the packed date, or {@link DateStatus#MALFORMED}
+     * @throws IndexOutOfBoundsException if [from, to) is outside the array
+     */
+    public static int parse(char[] text, int from, int to, boolean lenient) {
+        Objects.checkFromToIndex(from, to, text.length);
+        if (!lenient) {
+            if (to - from != NextDate.FORMATTED_LENGTH || text[from + 2] != '/' || text[from + 5] != '/') {
+                return DateStatus.MALFORMED;
+            }
+            return strict(text[from], text[from + 1], text[from + 3], text[from + 4],
+                text[from + 6], text[from + 7], text[from + 8], text[from + 9]);
+        }
+
+        int i = from;
+        int month = 0;
+        while (i < to && i - from < 2 && isDigit(text[i])) {
+            month = month * 10 + text[i++] - '0';
+        }
+        if (i == from || i == to || !isSeparator(text[i])) {
+            return DateStatus.MALFORMED;
+        }
+        char separator = text[i++];
+        int dayStart = i;
+        int day = 0;
+        while (i < to && i - dayStart < 2 && isDigit(text[i])) {
+            day = day * 10 + text[i++] - '0';
+        }
+        if (i == dayStart || to - i != 5 || text[i] != separator) {
+            return DateStatus.MALFORMED;
+        }
+        return lenientYear(month, day, text[i + 1], text[i + 2], text[i + 3], text[i + 4]);
+    }
+
+    /**
+     * Parses the ASCII bytes [from, to) of a byte array.
+     *
+     * @param text the text to parse
+     * @param from the index of the first byte
+     * @param to the index after the last byte
+     * @param lenient true to accept one-digit fields and '-' or ',' separators
+     * @return the packed date, or {@link DateStatus#MALFORMED}
+     * @throws IndexOutOfBoundsException if [from, to) is outside the array
+     */
+    public static int parse(byte[] text, int from, int to, boolean lenient) {
+        Objects.checkFromToIndex(from, to, text.length);
+        if (!lenient) {
+            if (to - from != NextDate.FORMATTED_LENGTH || text[from + 2] != '/' || text[from + 5] != '/') {
+                return DateStatus.MALFORMED;
+            }
+            return strict(text[from], text[from + 1], text[from + 3], text[from + 4],
+                text[from + 6], text[from + 7], text[from + 8], text[from + 9]);
+        }
+
+        int i = from;
+        int month = 0;
+        while (i < to && i - from < 2 && isDigit(text[i])) {
+            month = month * 10 + text[i++] - '0';
+        }
+        if (i == from || i == to || !isSeparator(text[i])) {
+            return DateStatus.MALFORMED;
+        }
+        byte separator = text[i++];
+        int dayStart = i;
+        int day = 0;
+        while (i < to && i - dayStart < 2 && isDigit(text[i])) {
+            day = day * 10 + text[i++] - '0';
+        }
+        if (i == dayStart || to - i != 5 || text[i] != separator) {
+            return DateStatus.MALFORMED;
+        }
+        return lenientYear(month, day, text[i + 1], text[i + 2], text[i + 3], text[i + 4]);
+    }
+
+    /**
+     * Parses the ASCII bytes [from, to) of a ByteBuffer using absolute reads, so the
+     * buffer's position is not changed. Works on direct and memory-mapped buffers.
+     *
+     * @param text the text to parse
+     * @param from the index of the first byte
+     * @param to the index after the last byte
+     * @param lenient true to accept one-digit fields and '-' or ',' separators
+     * @return the packed date, or {@link DateStatus#MALFORMED}
+     * @throws IndexOutOfBoundsException if [from, to) is outside the buffer's limit
+     */
+    public static int parse(ByteBuffer text, int from, int to, boolean lenient) {
+        Objects.checkFromToIndex(from, to, text.limit());
+        if (!lenient) {
+            if (to - from != NextDate.FORMATTED_LENGTH || text.get(from + 2) != '/' || text.get(from + 5) != '/') {
+                return DateStatus.MALFORMED;
+            }
+            return strict(text.get(from), text.get(from + 1), text.get(from + 3), text.get(from + 4),
+                text.get(from + 6), text.get(from + 7), text.get(from + 8), text.get(from + 9));
+        }
+
+        int i = from;
+        int month = 0;
+        while (i < to && i - from < 2 && isDigit(text.get(i))) {
+            month = month * 10 + text.get(i++) - '0';
+        }
+        if (i == from || i == to || !isSeparator(text.get(i))) {
+            return DateStatus.MALFORMED;
+        }
+        byte separator = text.get(i++);
+        int dayStart = i;
+        int day = 0;
+        while (i < to && i - dayStart < 2 && isDigit(text.get(i))) {
+            day = day * 10 + text.get(i++) - '0';
+        }
+        if (i == dayStart || to - i != 5 || text.get(i) != separator) {
+            return DateStatus.MALFORMED;
+        }
+        return lenientYear(month, day, text.get(i + 1), text.get(i + 2), text.get(i + 3), text.get(i + 4));
+    }
+
+    /**
+     * Combines the eight digit characters of a strict date. Digit checks are
+     * OR-ed together so there is a single branch for the whole date.
+     */
+    private static int strict(int m1, int m2, int d1, int d2, int y1, int y2, int y3, int y4) {
+        int m1v = m1 - '0';
+        int m2v = m2 - '0';
+        int d1v = d1 - '0';
+        int d2v = d2 - '0';
+        int y1v = y1 - '0';
+        int y2v = y2 - '0';
+        int y3v = y3 - '0';
+        int y4v = y4 - '0';
+        // Any value outside 0-9 makes either v or 9 - v negative
+        int bad = m1v | (9 - m1v) | m2v | (9 - m2v) | d1v | (9 - d1v) | d2v | (9 - d2v)
+            | y1v | (9 - y1v) | y2v | (9 - y2v) | y3v | (9 - y3v) | y4v | (9 - y4v);
+        if (bad < 0) {
+            return DateStatus.MALFORMED;
+        }
+        return PackedDate.pack(m1v * 10 + m2v, d1v * 10 + d2v, y1v * 1000 + y2v * 100 + y3v * 10 + y4v);
+    }
+
+    /**
+     * Finishes a lenient parse once the month and day are known.
+     */
+    private static int lenientYear(int month, int day, int y1, int y2, int y3, int y4) {
+        if (!isDigit(y1) || !isDigit(y2) || !isDigit(y3) || !isDigit(y4)) {
+            return DateStatus.MALFORMED;
+        }
+        return PackedDate.pack(month, day, (y1 - '0') * 1000 + (y2 - '0') * 100 + (y3 - '0') * 10 + (y4 - '0'));
+    }
+
+    private static boolean isDigit(int c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isSeparator(int c) {
+        return c == '/' || c == '-' || c == ',';
+    }
+}
@@ -0,0 +1,227 @@
+package edu.seds514.nextdate;
+
+import java.util.Comparator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Lazy, half-open range of dates [start, endExclusive) within the 1812-2100 domain.
+ *
+ * Dates are produced in the {@link PackedDate} encoding straight from
+ * {@link NextDateTable}, so walking a range allocates nothing per element. The
+ * range can be walked with a primitive {@link Cursor}, as an {@link IntStream}, or
+ * through a {@link Spliterator.OfInt} that splits in constant time.
+ */
+public final class DateRange {
+
+    private final NextDateTable table;
+    private final int fromOrdinal;
+    private final int toOrdinal;
+
+    private DateRange(NextDateTable table, int fromOrdinal, int toOrdinal) {
+        this.table = table;
+        this.fromOrdinal = fromOrdinal;
+        this.toOrdinal = toOrdinal;
+    }
+
+    /**
+     * Creates a range of dates.
+     *
+     * @param start the first date, packed
+     * @param endExclusive the date after the last one, packed; may be 01/01/2101
+     * @return the range
+     * @throws IllegalArgumentException if either date is invalid or {@code endExclusive}
+     *         is before {@code start}
+     */
+    public static DateRange of(int start, int endExclusive) {
+        NextDateTable table = NextDateTable.getInstance();
+        int from = ordinalOf(table, start);
+        int to = ordinalOf(table, endExclusive);
+        if (from < 0 || from == table.size()) {
+            throw new IllegalArgumentException("Invalid start date: " + start);
+        }
+        if (to < 0) {
+            throw new IllegalArgumentException("Invalid end date: " + endExclusive);
+        }
+        if (to < from) {
+            throw new IllegalArgumentException("End date " + endExclusive + " is before start date " + start);
+        }
+        return new DateRange(table, from, to);
+    }
+
+    /**
+     * Looks up the ordinal of a packed date, allowing the 01/01/2101 upper limit.
+     */
+    private static int ordinalOf(NextDateTable table, int date) {
+        if (date == table.dateAt(table.size())) {
+            return table.size();
+        }
+        return table.ordinalOf(PackedDate.month(date), PackedDate.day(date), PackedDate.year(date));
+    }
+
+    /**
+     * Gets the first date of the range.
+     *
+     * @return the start date, packed
+     */
+    public int start() {
+        return table.dateAt(fromOrdinal);
+    }
+
+    /**
+     * Gets the date after the last date of the range.
+     *
+     * @return the exclusive end date, packed
+     */
+    public int endExclusive() {
+        return table.dateAt(toOrdinal);
+    }
+
+    /**
+     * Gets the number of dates in the range.
+     *
+     * @return the number of days from start to endExclusive
+     */
+    public int size() {
+        return toOrdinal - fromOrdinal;
+    }
+
+    /**
+     * Checks whether a date falls in the range.
+     *
+     * @param date the date, packed
+     * @return true if {@code start <= date < endExclusive}
+     */
+    public boolean contains(int date) {
+        int ordinal = table.ordinalOf(PackedDate.month(date), PackedDate.day(date), PackedDate.year(date));
+        return ordinal >= fromOrdinal && ordinal < toOrdinal;
+    }
+
+    /**
+     * Creates a cursor positioned before the first date.
+     *
+     * @return a new cursor
+     */
+    public Cursor cursor() {
+        return new Cursor();
+    }
+
+    /**
+     * Creates a spliterator over the range. It is SIZED and SUBSIZED and splits
+     * in constant time, so parallel streams divide the range evenly.
+     *
+     * @return a new spliterator
+     */
+    public Spliterator.OfInt spliterator() {
+        return new RangeSpliterator(fromOrdinal, toOrdinal);
+    }
+
+    /**
+     * Streams the dates of the range in order.
+     *
+     * @return a sequential stream of packed dates
+     */
+    public IntStream stream() {
+        return StreamSupport.intStream(spliterator(), false);
+    }
+
+    @Override
+    public String toString() {
+        return "[" + start() + ", " + endExclusive() + ")";
+    }
+
+    /**
+     * Primitive forward cursor over a range.
+     */
+    public final class Cursor {
+
+        private int ordinal = fromOrdinal;
+
+        private Cursor() {
+        }
+
+        /**
+         * Checks whether more dates remain.
+         *
+         * @return true if {@link #nextPacked()} will return a date
+         */
+        public boolean hasNext() {
+            return ordinal < toOrdinal;
+        }
+
+        /**
+         * Returns the next date and advances the cursor.
+         *
+         * @return the next date, packed
+         * @throws NoSuchElementException if the range is exhausted
+         */
+        public int nextPacked() {
+            if (ordinal >= toOrdinal) {
+                throw new NoSuchElementException();
+            }
+            return table.dateAt(ordinal++);
+        }
+    }
+
+    /**
+     * Spliterator over a range of ordinals.
+     */
+    private final class RangeSpliterator implements Spliterator.OfInt {
+
+        private int from;
+        private final int to;
+
+        RangeSpliterator(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        public OfInt trySplit() {
+            int mid = (from + to) >>> 1;
+            if (mid <= from) {
+                return null;
+            }
+            RangeSpliterator prefix = new RangeSpliterator(from, mid);
+            from = mid;
+            return prefix;
+        }
+
+        @Override
+        public boolean tryAdvance(IntConsumer action) {
+            if (from >= to) {
+                return false;
+            }
+            action.accept(table.dateAt(from++));
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(IntConsumer action) {
+            int end = to;
+            for (int i = from; i < end; i++) {
+                action.accept(table.dateAt(i));
+            }
+            from = end;
+        }
+
+        @Override
+        public long estimateSize() {
+            return to - from;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | DISTINCT | SORTED | SIZED | SUBSIZED | NONNULL | IMMUTABLE;
+        }
+
+        @Override
+        public Comparator<? super Integer> getComparator() {
+            // Packed dates sort in date order, so natural ordering applies
+            return null;
+        }
+    }
+}
@@ -0,0 +1,344 @@
+package edu.seds514.nextdate;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Fixed-width record file for NextDate results, with O(1) random access by record number.
+ *
+ * A file is a 32-byte header followed by {@code recordCount} records of equal width:
+ * <pre>
+ * offset  size  field
+ *      0     4  magic "NDRF"
+ *      4     2  format version (1)
+ *      6     1  encoding id (see {@link Encoding})
+ *      7     1  record width in bytes
+ *      8     4  smallest year in the file
+ *     12     4  largest year in the file
+ *     16     8  record count
+ *     24     8  reserved (0)
+ * </pre>
+ * All numbers are big-endian. Record {@code i} starts at byte {@code 32 + i * width}, so a
+ * {@link Reader} maps the file and reads any record without scanning.
+ */
+public final class DateRecordFile {
+
+    /** Size of the file header in bytes. */
+    public static final int HEADER_SIZE = 32;
+
+    /** "NDRF" in ASCII. */
+    static final int MAGIC = 0x4E445246;
+
+    /** Current format version. */
+    static final short VERSION = 1;
+
+    /** Largest mapping used by a reader; files are mapped in segments of at most this size. */
+    static final long MAX_SEGMENT_BYTES = 1L << 30;
+
+    private DateRecordFile() {
+    }
+
+    /**
+     * Record layouts.
+     */
+    public enum Encoding {
+
+        /** Ten ASCII bytes "MM/DD/YYYY", readable with any text tool. */
+        ASCII(1, NextDate.FORMATTED_LENGTH),
+
+        /** Four-byte {@link PackedDate} int. */
+        PACKED(2, Integer.BYTES),
+
+        /** Three-byte day ordinal (0 = 01/01/1812), the most compact layout. */
+        ORDINAL(3, 3);
+
+        private final int id;
+        private final int width;
+
+        Encoding(int id, int width) {
+            this.id = id;
+            this.width = width;
+        }
+
+        /**
+         * Gets the width of one record.
+         *
+         * @return the record width in bytes
+         */
+        public int getWidth() {
+            return width;
+        }
+
+        static Encoding fromId(int id) throws IOException {
+            for (Encoding encoding : values()) {
+                if (encoding.id == id) {
+                    return encoding;
+                }
+            }
+            throw new IOException("Unknown record encoding: " + id);
+        }
+    }
+
+    /**
+     * Appends records to a new record file. The header is written on {@link #close()}.
+     */
+    public static final class Writer implements Closeable {
+
+        private static final int BUFFER_SIZE = 1 << 16;
+
+        private static final NextDate VALIDATION = new NextDate();
+
+        /** 01/01/2101, the successor of the last valid date. */
+        private static final int END_DATE = NextDateTable.getInstance().dateAt(NextDateTable.getInstance().size());
+
+        private final FileChannel channel;
+        private final Encoding encoding;
+        private final ByteBuffer buffer;
+        private long count;
+        private int minYear = Integer.MAX_VALUE;
+        private int maxYear = Integer.MIN_VALUE;
+        private boolean closed;
+
+        /**
+         * Creates a record file, replacing any existing file.
+         *
+         * @param path the file to create
+         * @param encoding the record layout
+         * @throws IOException if the file cannot be created
+         */
+        public Writer(Path path, Encoding encoding) throws IOException {
+            this.channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+            this.encoding = encoding;
+            this.buffer = ByteBuffer.allocate(BUFFER_SIZE - BUFFER_SIZE % encoding.width);
+            channel.position(HEADER_SIZE);
+        }
+
+        /**
+         * Appends one date.
+         *
+         * @param date the date, packed; must be a valid date from 01/01/1812 to 01/01/2101
+         * @throws IOException if the buffer cannot be flushed
+         * @throws IllegalArgumentException if the date is invalid or outside that range
+         * @throws IllegalStateException if the writer is closed
+         */
+        public void append(int date) throws IOException {
+            if (closed) {
+                throw new IllegalStateException("Writer is closed");
+            }
+            // Anything else would not fit the fixed record width or the 3-byte ordinal
+            if (date != END_DATE) {
+                VALIDATION.toOrdinal(date);
+            }
+            if (!buffer.hasRemaining()) {
+                flush();
+            }
+            switch (encoding) {
+                case ASCII:
+                    PackedDate.format(date, buffer);
+                    break;
+                case PACKED:
+                    buffer.putInt(date);
+                    break;
+                default:
+                    int ordinal = PackedDate.toOrdinal(date);
+                    buffer.put((byte) (ordinal >>> 16)).put((byte) (ordinal >>> 8)).put((byte) ordinal);
+                    break;
+            }
+            int year = PackedDate.year(date);
+            minYear = Math.min(minYear, year);
+            maxYear = Math.max(maxYear, year);
+            count++;
+        }
+
+        /**
+         * Gets the number of records appended so far.
+         *
+         * @return the record count
+         */
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * Flushes buffered records, writes the header and closes the file.
+         *
+         * @throws IOException if the file cannot be written
+         */
+        @Override
+        public void close() throws IOException {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            try {
+                flush();
+                ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+                header.putInt(MAGIC)
+                      .putShort(VERSION)
+                      .put((byte) encoding.id)
+                      .put((byte) encoding.width)
+                      .putInt(count == 0 ? 0 : minYear)
+                      .putInt(count == 0 ? 0 : maxYear)
+                      .putLong(count)
+                      .putLong(0);
+                header.flip();
+                while (header.hasRemaining()) {
+                    channel.write(header, header.position());
+                }
+            } finally {
+                channel.close();
+            }
+        }
+
+        private void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+    }
+
+    /**
+     * Memory-mapped random-access reader. Files larger than 1 GB are mapped in
+     * segments that each hold a whole number of records.
+     */
+    public static final class Reader implements Closeable {
+
+        private final FileChannel channel;
+        private final Encoding encoding;
+        private final long count;
+        private final int minYear;
+        private final int maxYear;
+        private final long recordsPerSegment;
+        private final MappedByteBuffer[] segments;
+
+        /**
+         * Opens a record file and maps its records.
+         *
+         * @param path the file to open
+         * @throws IOException if the file cannot be read or is not a valid record file
+         */
+        public Reader(Path path) throws IOException {
+            channel = FileChannel.open(path, StandardOpenOption.READ);
+            try {
+                ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+                while (header.hasRemaining()) {
+                    if (channel.read(header, header.position()) < 0) {
+                        throw new IOException("File too short for a record header: " + path);
+                    }
+                }
+                header.flip();
+                if (header.getInt() != MAGIC) {
+                    throw new IOException("Not a date record file: " + path);
+                }
+                short version = header.getShort();
+                if (version != VERSION) {
+                    throw new IOException("Unsupported record file version: " + version);
+                }
+                encoding = Encoding.fromId(header.get());
+                int width = header.get();
+                if (width != encoding.width) {
+                    throw new IOException("Record width " + width + " does not match encoding " + encoding);
+                }
+                minYear = header.getInt();
+                maxYear = header.getInt();
+                count = header.getLong();
+                if (count < 0 || HEADER_SIZE + count * width > channel.size()) {
+                    throw new IOException("File is shorter than its " + count + " records: " + path);
+                }
+
+                recordsPerSegment = MAX_SEGMENT_BYTES / width;
+                int segmentCount = (int) ((count + recordsPerSegment - 1) / recordsPerSegment);
+                segments = new MappedByteBuffer[segmentCount];
+                for (int s = 0; s < segmentCount; s++) {
+                    long first = s * recordsPerSegment;
+                    long records = Math.min(recordsPerSegment, count - first);
+                    segments[s] = channel.map(FileChannel.MapMode.READ_ONLY,
+                        HEADER_SIZE + first * width, records * width);
+                }
+            } catch (IOException | RuntimeException e) {
+                channel.close();
+                throw e;
+            }
+        }
+
+        /**
+         * Reads one record.
+         *
+         * @param index the record number, from 0 to {@link #size()} - 1
+         * @return the date, packed
+         * @throws IndexOutOfBoundsException if the index is out of range
+         */
+        public int get(long index) {
+            if (index < 0 || index >= count) {
+                throw new IndexOutOfBoundsException("Record " + index + " out of range for " + count + " records");
+            }
+            MappedByteBuffer segment = segments[(int) (index / recordsPerSegment)];
+            int offset = (int) (index % recordsPerSegment) * encoding.width;
+            switch (encoding) {
+                case ASCII:
+                    return DateParser.parse(segment, offset, offset + NextDate.FORMATTED_LENGTH, false);
+                case PACKED:
+                    return segment.getInt(offset);
+                default:
+                    int ordinal = (segment.get(offset) & 0xFF) << 16
+                        | (segment.get(offset + 1) & 0xFF) << 8
+                        | (segment.get(offset + 2) & 0xFF);
+                    return PackedDate.fromOrdinal(ordinal);
+            }
+        }
+
+        /**
+         * Gets the number of records.
+         *
+         * @return the record count from the header
+         */
+        public long size() {
+            return count;
+        }
+
+        /**
+         * Gets the record layout.
+         *
+         * @return the encoding from the header
+         */
+        public Encoding getEncoding() {
+            return encoding;
+        }
+
+        /**
+         * Gets the smallest year in the file.
+         *
+         * @return the smallest year, or 0 for an empty file
+         */
+        public int getMinYear() {
+            return minYear;
+        }
+
+        /**
+         * Gets the largest year in the file.
+         *
+         * @return the largest year, or 0 for an empty file
+         */
+        public int getMaxYear() {
+            return maxYear;
+        }
+
+        /**
+         * Closes the file. Mapped segments are released when they are garbage collected.
+         *
+         * @throws IOException if the file cannot be closed
+         */
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+}
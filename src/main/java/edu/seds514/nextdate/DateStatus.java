@@ -0,0 +1,67 @@
+package edu.seds514.nextdate;
+
+/**
+ * Status codes returned by the exception-free NextDate API.
+ *
+ * Success is {@link #OK}; every failure is a negative code, so a method can return
+ * either a (positive) packed date or a status in a single int.
+ */
+public final class DateStatus {
+
+    /** The date is valid. */
+    public static final int OK = 0;
+
+    /** The year is outside 1812-2100. */
+    public static final int INVALID_YEAR = -1;
+
+    /** The month is outside 1-12. */
+    public static final int INVALID_MONTH = -2;
+
+    /** The day is outside 1-31. */
+    public static final int DAY_OUT_OF_RANGE = -3;
+
+    /** The day is within 1-31 but past the end of its month. */
+    public static final int INVALID_DAY_FOR_MONTH = -4;
+
+    /** The text is not a date in the expected format; see {@link DateParser}. */
+    public static final int MALFORMED = -5;
+
+    private DateStatus() {
+    }
+
+    /**
+     * Checks whether a result from the exception-free API is a failure.
+     *
+     * @param result a packed date or status code
+     * @return true if {@code result} is a failure status
+     */
+    public static boolean isError(int result) {
+        return result < 0;
+    }
+
+    /**
+     * Gets the name of a status code.
+     *
+     * @param status the status code
+     * @return the constant name, e.g. "INVALID_MONTH"
+     * @throws IllegalArgumentException if the code is unknown
+     */
+    public static String name(int status) {
+        switch (status) {
+            case OK:
+                return "OK";
+            case INVALID_YEAR:
+                return "INVALID_YEAR";
+            case INVALID_MONTH:
+                return "INVALID_MONTH";
+            case DAY_OUT_OF_RANGE:
+                return "DAY_OUT_OF_RANGE";
+            case INVALID_DAY_FOR_MONTH:
+                return "INVALID_DAY_FOR_MONTH";
+            case MALFORMED:
+                return "MALFORMED";
+            default:
+                throw new IllegalArgumentException("Unknown status: " + status);
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package edu.seds514.nextdate;
+
+import java.time.LocalDate;
+
+/**
+ * Immutable date in the 1812-2100 domain, with exactly one instance per date.
+ *
+ * All 105,557 instances (every valid date plus 01/01/2101, the successor of
+ * 12/31/2100) are built once, on first use, into a pool indexed by day ordinal. The
+ * factories and {@link #next()} return pooled instances, so:
+ * - moving between dates never allocates
+ * - equal dates are the same object, and {@code ==} can be used in place of equals
+ * - caches keyed by DateValue hold no duplicate copies
+ *
+ * {@link #toString()} returns the "MM/DD/YYYY" text of
+ * {@link NextDate#getNextDate(int, int, int)}; it is built on first use and then
+ * kept, so a date is formatted at most once per JVM.
+ */
+public final class DateValue implements Comparable<DateValue> {
+
+    private static final NextDate VALIDATION = new NextDate();
+
+    private final int ordinal;
+    private final int packed;
+
+    /** Formatted on first toString; racy but idempotent, like String.hash. */
+    private String text;
+
+    private DateValue(int ordinal, int packed) {
+        this.ordinal = ordinal;
+        this.packed = packed;
+    }
+
+    /**
+     * Gets the instance for a date.
+     *
+     * @param month the month (1-12)
+     * @param day the day (1-31 depending on month)
+     * @param year the year (1812-2100)
+     * @return the canonical instance
+     * @throws IllegalArgumentException if the date is invalid, with the message
+     *         {@link NextDate#getNextDate(int, int, int)} would give
+     */
+    public static DateValue of(int month, int day, int year) {
+        int ordinal = NextDateTable.getInstance().ordinalOf(month, day, year);
+        if (ordinal == NextDateTable.INVALID) {
+            throw VALIDATION.invalidDate(VALIDATION.checkDate(month, day, year), month, day, year);
+        }
+        return Pool.DATES[ordinal];
+    }
+
+    /**
+     * Gets the instance for a packed date.
+     *
+     * @param date the date packed as described in {@link PackedDate}
+     * @return the canonical instance
+     * @throws IllegalArgumentException if the date is invalid
+     */
+    public static DateValue of(int date) {
+        return of(PackedDate.month(date), PackedDate.day(date), PackedDate.year(date));
+    }
+
+    /**
+     * Gets the instance for a {@link LocalDate}.
+     *
+     * @param date the date
+     * @return the canonical instance
+     * @throws IllegalArgumentException if the date is outside 1812-2100
+     */
+    public static DateValue of(LocalDate date) {
+        return of(date.getMonthValue(), date.getDayOfMonth(), date.getYear());
+    }
+
+    /**
+     * Gets the instance for a day ordinal.
+     *
+     * @param ordinal days since 01/01/1812, up to and including {@link NextDateTable#size()} (01/01/2101)
+     * @return the canonical instance
+     * @throws IllegalArgumentException if the ordinal is out of range
+     */
+    public static DateValue ofOrdinal(int ordinal) {
+        if (ordinal < 0 || ordinal >= Pool.DATES.length) {
+            throw VALIDATION.yearOutOfRange();
+        }
+        return Pool.DATES[ordinal];
+    }
+
+    /**
+     * Gets the next date.
+     *
+     * @return the canonical instance of the following day; 12/31/2100 gives 01/01/2101
+     * @throws IllegalArgumentException if this is 01/01/2101
+     */
+    public DateValue next() {
+        return ofOrdinal(ordinal + 1);
+    }
+
+    /**
+     * Gets the previous date.
+     *
+     * @return the canonical instance of the day before
+     * @throws IllegalArgumentException if this is 01/01/1812
+     */
+    public DateValue previous() {
+        return ofOrdinal(ordinal - 1);
+    }
+
+    /**
+     * Moves this date by a number of days.
+     *
+     * @param days the number of days to add (may be negative)
+     * @return the canonical instance of the resulting date
+     * @throws IllegalArgumentException if the result is outside 01/01/1812 to 01/01/2101
+     */
+    public DateValue plusDays(int days) {
+        long target = (long) ordinal + days;
+        return ofOrdinal(target < 0 || target > Integer.MAX_VALUE ? -1 : (int) target);
+    }
+
+    /**
+     * Gets the month.
+     *
+     * @return the month (1-12)
+     */
+    public int getMonth() {
+        return PackedDate.month(packed);
+    }
+
+    /**
+     * Gets the day of the month.
+     *
+     * @return the day (1-31)
+     */
+    public int getDay() {
+        return PackedDate.day(packed);
+    }
+
+    /**
+     * Gets the year.
+     *
+     * @return the year (1812-2101)
+     */
+    public int getYear() {
+        return PackedDate.year(packed);
+    }
+
+    /**
+     * Gets the day ordinal.
+     *
+     * @return days since 01/01/1812
+     */
+    public int getOrdinal() {
+        return ordinal;
+    }
+
+    /**
+     * Gets the packed form.
+     *
+     * @return the date packed as described in {@link PackedDate}
+     */
+    public int toPacked() {
+        return packed;
+    }
+
+    /**
+     * Converts to a {@link LocalDate}.
+     *
+     * @return the same date as a LocalDate
+     */
+    public LocalDate toLocalDate() {
+        return LocalDate.of(getYear(), getMonth(), getDay());
+    }
+
+    @Override
+    public int compareTo(DateValue other) {
+        return Integer.compare(ordinal, other.ordinal);
+    }
+
+    /**
+     * Instances are canonical, so equality is identity.
+     */
+    @Override
+    public boolean equals(Object other) {
+        return this == other;
+    }
+
+    @Override
+    public int hashCode() {
+        return ordinal;
+    }
+
+    /**
+     * Formats this date.
+     *
+     * @return the date as "MM/DD/YYYY"
+     */
+    @Override
+    public String toString() {
+        String s = text;
+        if (s == null) {
+            s = PackedDate.format(packed);
+            text = s;
+        }
+        return s;
+    }
+
+    /**
+     * Lazily built pool of every instance, indexed by ordinal.
+     */
+    private static final class Pool {
+        static final DateValue[] DATES;
+
+        static {
+            NextDateTable table = NextDateTable.getInstance();
+            DATES = new DateValue[table.size() + 1];
+            for (int ordinal = 0; ordinal < DATES.length; ordinal++) {
+                DATES[ordinal] = new DateValue(ordinal, table.dateAt(ordinal));
+            }
+        }
+    }
+}
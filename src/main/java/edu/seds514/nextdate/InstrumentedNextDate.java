@@ -0,0 +1,333 @@
+package edu.seds514.nextdate;
+
+import java.lang.management.ManagementFactory;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * NextDate that counts every single-date call by outcome and records its latency.
+ *
+ * Instrumentation is opt-in twice over: plain {@link NextDate} carries none, and an
+ * InstrumentedNextDate can be switched off with {@link #setEnabled(boolean)}, which
+ * leaves one volatile read per call. Every single-date method is counted, since they
+ * all go through {@link #tryNextDate(int, int, int)}; batch, arithmetic and
+ * previous-date methods are not.
+ *
+ * Counters are striped {@link LongAdder}s and the latency histogram is lock-free, so
+ * many threads can share one instance without contending.
+ */
+public class InstrumentedNextDate extends NextDate implements NextDateMetricsMXBean {
+
+    /**
+     * Outcome of one call, following the decision-table rules of the unit tests.
+     */
+    public enum Outcome {
+
+        /** Day + 1 within the same month. */
+        DAY_INCREMENT,
+
+        /** Last day of a month other than February 29 or December 31, to the 1st of the next. */
+        MONTH_ROLLOVER,
+
+        /** February 28 of a leap year to February 29. */
+        FEB_28_TO_29,
+
+        /** February 29 to March 1. */
+        FEB_29_TO_MAR_1,
+
+        /** December 31 to January 1 of the next year. */
+        YEAR_ROLLOVER,
+
+        /** Rejected: {@link DateStatus#INVALID_YEAR}. */
+        INVALID_YEAR,
+
+        /** Rejected: {@link DateStatus#INVALID_MONTH}. */
+        INVALID_MONTH,
+
+        /** Rejected: {@link DateStatus#DAY_OUT_OF_RANGE}. */
+        DAY_OUT_OF_RANGE,
+
+        /** Rejected: {@link DateStatus#INVALID_DAY_FOR_MONTH}. */
+        INVALID_DAY_FOR_MONTH;
+
+        /**
+         * Tells whether this outcome is a validation failure.
+         *
+         * @return true for the INVALID_* and DAY_OUT_OF_RANGE outcomes
+         */
+        public boolean isFailure() {
+            return ordinal() >= INVALID_YEAR.ordinal();
+        }
+    }
+
+    private static final Outcome[] OUTCOMES = Outcome.values();
+
+    private final LongAdder[] counters = newCounters();
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private volatile boolean enabled = true;
+    private ObjectName objectName;
+
+    /**
+     * Creates an instance for 1812-2100 with instrumentation on.
+     */
+    public InstrumentedNextDate() {
+    }
+
+    /**
+     * Creates an instance for a custom year range with instrumentation on.
+     *
+     * @param minYear the smallest valid year, at least {@link #MIN_SUPPORTED_YEAR}
+     * @param maxYear the largest valid year, at most {@link #MAX_SUPPORTED_YEAR}
+     * @throws IllegalArgumentException if the range is empty or not supported
+     */
+    public InstrumentedNextDate(int minYear, int maxYear) {
+        super(minYear, maxYear);
+    }
+
+    private static LongAdder[] newCounters() {
+        LongAdder[] counters = new LongAdder[OUTCOMES.length];
+        for (int i = 0; i < counters.length; i++) {
+            counters[i] = new LongAdder();
+        }
+        return counters;
+    }
+
+    @Override
+    public int tryNextDate(int month, int day, int year) {
+        if (!enabled) {
+            return super.tryNextDate(month, day, year);
+        }
+        long start = System.nanoTime();
+        int next = super.tryNextDate(month, day, year);
+        latency.record(System.nanoTime() - start);
+        counters[outcome(month, day, year, next).ordinal()].increment();
+        return next;
+    }
+
+    /**
+     * Classifies a call from its input and result.
+     *
+     * @param next the result of {@link NextDate#tryNextDate(int, int, int)}
+     */
+    static Outcome outcome(int month, int day, int year, int next) {
+        switch (next) {
+            case DateStatus.INVALID_YEAR:
+                return Outcome.INVALID_YEAR;
+            case DateStatus.INVALID_MONTH:
+                return Outcome.INVALID_MONTH;
+            case DateStatus.DAY_OUT_OF_RANGE:
+                return Outcome.DAY_OUT_OF_RANGE;
+            case DateStatus.INVALID_DAY_FOR_MONTH:
+                return Outcome.INVALID_DAY_FOR_MONTH;
+            default:
+                break;
+        }
+        if (PackedDate.year(next) != year) {
+            return Outcome.YEAR_ROLLOVER;
+        }
+        if (PackedDate.month(next) != month) {
+            return month == 2 && day == 29 ? Outcome.FEB_29_TO_MAR_1 : Outcome.MONTH_ROLLOVER;
+        }
+        return month == 2 && day == 28 ? Outcome.FEB_28_TO_29 : Outcome.DAY_INCREMENT;
+    }
+
+    /**
+     * Gets the count of one outcome.
+     *
+     * @param outcome the outcome
+     * @return the number of calls with that outcome
+     */
+    public long getCount(Outcome outcome) {
+        return counters[outcome.ordinal()].sum();
+    }
+
+    /**
+     * Gets the latency histogram.
+     *
+     * @return the live histogram
+     */
+    public LatencyHistogram getLatencyHistogram() {
+        return latency;
+    }
+
+    /**
+     * Copies all counters and the latency histogram.
+     *
+     * @return an immutable snapshot
+     */
+    public Snapshot snapshot() {
+        Map<Outcome, Long> counts = new EnumMap<>(Outcome.class);
+        for (Outcome outcome : OUTCOMES) {
+            counts.put(outcome, getCount(outcome));
+        }
+        return new Snapshot(counts, latency.snapshot());
+    }
+
+    /**
+     * Registers this instance with the platform MBean server as
+     * {@code edu.seds514.nextdate:type=NextDate,name=<name>}.
+     *
+     * @param name the name key of the object name
+     * @return the registered object name
+     * @throws JMException if the name is malformed or already registered
+     * @throws IllegalStateException if this instance is already registered
+     */
+    public synchronized ObjectName register(String name) throws JMException {
+        if (objectName != null) {
+            throw new IllegalStateException("Already registered as " + objectName);
+        }
+        ObjectName candidate = new ObjectName("edu.seds514.nextdate:type=NextDate,name=" + ObjectName.quote(name));
+        ManagementFactory.getPlatformMBeanServer().registerMBean(this, candidate);
+        objectName = candidate;
+        return candidate;
+    }
+
+    /**
+     * Removes this instance from the platform MBean server; does nothing if it is not registered.
+     *
+     * @throws JMException if the MBean server refuses
+     */
+    public synchronized void unregister() throws JMException {
+        if (objectName != null) {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            if (server.isRegistered(objectName)) {
+                server.unregisterMBean(objectName);
+            }
+            objectName = null;
+        }
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @Override
+    public long getCalls() {
+        long total = 0;
+        for (LongAdder counter : counters) {
+            total += counter.sum();
+        }
+        return total;
+    }
+
+    @Override
+    public long getDayIncrements() {
+        return getCount(Outcome.DAY_INCREMENT);
+    }
+
+    @Override
+    public long getMonthRollovers() {
+        return getCount(Outcome.MONTH_ROLLOVER);
+    }
+
+    @Override
+    public long getFeb28To29() {
+        return getCount(Outcome.FEB_28_TO_29);
+    }
+
+    @Override
+    public long getFeb29ToMar1() {
+        return getCount(Outcome.FEB_29_TO_MAR_1);
+    }
+
+    @Override
+    public long getYearRollovers() {
+        return getCount(Outcome.YEAR_ROLLOVER);
+    }
+
+    @Override
+    public long getValidationFailures() {
+        long total = 0;
+        for (Outcome outcome : OUTCOMES) {
+            if (outcome.isFailure()) {
+                total += getCount(outcome);
+            }
+        }
+        return total;
+    }
+
+    @Override
+    public long getLatencyP50Nanos() {
+        return latency.snapshot().getPercentile(50);
+    }
+
+    @Override
+    public long getLatencyP99Nanos() {
+        return latency.snapshot().getPercentile(99);
+    }
+
+    @Override
+    public long getLatencyMaxNanos() {
+        return latency.snapshot().getMax();
+    }
+
+    @Override
+    public void reset() {
+        for (LongAdder counter : counters) {
+            counter.reset();
+        }
+        latency.reset();
+    }
+
+    /**
+     * Point-in-time copy of the counters and latency histogram.
+     */
+    public static final class Snapshot {
+
+        private final Map<Outcome, Long> counts;
+        private final LatencyHistogram.Snapshot latency;
+
+        Snapshot(Map<Outcome, Long> counts, LatencyHistogram.Snapshot latency) {
+            this.counts = counts;
+            this.latency = latency;
+        }
+
+        /**
+         * Gets the count of one outcome.
+         *
+         * @param outcome the outcome
+         * @return the number of calls with that outcome
+         */
+        public long getCount(Outcome outcome) {
+            return counts.get(outcome);
+        }
+
+        /**
+         * Gets the total number of calls.
+         *
+         * @return calls of every outcome
+         */
+        public long getCalls() {
+            long total = 0;
+            for (long count : counts.values()) {
+                total += count;
+            }
+            return total;
+        }
+
+        /**
+         * Gets the latency histogram.
+         *
+         * @return the latency snapshot
+         */
+        public LatencyHistogram.Snapshot getLatency() {
+            return latency;
+        }
+
+        @Override
+        public String toString() {
+            return counts + ", p50 " + latency.getPercentile(50) + " ns, p99 " + latency.getPercentile(99)
+                + " ns, max " + latency.getMax() + " ns";
+        }
+    }
+}
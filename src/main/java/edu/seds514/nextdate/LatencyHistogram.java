@@ -0,0 +1,150 @@
+package edu.seds514.nextdate;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+
+/**
+ * Lock-free latency histogram with power-of-two buckets.
+ *
+ * Bucket {@code b} counts values from 2^(b-1) to 2^b - 1 nanoseconds (bucket 0 holds 0),
+ * so 64 buckets cover every non-negative long. Recording is one atomic increment plus
+ * a max update and never blocks; precision is within a factor of two, which is enough
+ * to tell a 20 ns call from a 2 us one.
+ */
+public final class LatencyHistogram {
+
+    /** Number of buckets. */
+    static final int BUCKETS = 64;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    /**
+     * Records one value.
+     *
+     * @param nanos the latency in nanoseconds; negative values count as 0
+     */
+    public void record(long nanos) {
+        long value = Math.max(nanos, 0);
+        counts.incrementAndGet(bucket(value));
+        max.accumulate(value);
+    }
+
+    /**
+     * Clears all recorded values. Values recorded concurrently may survive the reset.
+     */
+    public void reset() {
+        for (int b = 0; b < BUCKETS; b++) {
+            counts.set(b, 0);
+        }
+        max.reset();
+    }
+
+    /**
+     * Copies the current counts.
+     *
+     * @return an immutable snapshot
+     */
+    public Snapshot snapshot() {
+        long[] copy = new long[BUCKETS];
+        for (int b = 0; b < BUCKETS; b++) {
+            copy[b] = counts.get(b);
+        }
+        return new Snapshot(copy, max.get());
+    }
+
+    /**
+     * Gets the bucket for a value.
+     *
+     * @param nanos a non-negative latency
+     * @return the bucket index (0-63)
+     */
+    static int bucket(long nanos) {
+        return 64 - Long.numberOfLeadingZeros(nanos);
+    }
+
+    /**
+     * Gets the largest value counted by a bucket.
+     *
+     * @param bucket the bucket index (0-63)
+     * @return 2^bucket - 1, or {@link Long#MAX_VALUE} for the last bucket
+     */
+    static long upperBound(int bucket) {
+        return bucket == 63 ? Long.MAX_VALUE : (1L << bucket) - 1;
+    }
+
+    /**
+     * Point-in-time copy of a histogram.
+     */
+    public static final class Snapshot {
+
+        private final long[] counts;
+        private final long count;
+        private final long max;
+
+        Snapshot(long[] counts, long max) {
+            this.counts = counts;
+            long total = 0;
+            for (long c : counts) {
+                total += c;
+            }
+            this.count = total;
+            this.max = max;
+        }
+
+        /**
+         * Gets the number of recorded values.
+         *
+         * @return the number of recorded values
+         */
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * Gets the largest recorded value.
+         *
+         * @return the largest value in nanoseconds, or 0 if nothing was recorded
+         */
+        public long getMax() {
+            return max;
+        }
+
+        /**
+         * Gets the count of one bucket.
+         *
+         * @param bucket the bucket index (0-63)
+         * @return the number of values in the bucket
+         * @throws ArrayIndexOutOfBoundsException if the bucket does not exist
+         */
+        public long getBucketCount(int bucket) {
+            return counts[bucket];
+        }
+
+        /**
+         * Estimates a percentile as the upper bound of the bucket that holds it,
+         * capped at the recorded maximum.
+         *
+         * @param percentile the percentile, from 0 to 100
+         * @return the estimated latency in nanoseconds, or 0 if nothing was recorded
+         * @throws IllegalArgumentException if the percentile is out of range
+         */
+        public long getPercentile(double percentile) {
+            if (!(percentile >= 0 && percentile <= 100)) {
+                throw new IllegalArgumentException("Percentile must be between 0 and 100");
+            }
+            if (count == 0) {
+                return 0;
+            }
+            long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+            long seen = 0;
+            for (int b = 0; b < BUCKETS; b++) {
+                seen += counts[b];
+                if (seen >= rank) {
+                    return Math.min(upperBound(b), max);
+                }
+            }
+            return max;
+        }
+    }
+}
@@ -1,23 +1,721 @@
 package edu.seds514.nextdate;
 
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.util.Objects;
+
 /**
  * NextDate Program - Calculates the next date given a valid date input.
  * SEDS 514 - Project 1
+ *
+ * Valid years are 1812-2100 by default; {@link #NextDate(int, int)} accepts any range
+ * within the proleptic Gregorian years {@link #MIN_SUPPORTED_YEAR} to
+ * {@link #MAX_SUPPORTED_YEAR}, the years whose next date still fits in a packed int.
+ * Day arithmetic on 1812-2100 uses the precomputed {@link NextDateTable}; other years
+ * use closed-form 400-year-cycle arithmetic, so no method loops over days or years.
  */
 public class NextDate {
 
+    /**
+     * Number of characters in a date formatted as "MM/DD/YYYY" with a four-digit year.
+     */
+    public static final int FORMATTED_LENGTH = 10;
+
+    /** Smallest year a NextDate can be configured to accept. */
+    public static final int MIN_SUPPORTED_YEAR = 0;
+
+    /** Largest year a NextDate can be configured to accept; 01/01/214748 is the largest packed result. */
+    public static final int MAX_SUPPORTED_YEAR = 214747;
+
+    /** Smallest valid year by default. */
+    private static final int MIN_YEAR = CalendarData.MIN_YEAR;
+
+    /** Largest valid year by default. */
+    private static final int MAX_YEAR = CalendarData.MAX_YEAR;
+
+    private final int minYear;
+    private final int maxYear;
+
+    /** Epoch day of 01/01 of minYear, the first valid date. */
+    private final long minEpochDay;
+
+    /** Epoch day of 12/31 of maxYear, the last valid date. */
+    private final long maxEpochDay;
+
+    /** Whether the range is 1812-2100, so single calls can use {@link NextDateTable}. */
+    private final boolean tableRange;
+
+    /**
+     * Creates an instance for years 1812-2100.
+     */
+    public NextDate() {
+        this(MIN_YEAR, MAX_YEAR);
+    }
+
+    /**
+     * Creates an instance for a range of years.
+     *
+     * @param minYear the smallest valid year, at least {@link #MIN_SUPPORTED_YEAR}
+     * @param maxYear the largest valid year, at most {@link #MAX_SUPPORTED_YEAR}
+     * @throws IllegalArgumentException if the range is empty or not supported
+     */
+    public NextDate(int minYear, int maxYear) {
+        checkRange(minYear, maxYear);
+        this.minYear = minYear;
+        this.maxYear = maxYear;
+        this.minEpochDay = PackedDate.toEpochDay(1, 1, minYear);
+        this.maxEpochDay = PackedDate.toEpochDay(12, 31, maxYear);
+        this.tableRange = isDefaultRange(minYear, maxYear);
+    }
+
+    /**
+     * Checks a year range for the constructors of this class and of the batch
+     * processors that take one.
+     *
+     * @throws IllegalArgumentException if the range is empty or not supported
+     */
+    static void checkRange(int minYear, int maxYear) {
+        if (minYear < MIN_SUPPORTED_YEAR || maxYear > MAX_SUPPORTED_YEAR || minYear > maxYear) {
+            throw new IllegalArgumentException("Year range must be within " + MIN_SUPPORTED_YEAR
+                + " and " + MAX_SUPPORTED_YEAR + ", got " + minYear + " to " + maxYear);
+        }
+    }
+
+    /**
+     * Tells whether a year range is the default 1812-2100, the domain of {@link NextDateTable}.
+     */
+    static boolean isDefaultRange(int minYear, int maxYear) {
+        return minYear == MIN_YEAR && maxYear == MAX_YEAR;
+    }
+
+    /**
+     * Gets the smallest valid year.
+     *
+     * @return the first year of this instance's range
+     */
+    public int getMinYear() {
+        return minYear;
+    }
+
+    /**
+     * Gets the largest valid year.
+     *
+     * @return the last year of this instance's range
+     */
+    public int getMaxYear() {
+        return maxYear;
+    }
+
     /**
      * Calculates the next date for a given date.
      *
      * @param month the month (1-12)
      * @param day the day (1-31 depending on month)
-     * @param year the year (1812-2100)
+     * @param year the year (1812-2100 unless configured)
      * @return a string representing the next date in format "MM/DD/YYYY"
      * @throws IllegalArgumentException if the input date is invalid
      */
     public String getNextDate(int month, int day, int year) {
+        return PackedDate.format(nextDate(month, day, year));
+    }
+
+    /**
+     * Calculates the next date and writes it as "MM/DD/YYYY" into a caller-supplied
+     * char array. Nothing is allocated on the success path.
+     *
+     * @param month the month (1-12)
+     * @param day the day (1-31 depending on month)
+     * @param year the year (1812-2100 unless configured)
+     * @param dst the destination array
+     * @param offset the index in {@code dst} of the first character to write
+     * @return the number of characters written
+     * @throws IllegalArgumentException if the input date is invalid
+     * @throws IndexOutOfBoundsException if {@code dst} has no room for the result at {@code offset}
+     */
+    public int getNextDate(int month, int day, int year, char[] dst, int offset) {
+        int next = nextDate(month, day, year);
+        int length = PackedDate.formattedLength(next);
+        checkRange(dst.length, offset, length);
+        PackedDate.format(next, dst, offset);
+        return length;
+    }
+
+    /**
+     * Calculates the next date and writes it as "MM/DD/YYYY" in ASCII into a
+     * caller-supplied byte array. Nothing is allocated on the success path.
+     *
+     * @param month the month (1-12)
+     * @param day the day (1-31 depending on month)
+     * @param year the year (1812-2100 unless configured)
+     * @param dst the destination array
+     * @param offset the index in {@code dst} of the first byte to write
+     * @return the number of bytes written
+     * @throws IllegalArgumentException if the input date is invalid
+     * @throws IndexOutOfBoundsException if {@code dst} has no room for the result at {@code offset}
+     */
+    public int getNextDate(int month, int day, int year, byte[] dst, int offset) {
+        int next = nextDate(month, day, year);
+        int length = PackedDate.formattedLength(next);
+        checkRange(dst.length, offset, length);
+        PackedDate.format(next, dst, offset);
+        return length;
+    }
+
+    /**
+     * Calculates the next date and appends it as "MM/DD/YYYY" to a StringBuilder.
+     *
+     * @param month the month (1-12)
+     * @param day the day (1-31 depending on month)
+     * @param year the year (1812-2100 unless configured)
+     * @param dst the builder to append to
+     * @return {@code dst}
+     * @throws IllegalArgumentException if the input date is invalid
+     */
+    public StringBuilder getNextDate(int month, int day, int year, StringBuilder dst) {
+        int next = nextDate(month, day, year);
+        for (int i = 0, length = PackedDate.formattedLength(next); i < length; i++) {
+            dst.append(formattedChar(next, i));
+        }
+        return dst;
+    }
+
+    /**
+     * Calculates the next date and appends it as "MM/DD/YYYY" to an Appendable.
+     *
+     * @param month the month (1-12)
+     * @param day the day (1-31 depending on month)
+     * @param year the year (1812-2100 unless configured)
+     * @param dst the appendable to write to
+     * @return {@code dst}
+     * @throws IllegalArgumentException if the input date is invalid
+     * @throws IOException if {@code dst} fails to accept a character
+     */
+    public Appendable getNextDate(int month, int day, int year, Appendable dst) throws IOException {
+        int next = nextDate(month, day, year);
+        for (int i = 0, length = PackedDate.formattedLength(next); i < length; i++) {
+            dst.append(formattedChar(next, i));
+        }
+        return dst;
+    }
+
+    /**
+     * Calculates the next date and puts it as "MM/DD/YYYY" into a CharBuffer at its
+     * current position, advancing the position past the written characters.
+     *
+     * @param month the month (1-12)
+     * @param day the day (1-31 depending on month)
+     * @param year the year (1812-2100 unless configured)
+     * @param dst the destination buffer
+     * @return {@code dst}
+     * @throws IllegalArgumentException if the input date is invalid
+     * @throws BufferOverflowException if the formatted date does not fit in the remaining characters
+     */
+    public CharBuffer getNextDate(int month, int day, int year, CharBuffer dst) {
+        int next = nextDate(month, day, year);
+        if (dst.remaining() < PackedDate.formattedLength(next)) {
+            throw new BufferOverflowException();
+        }
+        for (int i = 0, length = PackedDate.formattedLength(next); i < length; i++) {
+            dst.put(formattedChar(next, i));
+        }
+        return dst;
+    }
+
+    /**
+     * Calculates the next date and puts it as "MM/DD/YYYY" in ASCII into a ByteBuffer
+     * at its current position, advancing the position past the written bytes.
+     *
+     * @param month the month (1-12)
+     * @param day the day (1-31 depending on month)
+     * @param year the year (1812-2100 unless configured)
+     * @param dst the destination buffer
+     * @return {@code dst}
+     * @throws IllegalArgumentException if the input date is invalid
+     * @throws BufferOverflowException if the formatted date does not fit in the remaining bytes
+     */
+    public ByteBuffer getNextDate(int month, int day, int year, ByteBuffer dst) {
+        int next = nextDate(month, day, year);
+        if (dst.remaining() < PackedDate.formattedLength(next)) {
+            throw new BufferOverflowException();
+        }
+        PackedDate.format(next, dst);
+        return dst;
+    }
+
+    /**
+     * Gets one character of a packed date formatted as "MM/DD/YYYY", so the
+     * StringBuilder, Appendable and CharBuffer writers share the year padding and
+     * 5- and 6-digit years of {@link PackedDate#format(int, char[], int)} without
+     * going through a temporary array.
+     *
+     * @param index from 0 to {@link PackedDate#formattedLength(int)} - 1
+     */
+    private static char formattedChar(int date, int index) {
+        switch (index) {
+            case 0:
+                return (char) ('0' + PackedDate.month(date) / 10);
+            case 1:
+                return (char) ('0' + PackedDate.month(date) % 10);
+            case 3:
+                return (char) ('0' + PackedDate.day(date) / 10);
+            case 4:
+                return (char) ('0' + PackedDate.day(date) % 10);
+            case 2:
+            case 5:
+                return '/';
+            default:
+                int place = PackedDate.yearDivisor(PackedDate.year(date));
+                for (int i = 6; i < index; i++) {
+                    place /= 10;
+                }
+                return (char) ('0' + PackedDate.year(date) / place % 10);
+        }
+    }
+
+    /**
+     * Calculates the next date for a packed date.
+     *
+     * @param date the date packed as described in {@link PackedDate}
+     * @return the next date, packed
+     * @throws IllegalArgumentException if the input date is invalid
+     */
+    public int nextDate(int date) {
+        return nextDate(PackedDate.month(date), PackedDate.day(date), PackedDate.year(date));
+    }
+
+    /**
+     * Calculates the next date for an epoch day.
+     *
+     * @param epochDay days since 01/01/1970, within this instance's years
+     * @return the epoch day of the next date
+     * @throws IllegalArgumentException if the epoch day is outside this instance's years
+     */
+    public long nextEpochDay(long epochDay) {
+        if (epochDay < minEpochDay || epochDay > maxEpochDay) {
+            throw yearOutOfRange();
+        }
+        return epochDay + 1;
+    }
+
+    /**
+     * Calculates the previous date for a given date.
+     *
+     * @param month the month (1-12)
+     * @param day the day (1-31 depending on month)
+     * @param year the year (1812-2100 unless configured)
+     * @return a string representing the previous date in format "MM/DD/YYYY"
+     * @throws IllegalArgumentException if the input date is invalid or is the first date of the range
+     */
+    public String getPreviousDate(int month, int day, int year) {
+        return PackedDate.format(previousDate(month, day, year));
+    }
+
+    /**
+     * Calculates the previous date for a given date as a packed int.
+     *
+     * @param month the month (1-12)
+     * @param day the day (1-31 depending on month)
+     * @param year the year (1812-2100 unless configured)
+     * @return the previous date packed as described in {@link PackedDate}
+     * @throws IllegalArgumentException if the input date is invalid or is the first date of the range
+     */
+    public int previousDate(int month, int day, int year) {
+        // Validate before packing, or out-of-range fields would carry into another date
+        int status = checkDate(month, day, year);
+        if (status < 0) {
+            throw invalidDate(status, month, day, year);
+        }
+        return plusDays(PackedDate.pack(month, day, year), -1);
+    }
+
+    /**
+     * Calculates the previous date for a packed date.
+     *
+     * @param date the date packed as described in {@link PackedDate}
+     * @return the previous date, packed
+     * @throws IllegalArgumentException if the input date is invalid or is the first date of the range
+     */
+    public int previousDate(int date) {
+        return plusDays(date, -1);
+    }
+
+    /**
+     * Moves a packed date forward by a number of days in constant time, using day
+     * ordinals instead of repeated {@link #nextDate(int)} calls.
+     *
+     * The result may be 01/01 of the year after the range (01/01/2101 by default),
+     * the same upper limit as {@link #getNextDate}.
+     *
+     * @param date the date packed as described in {@link PackedDate}
+     * @param days the number of days to add (may be negative)
+     * @return the resulting date, packed
+     * @throws IllegalArgumentException if the input date is invalid or the result is
+     *         outside the range (01/01/1812 to 01/01/2101 by default)
+     */
+    public int plusDays(int date, int days) {
+        return fromEpochDay(toEpochDay(date) + days);
+    }
+
+    /**
+     * Moves a packed date back by a number of days in constant time.
+     *
+     * @param date the date packed as described in {@link PackedDate}
+     * @param days the number of days to subtract (may be negative)
+     * @return the resulting date, packed
+     * @throws IllegalArgumentException if the input date is invalid or the result is
+     *         outside the range (01/01/1812 to 01/01/2101 by default)
+     */
+    public int minusDays(int date, int days) {
+        return fromEpochDay(toEpochDay(date) - days);
+    }
+
+    /**
+     * Counts the days from one packed date to another in constant time.
+     *
+     * @param from the start date, packed
+     * @param to the end date, packed
+     * @return the number of days from {@code from} to {@code to}; negative if {@code to} is earlier
+     * @throws IllegalArgumentException if either date is invalid
+     */
+    public int daysBetween(int from, int to) {
+        long fromEpochDay = toEpochDay(from);
+        return (int) (toEpochDay(to) - fromEpochDay);
+    }
+
+    /**
+     * Validates a packed date and converts it to its day ordinal.
+     *
+     * @return days since 01/01/1812 (negative for earlier dates)
+     * @throws IllegalArgumentException if the date is invalid
+     */
+    int toOrdinal(int date) {
+        return (int) (toEpochDay(date) - PackedDate.EPOCH_DAY_OF_FIRST_ORDINAL);
+    }
+
+    /**
+     * Validates a packed date and converts it to its epoch day, by table lookup in
+     * 1812-2100 and by 400-year-cycle arithmetic elsewhere.
+     *
+     * @throws IllegalArgumentException if the date is invalid
+     */
+    private long toEpochDay(int date) {
+        int month = PackedDate.month(date);
+        int day = PackedDate.day(date);
+        int year = PackedDate.year(date);
+        int status = checkDate(month, day, year);
+        if (status != DateStatus.OK) {
+            throw invalidDate(status, month, day, year);
+        }
+        if (year >= MIN_YEAR && year <= MAX_YEAR) {
+            return NextDateTable.getInstance().ordinalOf(month, day, year) + CalendarData.FIRST_EPOCH_DAY;
+        }
+        return PackedDate.toEpochDay(month, day, year);
+    }
+
+    /**
+     * Converts the epoch day of a result back to a packed date, allowing the day
+     * after the range.
+     *
+     * @throws IllegalArgumentException if the epoch day is outside the range
+     */
+    private int fromEpochDay(long epochDay) {
+        if (epochDay < minEpochDay || epochDay > maxEpochDay + 1) {
+            throw yearOutOfRange();
+        }
+        long ordinal = epochDay - CalendarData.FIRST_EPOCH_DAY;
+        if (ordinal >= 0 && ordinal <= CalendarData.DAYS) {
+            return NextDateTable.getInstance().dateAt((int) ordinal);
+        }
+        return PackedDate.fromEpochDay(epochDay);
+    }
+
+    /**
+     * Calculates the next date for every row of parallel month/day/year columns.
+     *
+     * Row {@code i} of the output columns receives the next date of row {@code i} of the
+     * input columns. Invalid rows do not throw: their outputs are set to 0 and bit
+     * {@code i - offset} of {@code invalid} is set. Bits for all processed rows are
+     * overwritten, so the bitmap does not need clearing between calls. Output columns
+     * may be the same arrays as the input columns.
+     *
+     * @param months the input months
+     * @param days the input days
+     * @param years the input years
+     * @param offset the first row to process
+     * @param length the number of rows to process
+     * @param nextMonths receives the next months
+     * @param nextDays receives the next days
+     * @param nextYears receives the next years
+     * @param invalid receives one bit per processed row, set when the row is invalid;
+     *                needs at least {@code (length + 63) / 64} words
+     * @return the number of invalid rows
+     * @throws IndexOutOfBoundsException if a column or the bitmap is too short
+     */
+    public int nextDates(int[] months, int[] days, int[] years, int offset, int length,
+                         int[] nextMonths, int[] nextDays, int[] nextYears, long[] invalid) {
+        checkBatch(months.length, offset, length, invalid);
+        checkBatch(days.length, offset, length, invalid);
+        checkBatch(years.length, offset, length, invalid);
+        checkBatch(nextMonths.length, offset, length, invalid);
+        checkBatch(nextDays.length, offset, length, invalid);
+        checkBatch(nextYears.length, offset, length, invalid);
+        NextDateBatchEvent event = beginBatchEvent();
+        int invalidCount = nextDatesKernel(months, days, years, offset, offset + length,
+            nextMonths, nextDays, nextYears, invalid, offset, minYear, maxYear);
+        commitBatchEvent(event, length, invalidCount, false);
+        return invalidCount;
+    }
+
+    /**
+     * Calculates the next date for every row of a column of packed dates.
+     *
+     * Works like {@link #nextDates(int[], int[], int[], int, int, int[], int[], int[], long[])}
+     * on dates packed as described in {@link PackedDate}.
+     *
+     * @param dates the input packed dates
+     * @param offset the first row to process
+     * @param length the number of rows to process
+     * @param nextDates receives the next packed dates (may be {@code dates} itself)
+     * @param invalid receives one bit per processed row, set when the row is invalid;
+     *                needs at least {@code (length + 63) / 64} words
+     * @return the number of invalid rows
+     * @throws IndexOutOfBoundsException if a column or the bitmap is too short
+     */
+    public int nextDates(int[] dates, int offset, int length, int[] nextDates, long[] invalid) {
+        checkBatch(dates.length, offset, length, invalid);
+        checkBatch(nextDates.length, offset, length, invalid);
+        NextDateBatchEvent event = beginBatchEvent();
+        int invalidCount = nextDatesKernel(dates, offset, offset + length, nextDates, invalid, offset,
+            minYear, maxYear);
+        commitBatchEvent(event, length, invalidCount, false);
+        return invalidCount;
+    }
+
+    /**
+     * Tells whether Flight Recorder has been started in this JVM. Event classes are
+     * only touched once it has: loading the first one initializes JFR, which would
+     * otherwise add hundreds of milliseconds to the first call.
+     */
+    static boolean isRecording() {
+        return Recorder.AVAILABLE && Recorder.isInitialized();
+    }
+
+    /**
+     * Holder for the only direct use of {@code jdk.jfr}, so NextDate itself loads and
+     * runs in a runtime image without that module.
+     */
+    private static final class Recorder {
+
+        static final boolean AVAILABLE = ModuleLayer.boot().findModule("jdk.jfr").isPresent();
+
+        static boolean isInitialized() {
+            return jdk.jfr.FlightRecorder.isInitialized();
+        }
+    }
+
+    /**
+     * Begins a batch event, or returns null if Flight Recorder is not running.
+     */
+    static NextDateBatchEvent beginBatchEvent() {
+        if (!isRecording()) {
+            return null;
+        }
+        NextDateBatchEvent event = new NextDateBatchEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Fills in and commits a batch event from {@link #beginBatchEvent()}, if the recording wants it.
+     */
+    static void commitBatchEvent(NextDateBatchEvent event, int rows, int invalidRows, boolean parallel) {
+        if (event != null && event.shouldCommit()) {
+            event.rows = rows;
+            event.invalidRows = invalidRows;
+            event.parallel = parallel;
+            event.commit();
+        }
+    }
+
+    /**
+     * Batch kernel over rows [from, to) of month/day/year columns, for years 1812-2100.
+     * Bit 0 of {@code invalid} belongs to row {@code bitBase}; {@code from - bitBase}
+     * must be a multiple of 64 so that every bitmap word is written by exactly one caller.
+     */
+    static int nextDatesKernel(int[] months, int[] days, int[] years, int from, int to,
+                               int[] nextMonths, int[] nextDays, int[] nextYears,
+                               long[] invalid, int bitBase) {
+        return nextDatesKernel(months, days, years, from, to, nextMonths, nextDays, nextYears,
+            invalid, bitBase, MIN_YEAR, MAX_YEAR);
+    }
+
+    /**
+     * Batch kernel over rows [from, to) of month/day/year columns, for years
+     * minYear-maxYear.
+     */
+    static int nextDatesKernel(int[] months, int[] days, int[] years, int from, int to,
+                               int[] nextMonths, int[] nextDays, int[] nextYears,
+                               long[] invalid, int bitBase, int minYear, int maxYear) {
+        int invalidCount = 0;
+        for (int block = from; block < to; block += 64) {
+            int end = Math.min(block + 64, to);
+            long bits = 0;
+            // Straight-line, branch-free body so the JIT can unroll it
+            for (int i = block; i < end; i++) {
+                int next = nextDateOrZero(months[i], days[i], years[i], minYear, maxYear);
+                nextMonths[i] = PackedDate.month(next);
+                nextDays[i] = PackedDate.day(next);
+                nextYears[i] = PackedDate.year(next);
+                bits |= (next == 0 ? 1L : 0L) << (i - block);
+            }
+            invalid[(block - bitBase) >>> 6] = bits;
+            invalidCount += Long.bitCount(bits);
+        }
+        return invalidCount;
+    }
+
+    /**
+     * Batch kernel over rows [from, to) of a packed column, for years 1812-2100; see
+     * the column kernel for the bitmap layout.
+     */
+    static int nextDatesKernel(int[] dates, int from, int to, int[] nextDates,
+                               long[] invalid, int bitBase) {
+        return nextDatesKernel(dates, from, to, nextDates, invalid, bitBase, MIN_YEAR, MAX_YEAR);
+    }
+
+    /**
+     * Batch kernel over rows [from, to) of a packed column, for years minYear-maxYear.
+     */
+    static int nextDatesKernel(int[] dates, int from, int to, int[] nextDates,
+                               long[] invalid, int bitBase, int minYear, int maxYear) {
+        int invalidCount = 0;
+        for (int block = from; block < to; block += 64) {
+            int end = Math.min(block + 64, to);
+            long bits = 0;
+            for (int i = block; i < end; i++) {
+                int date = dates[i];
+                int next = nextDateOrZero(PackedDate.month(date), PackedDate.day(date), PackedDate.year(date),
+                    minYear, maxYear);
+                nextDates[i] = next;
+                bits |= (next == 0 ? 1L : 0L) << (i - block);
+            }
+            invalid[(block - bitBase) >>> 6] = bits;
+            invalidCount += Long.bitCount(bits);
+        }
+        return invalidCount;
+    }
+
+    /**
+     * Branch-free next date used by the batch kernels. Applies the same rules as
+     * {@link #checkDate}, {@link #isLeapYear} and {@link #getDaysInMonth}, but
+     * evaluates every condition and selects the result instead of branching.
+     *
+     * @return the next date packed, or 0 if the input date is invalid
+     */
+    static int nextDateOrZero(int month, int day, int year) {
+        return nextDateOrZero(month, day, year, MIN_YEAR, MAX_YEAR);
+    }
+
+    /**
+     * Branch-free next date for years minYear-maxYear.
+     *
+     * @return the next date packed, or 0 if the input date is invalid
+     */
+    static int nextDateOrZero(int month, int day, int year, int minYear, int maxYear) {
+        boolean leap = (year & 3) == 0 & (year % 100 != 0 | year % 400 == 0);
+        // 30 + 1 for Jan, Mar, May, Jul, Aug, Oct, Dec; February handled separately
+        int daysInMonth = month == 2 ? (leap ? 29 : 28) : 30 + ((month + (month >> 3)) & 1);
+        boolean valid = year >= minYear & year <= maxYear
+            & month >= 1 & month <= 12
+            & day >= 1 & day <= daysInMonth;
+        boolean lastDay = day == daysInMonth;
+        boolean lastMonth = lastDay & month == 12;
+        int next = PackedDate.pack(
+            lastMonth ? 1 : lastDay ? month + 1 : month,
+            lastDay ? 1 : day + 1,
+            lastMonth ? year + 1 : year);
+        return valid ? next : 0;
+    }
+
+    /**
+     * Checks the bounds of one batch column and its invalid-row bitmap.
+     */
+    static void checkBatch(int columnLength, int offset, int length, long[] invalid) {
+        Objects.checkFromIndexSize(offset, length, columnLength);
+        if (invalid.length < ((long) length + 63) >>> 6) {
+            throw new IndexOutOfBoundsException(
+                "Bitmap of " + invalid.length + " words cannot hold " + length + " rows");
+        }
+    }
+
+    /**
+     * Calculates the next date for a given date as a packed int.
+     *
+     * @param month the month (1-12)
+     * @param day the day (1-31 depending on month)
+     * @param year the year (1812-2100 unless configured)
+     * @return the next date packed as described in {@link PackedDate}
+     * @throws IllegalArgumentException if the input date is invalid
+     */
+    public int nextDate(int month, int day, int year) {
+        int next = tryNextDate(month, day, year);
+        if (next < 0) {
+            throw invalidDate(next, month, day, year);
+        }
+        return next;
+    }
+
+    /**
+     * Calculates the next date without throwing. Invalid input costs no exception
+     * and no allocation, which matters for feeds with many garbage dates.
+     *
+     * @param month the month (1-12)
+     * @param day the day (1-31 depending on month)
+     * @param year the year (1812-2100 unless configured)
+     * @return the next date packed as described in {@link PackedDate} (always positive),
+     *         or a negative {@link DateStatus} code if the input date is invalid
+     */
+    public int tryNextDate(int month, int day, int year) {
+        if (!isRecording()) {
+            return computeNextDate(month, day, year);
+        }
+        // JFR events cost nothing unless enabled in the recording settings
+        NextDateCallEvent event = new NextDateCallEvent();
+        event.begin();
+        int next = computeNextDate(month, day, year);
+        if (event.shouldCommit()) {
+            event.month = month;
+            event.day = day;
+            event.year = year;
+            event.result = next;
+            event.commit();
+        }
+        return next;
+    }
+
+    /**
+     * Calculates the next date or status code; the body of {@link #tryNextDate(int, int, int)}.
+     * On the default range a valid date is one table lookup, which unlike the month-end
+     * and leap-year branches below costs the same for every date.
+     */
+    private int computeNextDate(int month, int day, int year) {
+        if (tableRange) {
+            int next = NextDateTable.getInstance().next(month, day, year);
+            if (next != NextDateTable.INVALID) {
+                return next;
+            }
+        }
+
         // Validate input
-        validateDate(month, day, year);
+        int status = checkDate(month, day, year);
+        if (status != DateStatus.OK) {
+            if (isRecording()) {
+                recordValidationFailure(month, day, year, status);
+            }
+            return status;
+        }
 
         // Start by incrementing the day by 1
         int nextDay = day + 1;
@@ -38,40 +736,107 @@ public class NextDate {
             }
         }
 
-        // Return the next date formatted as MM/DD/YYYY
-        return String.format("%02d/%02d/%04d", nextMonth, nextDay, nextYear);
+        return PackedDate.pack(nextMonth, nextDay, nextYear);
+    }
+
+    /**
+     * Commits a validation failure event if the recording has it enabled.
+     */
+    private static void recordValidationFailure(int month, int day, int year, int status) {
+        NextDateValidationFailureEvent failure = new NextDateValidationFailureEvent();
+        if (failure.isEnabled()) {
+            failure.month = month;
+            failure.day = day;
+            failure.year = year;
+            failure.reasonCode = status;
+            failure.reason = DateStatus.name(status);
+            failure.commit();
+        }
+    }
+
+    /**
+     * Calculates the next date for a packed date without throwing.
+     *
+     * @param date the date packed as described in {@link PackedDate}
+     * @return the next date, packed, or a negative {@link DateStatus} code
+     */
+    public int tryNextDate(int date) {
+        return tryNextDate(PackedDate.month(date), PackedDate.day(date), PackedDate.year(date));
+    }
+
+    /**
+     * Checks that a formatted date fits in an array of the given length at the given offset.
+     */
+    private static void checkRange(int length, int offset, int needed) {
+        if (offset < 0 || offset > length - needed) {
+            throw new IndexOutOfBoundsException(
+                "Offset " + offset + " leaves no room for " + needed +
+                " characters in array of length " + length);
+        }
     }
 
     /**
-     * Validates the input date.
+     * Validates the input date without throwing.
      *
      * @param month the month (1-12)
      * @param day the day (1-31 depending on month)
-     * @param year the year (1812-2100)
-     * @throws IllegalArgumentException if the input date is invalid
+     * @param year the year (1812-2100 unless configured)
+     * @return {@link DateStatus#OK} or the negative status code of the first failed check
      */
-    private void validateDate(int month, int day, int year) {
-        if (year < 1812 || year > 2100) {
-            throw new IllegalArgumentException("Year must be between 1812 and 2100");
+    public int checkDate(int month, int day, int year) {
+        if (year < minYear || year > maxYear) {
+            return DateStatus.INVALID_YEAR;
         }
 
         if (month < 1 || month > 12) {
-            throw new IllegalArgumentException("Month must be between 1 and 12");
+            return DateStatus.INVALID_MONTH;
         }
 
         if (day < 1 || day > 31) {
-            throw new IllegalArgumentException("Day must be between 1 and 31");
+            return DateStatus.DAY_OUT_OF_RANGE;
         }
 
         // Validate day is appropriate for the specific month
-        int maxDaysInMonth = getDaysInMonth(month, year);
-        if (day > maxDaysInMonth) {
-            throw new IllegalArgumentException(
-                "Day " + day + " is invalid for month " + month + " in year " + year +
-                " (max " + maxDaysInMonth + " days)");
+        if (day > getDaysInMonth(month, year)) {
+            return DateStatus.INVALID_DAY_FOR_MONTH;
+        }
+        return DateStatus.OK;
+    }
+
+    /**
+     * Builds the exception for a failed date check. Only called on the failure path,
+     * so the message is never built for valid dates.
+     *
+     * @param status the negative status code from {@link #checkDate}
+     * @param month the month
+     * @param day the day
+     * @param year the year
+     * @return the exception to throw
+     */
+    IllegalArgumentException invalidDate(int status, int month, int day, int year) {
+        switch (status) {
+            case DateStatus.INVALID_YEAR:
+                return yearOutOfRange();
+            case DateStatus.INVALID_MONTH:
+                return new IllegalArgumentException("Month must be between 1 and 12");
+            case DateStatus.DAY_OUT_OF_RANGE:
+                return new IllegalArgumentException("Day must be between 1 and 31");
+            default:
+                return new IllegalArgumentException(
+                    "Day " + day + " is invalid for month " + month + " in year " + year +
+                    " (max " + getDaysInMonth(month, year) + " days)");
         }
     }
 
+    /**
+     * Builds the exception for a year, or a result, outside this instance's range.
+     *
+     * @return the exception to throw
+     */
+    IllegalArgumentException yearOutOfRange() {
+        return new IllegalArgumentException("Year must be between " + minYear + " and " + maxYear);
+    }
+
     /**
      * Checks if a year is a leap year.
      * Rules (in priority order):
@@ -83,7 +848,7 @@ public class NextDate {
      * @param year the year to check
      * @return true if the year is a leap year, false otherwise
      */
-    private boolean isLeapYear(int year) {
+    static boolean isLeapYear(int year) {
         // Rule 1: Check divisible by 400 first (most specific)
         if (year % 400 == 0) {
             return true;
@@ -110,7 +875,7 @@ public class NextDate {
      * @param year the year
      * @return the number of days in the month
      */
-    private int getDaysInMonth(int month, int year) {
+    static int getDaysInMonth(int month, int year) {
         switch (month) {
             case 1:  // January
             case 3:  // March
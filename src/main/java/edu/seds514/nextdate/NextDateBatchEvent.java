@@ -0,0 +1,33 @@
+package edu.seds514.nextdate;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * JFR event for one batch run of {@link NextDate} or {@link ParallelNextDate}
+ * {@code nextDates}. On by default; batches are coarse enough that one event per run
+ * is cheap. Raise {@code threshold} to keep only slow batches.
+ */
+@Name("edu.seds514.nextdate.Batch")
+@Label("NextDate Batch")
+@Category({"NextDate"})
+@Description("One batch of next-date calculations")
+@Threshold("0 ns")
+@StackTrace(false)
+final class NextDateBatchEvent extends Event {
+
+    @Label("Rows")
+    int rows;
+
+    @Label("Invalid Rows")
+    int invalidRows;
+
+    @Label("Parallel")
+    @Description("True if the batch ran on a ForkJoinPool")
+    boolean parallel;
+}
@@ -0,0 +1,56 @@
+package edu.seds514.nextdate;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.SettingDefinition;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * JFR event for one single-date call of {@link NextDate#tryNextDate(int, int, int)},
+ * which every single-date method goes through.
+ *
+ * Off by default: calls take nanoseconds, so recording all of them would swamp a
+ * recording. Turn it on with {@code edu.seds514.nextdate.Call#enabled=true} and keep the
+ * volume down with {@code threshold} (slow calls only) and/or {@code sampleInterval}
+ * (about one call in N, see {@link SampleIntervalSetting}).
+ */
+@Name("edu.seds514.nextdate.Call")
+@Label("NextDate Call")
+@Category({"NextDate"})
+@Description("One next-date calculation")
+@Enabled(false)
+@Threshold("0 ns")
+@StackTrace(false)
+final class NextDateCallEvent extends Event {
+
+    @Label("Month")
+    int month;
+
+    @Label("Day")
+    int day;
+
+    @Label("Year")
+    int year;
+
+    @Label("Result")
+    @Description("Next date packed as yyyymmdd, or a negative DateStatus code")
+    int result;
+
+    /**
+     * Sampling filter applied by {@link #shouldCommit()}.
+     *
+     * @param setting the sampling control
+     * @return true if this call is in the sample
+     */
+    @Name("sampleInterval")
+    @Label("Sample Interval")
+    @SettingDefinition
+    protected boolean sampleInterval(SampleIntervalSetting setting) {
+        return setting.sample();
+    }
+}
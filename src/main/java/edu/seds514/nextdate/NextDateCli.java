@@ -0,0 +1,438 @@
+package edu.seds514.nextdate;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Command-line entry point that streams dates from stdin or files to stdout.
+ *
+ * Work flows through a three-stage pipeline:
+ * - a reader thread cuts the input into batches of lines and submits each batch
+ *   to a fixed pool of compute workers
+ * - workers parse their batch and calculate next dates in parallel
+ * - the writer (the calling thread) takes the batches' futures from a bounded
+ *   queue in submission order, so output order always matches input order
+ *
+ * The queue holds at most two batches per worker; once it is full the reader
+ * blocks, so memory stays flat however long the input is.
+ *
+ * Usage: {@code nextdate [options] [file ...]}, where no file or "-" reads stdin.
+ * Run with {@code --help} for the options.
+ */
+public final class NextDateCli {
+
+    /** Exit status when every line was processed. */
+    static final int EXIT_OK = 0;
+
+    /** Exit status when an invalid line stopped a {@code --on-invalid fail} run, or I/O failed. */
+    static final int EXIT_FAILED = 1;
+
+    /** Exit status for bad command-line arguments. */
+    static final int EXIT_USAGE = 2;
+
+    /** Default number of lines per batch. */
+    static final int DEFAULT_BATCH_SIZE = 4096;
+
+    private static final String USAGE =
+        "Usage: nextdate [options] [file ...]\n"
+        + "Reads one date per line from the files (or stdin, also \"-\") and prints the next date.\n"
+        + "\n"
+        + "Options:\n"
+        + "  --threads N           compute threads (default: available processors)\n"
+        + "  --batch-size N        lines per batch (default: " + DEFAULT_BATCH_SIZE + ")\n"
+        + "  --input-format F      lenient  MM/DD/YYYY, M/D/YYYY, M-D-YYYY or M,D,YYYY (default)\n"
+        + "                        strict   exactly MM/DD/YYYY\n"
+        + "                        packed   YYYYMMDD\n"
+        + "  --output-format F     text     MM/DD/YYYY (default)\n"
+        + "                        iso      YYYY-MM-DD\n"
+        + "                        packed   YYYYMMDD\n"
+        + "  --on-invalid P        mark     print " + DateFileProcessor.INVALID_LINE + " for the line (default)\n"
+        + "                        skip     print nothing for the line\n"
+        + "                        fail     stop with exit status " + EXIT_FAILED + "\n"
+        + "  --help                print this message\n";
+
+    /**
+     * How input lines are parsed.
+     */
+    enum InputFormat {
+        LENIENT, STRICT, PACKED
+    }
+
+    /**
+     * How next dates are printed.
+     */
+    enum OutputFormat {
+        TEXT, ISO, PACKED
+    }
+
+    /**
+     * What happens to a line that is malformed or not a valid date.
+     */
+    enum InvalidPolicy {
+        MARK, SKIP, FAIL
+    }
+
+    private static final byte[] INVALID_BYTES = DateFileProcessor.INVALID_LINE.getBytes(StandardCharsets.US_ASCII);
+
+    private NextDateCli() {
+    }
+
+    /**
+     * Runs the CLI and exits with its status.
+     *
+     * @param args the command-line arguments
+     */
+    public static void main(String[] args) {
+        System.exit(run(args, System.in, System.out, System.err));
+    }
+
+    /**
+     * Runs the CLI against the given streams.
+     *
+     * @param args the command-line arguments
+     * @param in the stream read when no file is given
+     * @param out receives the next dates
+     * @param err receives usage and error messages
+     * @return the exit status
+     */
+    static int run(String[] args, InputStream in, OutputStream out, PrintStream err) {
+        int threads = Runtime.getRuntime().availableProcessors();
+        int batchSize = DEFAULT_BATCH_SIZE;
+        InputFormat inputFormat = InputFormat.LENIENT;
+        OutputFormat outputFormat = OutputFormat.TEXT;
+        InvalidPolicy policy = InvalidPolicy.MARK;
+        List<String> files = new ArrayList<>();
+
+        try {
+            for (int i = 0; i < args.length; i++) {
+                String arg = args[i];
+                switch (arg) {
+                    case "--help":
+                        err.print(USAGE);
+                        return EXIT_OK;
+                    case "--threads":
+                        threads = positive(arg, value(args, ++i, arg));
+                        break;
+                    case "--batch-size":
+                        batchSize = positive(arg, value(args, ++i, arg));
+                        break;
+                    case "--input-format":
+                        inputFormat = choice(InputFormat.class, arg, value(args, ++i, arg));
+                        break;
+                    case "--output-format":
+                        outputFormat = choice(OutputFormat.class, arg, value(args, ++i, arg));
+                        break;
+                    case "--on-invalid":
+                        policy = choice(InvalidPolicy.class, arg, value(args, ++i, arg));
+                        break;
+                    default:
+                        if (arg.startsWith("--")) {
+                            throw new IllegalArgumentException("Unknown option: " + arg);
+                        }
+                        files.add(arg);
+                        break;
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            err.println("nextdate: " + e.getMessage());
+            err.print(USAGE);
+            return EXIT_USAGE;
+        }
+        if (files.isEmpty()) {
+            files.add("-");
+        }
+
+        ExecutorService workers = Executors.newFixedThreadPool(threads, daemonThreads("nextdate-worker"));
+        BlockingQueue<Future<Batch>> queue = new ArrayBlockingQueue<>(2 * threads);
+        Thread reader = daemonThreads("nextdate-reader").newThread(
+            new Reader(files, in, batchSize, inputFormat, workers, queue));
+        reader.start();
+        try {
+            return write(queue, out, err, outputFormat, policy);
+        } finally {
+            reader.interrupt();
+            workers.shutdownNow();
+        }
+    }
+
+    /**
+     * Writer stage: prints batches in submission order until the end-of-input batch.
+     */
+    private static int write(BlockingQueue<Future<Batch>> queue, OutputStream out, PrintStream err,
+                             OutputFormat format, InvalidPolicy policy) {
+        OutputStream sink = new BufferedOutputStream(out, 1 << 16);
+        byte[] line = new byte[NextDate.FORMATTED_LENGTH + 1];
+        try {
+            while (true) {
+                Batch batch;
+                try {
+                    batch = queue.take().get();
+                } catch (ExecutionException e) {
+                    sink.flush();
+                    Throwable cause = e.getCause();
+                    err.println("nextdate: " + (cause.getMessage() != null ? cause.getMessage() : cause));
+                    return EXIT_FAILED;
+                }
+                if (batch.lines == null) {
+                    sink.flush();
+                    return EXIT_OK;
+                }
+                for (int i = 0; i < batch.count; i++) {
+                    int next = batch.results[i];
+                    if (!DateStatus.isError(next)) {
+                        sink.write(line, 0, format(next, format, line));
+                    } else if (policy == InvalidPolicy.MARK) {
+                        sink.write(INVALID_BYTES);
+                        sink.write('\n');
+                    } else if (policy == InvalidPolicy.FAIL) {
+                        sink.flush();
+                        err.println("nextdate: " + batch.source + ":" + (batch.firstLine + i)
+                            + ": invalid date \"" + batch.lines[i] + "\" (" + DateStatus.name(next) + ")");
+                        return EXIT_FAILED;
+                    }
+                }
+            }
+        } catch (IOException e) {
+            err.println("nextdate: " + e.getMessage());
+            return EXIT_FAILED;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return EXIT_FAILED;
+        }
+    }
+
+    /**
+     * Writes one output line, including the newline, into {@code dst}.
+     *
+     * @return the number of bytes written
+     */
+    static int format(int date, OutputFormat format, byte[] dst) {
+        switch (format) {
+            case ISO: {
+                PackedDate.format(date, dst, 0);
+                // MM/DD/YYYY -> YYYY-MM-DD
+                byte m1 = dst[0];
+                byte m2 = dst[1];
+                byte d1 = dst[3];
+                byte d2 = dst[4];
+                System.arraycopy(dst, 6, dst, 0, 4);
+                dst[4] = '-';
+                dst[5] = m1;
+                dst[6] = m2;
+                dst[7] = '-';
+                dst[8] = d1;
+                dst[9] = d2;
+                dst[10] = '\n';
+                return NextDate.FORMATTED_LENGTH + 1;
+            }
+            case PACKED: {
+                for (int i = 7; i >= 0; i--) {
+                    dst[i] = (byte) ('0' + date % 10);
+                    date /= 10;
+                }
+                dst[8] = '\n';
+                return 9;
+            }
+            default:
+                PackedDate.format(date, dst, 0);
+                dst[NextDate.FORMATTED_LENGTH] = '\n';
+                return NextDate.FORMATTED_LENGTH + 1;
+        }
+    }
+
+    /**
+     * Parses one input line.
+     *
+     * @return the packed date, or {@link DateStatus#MALFORMED}
+     */
+    static int parse(String line, InputFormat format) {
+        switch (format) {
+            case STRICT:
+                return DateParser.parse(line, 0, line.length(), false);
+            case PACKED: {
+                if (line.length() != 8) {
+                    return DateStatus.MALFORMED;
+                }
+                int date = 0;
+                for (int i = 0; i < 8; i++) {
+                    char c = line.charAt(i);
+                    if (c < '0' || c > '9') {
+                        return DateStatus.MALFORMED;
+                    }
+                    date = date * 10 + c - '0';
+                }
+                return date;
+            }
+            default:
+                return DateParser.parse(line, 0, line.length(), true);
+        }
+    }
+
+    private static String value(String[] args, int index, String option) {
+        if (index >= args.length) {
+            throw new IllegalArgumentException("Missing value for " + option);
+        }
+        return args[index];
+    }
+
+    private static int positive(String option, String value) {
+        try {
+            int n = Integer.parseInt(value);
+            if (n > 0) {
+                return n;
+            }
+        } catch (NumberFormatException e) {
+            // reported below
+        }
+        throw new IllegalArgumentException(option + " must be a positive integer: " + value);
+    }
+
+    private static <E extends Enum<E>> E choice(Class<E> type, String option, String value) {
+        try {
+            return Enum.valueOf(type, value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown value for " + option + ": " + value);
+        }
+    }
+
+    private static ThreadFactory daemonThreads(String name) {
+        return task -> {
+            Thread thread = new Thread(task, name);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * A run of consecutive input lines and, once computed, their results.
+     * A batch with no lines marks the end of the input.
+     */
+    private static final class Batch {
+
+        private final String source;
+        private final long firstLine;
+        private final String[] lines;
+        private final int count;
+        private final int[] results;
+
+        Batch(String source, long firstLine, String[] lines, int count) {
+            this.source = source;
+            this.firstLine = firstLine;
+            this.lines = lines;
+            this.count = count;
+            this.results = lines == null ? null : new int[count];
+        }
+    }
+
+    /**
+     * Reader stage: cuts the input into batches, submits each one to the workers
+     * and queues its future. Blocks while the queue is full.
+     */
+    private static final class Reader implements Runnable {
+
+        private final List<String> files;
+        private final InputStream stdin;
+        private final int batchSize;
+        private final InputFormat format;
+        private final ExecutorService workers;
+        private final BlockingQueue<Future<Batch>> queue;
+        private final NextDate nextDate = new NextDate();
+
+        Reader(List<String> files, InputStream stdin, int batchSize, InputFormat format,
+               ExecutorService workers, BlockingQueue<Future<Batch>> queue) {
+            this.files = files;
+            this.stdin = stdin;
+            this.batchSize = batchSize;
+            this.format = format;
+            this.workers = workers;
+            this.queue = queue;
+        }
+
+        @Override
+        public void run() {
+            try {
+                for (String file : files) {
+                    boolean isStdin = file.equals("-");
+                    InputStream stream;
+                    try {
+                        stream = isStdin ? stdin : Files.newInputStream(Paths.get(file));
+                    } catch (IOException e) {
+                        throw new IOException("Cannot read " + file, e);
+                    }
+                    BufferedReader reader = new BufferedReader(new InputStreamReader(stream, StandardCharsets.US_ASCII));
+                    try {
+                        read(isStdin ? "<stdin>" : file, reader);
+                    } finally {
+                        if (!isStdin) {
+                            reader.close();
+                        }
+                    }
+                }
+                queue.put(CompletableFuture.completedFuture(new Batch(null, 0, null, 0)));
+            } catch (InterruptedException | RejectedExecutionException e) {
+                // The writer has stopped
+            } catch (IOException | RuntimeException e) {
+                // Such as an InvalidPathException for a bad file name; the writer
+                // would otherwise wait for the end marker forever
+                CompletableFuture<Batch> failed = new CompletableFuture<>();
+                failed.completeExceptionally(e);
+                try {
+                    queue.put(failed);
+                } catch (InterruptedException interrupted) {
+                    // The writer has stopped
+                }
+            }
+        }
+
+        private void read(String source, BufferedReader reader) throws IOException, InterruptedException {
+            long lineNumber = 1;
+            String[] lines = new String[batchSize];
+            int count = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lines[count++] = line;
+                if (count == batchSize) {
+                    submit(new Batch(source, lineNumber, lines, count));
+                    lineNumber += count;
+                    lines = new String[batchSize];
+                    count = 0;
+                }
+            }
+            if (count > 0) {
+                submit(new Batch(source, lineNumber, lines, count));
+            }
+        }
+
+        private void submit(Batch batch) throws InterruptedException {
+            queue.put(workers.submit(() -> compute(batch)));
+        }
+
+        private Batch compute(Batch batch) {
+            for (int i = 0; i < batch.count; i++) {
+                int date = parse(batch.lines[i], format);
+                batch.results[i] = DateStatus.isError(date) ? date : nextDate.tryNextDate(date);
+            }
+            return batch;
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package edu.seds514.nextdate;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.util.Objects;
+
+/**
+ * Client for the binary TCP protocol of {@link NextDateServer}.
+ *
+ * One client owns one connection and is not thread-safe; use one client per thread.
+ */
+public final class NextDateClient implements Closeable {
+
+    private final Socket socket;
+    private final DataInputStream in;
+    private final DataOutputStream out;
+
+    /**
+     * Connects to a server on the loopback interface.
+     *
+     * @param port the server's binary TCP port
+     * @throws IOException if the connection fails
+     */
+    public NextDateClient(int port) throws IOException {
+        socket = new Socket(InetAddress.getLoopbackAddress(), port);
+        socket.setTcpNoDelay(true);
+        in = new DataInputStream(new BufferedInputStream(socket.getInputStream(), 1 << 16));
+        out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream(), 1 << 16));
+    }
+
+    /**
+     * Calculates next dates remotely.
+     *
+     * @param dates the packed dates
+     * @return for each date, the next date packed or a negative {@link DateStatus} code
+     * @throws IOException if the connection fails
+     */
+    public int[] nextDates(int[] dates) throws IOException {
+        int[] results = new int[dates.length];
+        nextDates(dates, 0, dates.length, results);
+        return results;
+    }
+
+    /**
+     * Calculates next dates remotely for rows [offset, offset + length), writing results
+     * to the same rows of {@code results}. Batches larger than
+     * {@link NextDateServer#MAX_BATCH} are sent as several frames.
+     *
+     * @param dates the packed dates
+     * @param offset the first row to send
+     * @param length the number of rows to send
+     * @param results receives, for each row, the next date packed or a negative {@link DateStatus} code
+     * @throws IOException if the connection fails or the server answers with a bad frame
+     * @throws IndexOutOfBoundsException if a range is outside an array
+     */
+    public void nextDates(int[] dates, int offset, int length, int[] results) throws IOException {
+        Objects.checkFromIndexSize(offset, length, dates.length);
+        Objects.checkFromIndexSize(offset, length, results.length);
+        int end = offset + length;
+        do {
+            int count = Math.min(NextDateServer.MAX_BATCH, end - offset);
+            out.writeInt(count);
+            for (int i = 0; i < count; i++) {
+                out.writeInt(dates[offset + i]);
+            }
+            out.flush();
+            int answered = in.readInt();
+            if (answered != count) {
+                throw new IOException("Server answered " + answered + " dates for a request of " + count);
+            }
+            for (int i = 0; i < count; i++) {
+                results[offset + i] = in.readInt();
+            }
+            offset += count;
+        } while (offset < end);
+    }
+
+    /**
+     * Closes the connection.
+     *
+     * @throws IOException if the socket cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        socket.close();
+    }
+}
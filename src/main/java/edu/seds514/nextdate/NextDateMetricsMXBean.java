@@ -0,0 +1,100 @@
+package edu.seds514.nextdate;
+
+/**
+ * JMX view of an {@link InstrumentedNextDate}, registered with
+ * {@link InstrumentedNextDate#register(String)}.
+ *
+ * Counters follow the decision-table outcomes of {@link InstrumentedNextDate.Outcome};
+ * latencies are estimates from a {@link LatencyHistogram}, in nanoseconds.
+ */
+public interface NextDateMetricsMXBean {
+
+    /**
+     * Tells whether calls are being counted and timed.
+     *
+     * @return true if instrumentation is on
+     */
+    boolean isEnabled();
+
+    /**
+     * Turns instrumentation on or off.
+     *
+     * @param enabled true to count and time calls
+     */
+    void setEnabled(boolean enabled);
+
+    /**
+     * Gets the number of counted calls.
+     *
+     * @return calls of every outcome
+     */
+    long getCalls();
+
+    /**
+     * Gets the number of calls that only incremented the day.
+     *
+     * @return the {@link InstrumentedNextDate.Outcome#DAY_INCREMENT} count
+     */
+    long getDayIncrements();
+
+    /**
+     * Gets the number of calls that rolled over to the next month, other than from February 29.
+     *
+     * @return the {@link InstrumentedNextDate.Outcome#MONTH_ROLLOVER} count
+     */
+    long getMonthRollovers();
+
+    /**
+     * Gets the number of February 28 to 29 calls.
+     *
+     * @return the {@link InstrumentedNextDate.Outcome#FEB_28_TO_29} count
+     */
+    long getFeb28To29();
+
+    /**
+     * Gets the number of February 29 to March 1 calls.
+     *
+     * @return the {@link InstrumentedNextDate.Outcome#FEB_29_TO_MAR_1} count
+     */
+    long getFeb29ToMar1();
+
+    /**
+     * Gets the number of December 31 calls.
+     *
+     * @return the {@link InstrumentedNextDate.Outcome#YEAR_ROLLOVER} count
+     */
+    long getYearRollovers();
+
+    /**
+     * Gets the number of calls rejected by validation, for any reason.
+     *
+     * @return the total of the invalid outcomes
+     */
+    long getValidationFailures();
+
+    /**
+     * Gets the median latency.
+     *
+     * @return the estimated 50th percentile in nanoseconds
+     */
+    long getLatencyP50Nanos();
+
+    /**
+     * Gets the 99th percentile latency.
+     *
+     * @return the estimated 99th percentile in nanoseconds
+     */
+    long getLatencyP99Nanos();
+
+    /**
+     * Gets the largest latency.
+     *
+     * @return the largest recorded latency in nanoseconds
+     */
+    long getLatencyMaxNanos();
+
+    /**
+     * Clears all counters and the latency histogram.
+     */
+    void reset();
+}
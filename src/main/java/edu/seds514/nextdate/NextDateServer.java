@@ -0,0 +1,404 @@
+package edu.seds514.nextdate;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Standalone next-date service bound to the loopback interface, speaking two protocols:
+ *
+ * HTTP ({@link HttpServer}) on {@value #HTTP_PATH}:
+ * - {@code GET /nextdate?date=02/28/2000&date=...} - one next date per {@code date} parameter
+ * - {@code POST /nextdate} with one date per line in the body
+ * Dates are parsed like {@link DateParser} in lenient mode. The response is
+ * {@code text/plain}, one "MM/DD/YYYY" or {@link DateFileProcessor#INVALID_LINE} per input date.
+ * A POST body over {@value #MAX_BODY_BYTES} bytes is refused with 413 Payload Too Large.
+ *
+ * Binary TCP, for callers that send many dates per round trip. Each request frame is a
+ * big-endian int {@code count} (0 to {@value #MAX_BATCH}) followed by {@code count}
+ * {@link PackedDate packed} ints; the response frame has the same shape and holds, for
+ * every date, the next date packed or a negative {@link DateStatus} code. A connection
+ * carries any number of frames; a frame with a bad count closes it.
+ *
+ * Every connection and HTTP exchange runs on its own virtual thread when the JVM has
+ * them (JDK 21+), found by reflection so the code still targets Java 11. Otherwise HTTP
+ * exchanges run on a fixed pool of platform threads and every binary connection gets a
+ * platform thread of its own, so idle connections never hold up HTTP or new connections.
+ * At most {@code maxConnections} binary connections are open at once; the server closes
+ * any connection accepted beyond that straight away.
+ */
+public final class NextDateServer implements Closeable {
+
+    /** HTTP path served. */
+    public static final String HTTP_PATH = "/nextdate";
+
+    /** Most dates accepted in one binary frame. */
+    public static final int MAX_BATCH = 1 << 16;
+
+    /** Largest HTTP POST body accepted, in bytes. */
+    public static final int MAX_BODY_BYTES = 1 << 20;
+
+    /** Binary connection limit used by the three-argument constructor. */
+    public static final int DEFAULT_MAX_CONNECTIONS = 1024;
+
+    private final NextDate nextDate = new NextDate();
+    private final ExecutorService executor;
+    private final ExecutorService connectionExecutor;
+    private final boolean virtualThreads;
+    private final int maxConnections;
+    private final HttpServer httpServer;
+    private final ServerSocket tcpServer;
+    private final Set<Socket> connections = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Starts a server on the loopback interface allowing
+     * {@value #DEFAULT_MAX_CONNECTIONS} binary connections.
+     *
+     * @param httpPort the HTTP port, or 0 for any free port
+     * @param tcpPort the binary TCP port, or 0 for any free port
+     * @param poolThreads the platform threads serving HTTP when virtual threads are unavailable
+     * @throws IOException if a port cannot be bound
+     * @throws IllegalArgumentException if poolThreads is not positive
+     */
+    public NextDateServer(int httpPort, int tcpPort, int poolThreads) throws IOException {
+        this(httpPort, tcpPort, poolThreads, DEFAULT_MAX_CONNECTIONS);
+    }
+
+    /**
+     * Starts a server on the loopback interface.
+     *
+     * @param httpPort the HTTP port, or 0 for any free port
+     * @param tcpPort the binary TCP port, or 0 for any free port
+     * @param poolThreads the platform threads serving HTTP when virtual threads are unavailable
+     * @param maxConnections the most binary connections open at once
+     * @throws IOException if a port cannot be bound
+     * @throws IllegalArgumentException if poolThreads or maxConnections is not positive
+     */
+    public NextDateServer(int httpPort, int tcpPort, int poolThreads, int maxConnections) throws IOException {
+        if (poolThreads < 1) {
+            throw new IllegalArgumentException("Pool threads must be positive");
+        }
+        if (maxConnections < 1) {
+            throw new IllegalArgumentException("Max connections must be positive");
+        }
+        this.maxConnections = maxConnections;
+        ExecutorService virtual = newVirtualThreadExecutor();
+        this.virtualThreads = virtual != null;
+        this.executor = virtual != null ? virtual : Executors.newFixedThreadPool(poolThreads, namedThreads("nextdate-http"));
+        this.connectionExecutor = virtual != null ? virtual : newConnectionPool(maxConnections);
+
+        InetAddress loopback = InetAddress.getLoopbackAddress();
+        HttpServer http = null;
+        try {
+            http = HttpServer.create(new InetSocketAddress(loopback, httpPort), 0);
+            http.createContext(HTTP_PATH, this::handleHttp);
+            http.setExecutor(executor);
+            tcpServer = new ServerSocket(tcpPort, 0, loopback);
+        } catch (IOException e) {
+            if (http != null) {
+                http.stop(0);
+            }
+            executor.shutdownNow();
+            connectionExecutor.shutdownNow();
+            throw e;
+        }
+        httpServer = http;
+        httpServer.start();
+        namedThreads("nextdate-accept").newThread(this::acceptLoop).start();
+    }
+
+    /**
+     * Gets the bound HTTP port.
+     *
+     * @return the HTTP port
+     */
+    public int getHttpPort() {
+        return httpServer.getAddress().getPort();
+    }
+
+    /**
+     * Gets the bound binary TCP port.
+     *
+     * @return the TCP port
+     */
+    public int getTcpPort() {
+        return tcpServer.getLocalPort();
+    }
+
+    /**
+     * Tells whether connections run on virtual threads.
+     *
+     * @return true on JDK 21+, false when the fixed pool is used
+     */
+    public boolean usesVirtualThreads() {
+        return virtualThreads;
+    }
+
+    /**
+     * Stops accepting connections, closes both listeners and all open connections.
+     *
+     * @throws IOException if the TCP listener cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        httpServer.stop(0);
+        try {
+            tcpServer.close();
+        } finally {
+            executor.shutdownNow();
+            connectionExecutor.shutdownNow();
+            for (Socket socket : connections) {
+                closeQuietly(socket);
+            }
+        }
+    }
+
+    private void acceptLoop() {
+        while (!tcpServer.isClosed()) {
+            Socket socket;
+            try {
+                socket = tcpServer.accept();
+            } catch (IOException e) {
+                // Listener closed
+                return;
+            }
+            if (connections.size() >= maxConnections) {
+                closeQuietly(socket);
+                continue;
+            }
+            connections.add(socket);
+            try {
+                connectionExecutor.execute(() -> serve(socket));
+            } catch (RuntimeException e) {
+                // Executor shut down by close()
+                connections.remove(socket);
+                closeQuietly(socket);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Serves binary frames on one connection until the client closes it.
+     */
+    private void serve(Socket socket) {
+        try (Socket s = socket) {
+            s.setTcpNoDelay(true);
+            DataInputStream in = new DataInputStream(new BufferedInputStream(s.getInputStream(), 1 << 16));
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(s.getOutputStream(), 1 << 16));
+            int[] dates = new int[0];
+            int[] results = new int[0];
+            long[] invalid = new long[0];
+            while (true) {
+                int count;
+                try {
+                    count = in.readInt();
+                } catch (EOFException e) {
+                    return;
+                }
+                if (count < 0 || count > MAX_BATCH) {
+                    return;
+                }
+                if (dates.length < count) {
+                    dates = new int[count];
+                    results = new int[count];
+                    invalid = new long[(count + 63) >>> 6];
+                }
+                for (int i = 0; i < count; i++) {
+                    dates[i] = in.readInt();
+                }
+                compute(dates, count, results, invalid);
+                out.writeInt(count);
+                for (int i = 0; i < count; i++) {
+                    out.writeInt(results[i]);
+                }
+                out.flush();
+            }
+        } catch (IOException e) {
+            // Connection reset or server closing; nothing to report to
+        } finally {
+            connections.remove(socket);
+        }
+    }
+
+    /**
+     * Calculates results for the first {@code count} dates. Valid rows go through the
+     * branch-free batch kernel; only the rows it flags are re-run for their status code.
+     */
+    private void compute(int[] dates, int count, int[] results, long[] invalid) {
+        if (nextDate.nextDates(dates, 0, count, results, invalid) == 0) {
+            return;
+        }
+        for (int word = 0; word < (count + 63) >>> 6; word++) {
+            long bits = invalid[word];
+            while (bits != 0) {
+                int i = (word << 6) + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+                results[i] = nextDate.tryNextDate(dates[i]);
+            }
+        }
+    }
+
+    private void handleHttp(HttpExchange exchange) throws IOException {
+        try {
+            String method = exchange.getRequestMethod();
+            ByteArrayOutputStream body = new ByteArrayOutputStream();
+            if (method.equals("GET")) {
+                String query = exchange.getRequestURI().getQuery();
+                if (query != null) {
+                    for (String parameter : query.split("&")) {
+                        if (parameter.startsWith("date=")) {
+                            appendNextDate(parameter.substring(5), body);
+                        }
+                    }
+                }
+            } else if (method.equals("POST")) {
+                byte[] bytes = readBody(exchange);
+                if (bytes == null) {
+                    exchange.sendResponseHeaders(413, -1);
+                    return;
+                }
+                String text = new String(bytes, StandardCharsets.US_ASCII);
+                int start = 0;
+                while (start < text.length()) {
+                    int end = text.indexOf('\n', start);
+                    if (end < 0) {
+                        end = text.length();
+                    }
+                    int lineEnd = end > start && text.charAt(end - 1) == '\r' ? end - 1 : end;
+                    appendNextDate(text.substring(start, lineEnd), body);
+                    start = end + 1;
+                }
+            } else {
+                exchange.getResponseHeaders().set("Allow", "GET, POST");
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=US-ASCII");
+            exchange.sendResponseHeaders(200, body.size() == 0 ? -1 : body.size());
+            if (body.size() > 0) {
+                try (OutputStream out = exchange.getResponseBody()) {
+                    body.writeTo(out);
+                }
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void appendNextDate(String text, ByteArrayOutputStream body) {
+        int date = DateParser.parse(text, 0, text.length(), true);
+        int next = DateStatus.isError(date) ? date : nextDate.tryNextDate(date);
+        if (DateStatus.isError(next)) {
+            body.writeBytes(DateFileProcessor.INVALID_LINE.getBytes(StandardCharsets.US_ASCII));
+        } else {
+            byte[] line = new byte[NextDate.FORMATTED_LENGTH];
+            PackedDate.format(next, line, 0);
+            body.writeBytes(line);
+        }
+        body.write('\n');
+    }
+
+    /**
+     * Reads a POST body of at most {@value #MAX_BODY_BYTES} bytes. A declared
+     * Content-Length over the limit is refused before anything is read; a chunked body
+     * is read only one byte past the limit.
+     *
+     * @return the body, or null if it is too large
+     */
+    private static byte[] readBody(HttpExchange exchange) throws IOException {
+        String length = exchange.getRequestHeaders().getFirst("Content-Length");
+        if (length != null && Long.parseLong(length.trim()) > MAX_BODY_BYTES) {
+            return null;
+        }
+        try (InputStream stream = exchange.getRequestBody()) {
+            byte[] bytes = stream.readNBytes(MAX_BODY_BYTES + 1);
+            return bytes.length > MAX_BODY_BYTES ? null : bytes;
+        }
+    }
+
+    /**
+     * Creates a virtual-thread-per-task executor by reflection.
+     *
+     * @return the executor, or null if this JVM has no (non-preview) virtual threads
+     */
+    static ExecutorService newVirtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Creates the platform-thread pool for binary connections: up to
+     * {@code maxConnections} threads, each retired after a minute idle. The accept loop
+     * never hands it more connections than that, so no task waits in its queue.
+     */
+    private static ExecutorService newConnectionPool(int maxConnections) {
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(maxConnections, maxConnections, 60, TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(), namedThreads("nextdate-conn"));
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
+    private static ThreadFactory namedThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return task -> {
+            Thread thread = new Thread(task, prefix + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private static void closeQuietly(Socket socket) {
+        try {
+            socket.close();
+        } catch (IOException e) {
+            // Already closing
+        }
+    }
+
+    /**
+     * Starts a server and runs until the JVM is stopped.
+     *
+     * Usage: {@code NextDateServer [httpPort [tcpPort [poolThreads]]]}, defaulting to
+     * 8080, 9090 and the number of available processors.
+     *
+     * @param args the optional ports and pool size
+     * @throws IOException if a port cannot be bound
+     */
+    public static void main(String[] args) throws IOException {
+        int httpPort = args.length > 0 ? Integer.parseInt(args[0]) : 8080;
+        int tcpPort = args.length > 1 ? Integer.parseInt(args[1]) : 9090;
+        int threads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+        NextDateServer server = new NextDateServer(httpPort, tcpPort, threads);
+        System.out.println("NextDate server on " + InetAddress.getLoopbackAddress().getHostAddress()
+            + ": HTTP " + server.getHttpPort() + HTTP_PATH + ", binary TCP " + server.getTcpPort()
+            + (server.usesVirtualThreads() ? ", virtual threads" : ", " + threads + " pool threads"));
+    }
+}
@@ -0,0 +1,170 @@
+package edu.seds514.nextdate;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Table-driven NextDate engine for the whole 1812-2100 domain.
+ *
+ * Every valid date is assigned a dense day ordinal (01/01/1812 is ordinal 0). The
+ * length and first ordinal of every month are precomputed into primitive arrays, so
+ * validating a date and finding its successor take one lookup instead of the leap-year
+ * rules run by {@link NextDate#getNextDate(int, int, int)}. Dates are returned in the
+ * {@link PackedDate} encoding, and ordinals match {@link PackedDate#toOrdinal(int)}.
+ *
+ * Month lengths come from {@link CalendarData}, generated at build time, so building
+ * the table only takes a prefix sum over the months. The date of every ordinal, which
+ * takes a pass over all days, is only built on the first {@link #dateAt(int)}.
+ */
+public final class NextDateTable {
+
+    /** Smallest supported year. */
+    public static final int MIN_YEAR = CalendarData.MIN_YEAR;
+
+    /** Largest supported year. */
+    public static final int MAX_YEAR = CalendarData.MAX_YEAR;
+
+    /** Returned by lookups when the input date is invalid. */
+    public static final int INVALID = -1;
+
+    private static final int YEARS = MAX_YEAR - MIN_YEAR + 1;
+
+    /** Approximate size of an array object header on a 64-bit JVM. */
+    private static final int ARRAY_HEADER_BYTES = 16;
+
+    /** Ordinal of the first day of each month, indexed by (year - MIN_YEAR) * 12 + (month - 1). */
+    private final int[] monthStart = new int[YEARS * 12];
+
+    /** Number of days in each month, indexed like {@link #monthStart}. */
+    private final byte[] monthLength = CalendarData.MONTH_LENGTHS.getBytes(StandardCharsets.ISO_8859_1);
+
+    private NextDateTable() {
+        int ordinal = 0;
+        for (int slot = 0; slot < monthStart.length; slot++) {
+            monthStart[slot] = ordinal;
+            ordinal += monthLength[slot];
+        }
+    }
+
+    /**
+     * Builds the date of each ordinal; one extra slot holds 01/01/2101, the successor
+     * of 12/31/2100.
+     */
+    private int[] buildDates() {
+        int[] dates = new int[CalendarData.DAYS + 1];
+        for (int slot = 0; slot < monthStart.length; slot++) {
+            int first = PackedDate.pack(slot % 12 + 1, 1, MIN_YEAR + slot / 12);
+            for (int day = 0; day < monthLength[slot]; day++) {
+                dates[monthStart[slot] + day] = first + day;
+            }
+        }
+        dates[CalendarData.DAYS] = PackedDate.pack(1, 1, MAX_YEAR + 1);
+        return dates;
+    }
+
+    /**
+     * Returns the shared table, building it on first use.
+     *
+     * @return the table instance
+     */
+    public static NextDateTable getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Looks up the next date for a given date.
+     *
+     * @param month the month (1-12)
+     * @param day the day (1-31 depending on month)
+     * @param year the year (1812-2100)
+     * @return the next date, packed, or {@link #INVALID} if the input date is invalid
+     */
+    public int next(int month, int day, int year) {
+        int slot = slotOf(month, year);
+        if (slot < 0) {
+            return INVALID;
+        }
+        int length = monthLength[slot];
+        if (((day - 1) | (length - day)) < 0) {
+            return INVALID;
+        }
+        if (day < length) {
+            return PackedDate.pack(month, day + 1, year);
+        }
+        return month < 12 ? PackedDate.pack(month + 1, 1, year) : PackedDate.pack(1, 1, year + 1);
+    }
+
+    /**
+     * Gets the dense day ordinal of a date.
+     *
+     * @param month the month (1-12)
+     * @param day the day (1-31 depending on month)
+     * @param year the year (1812-2100)
+     * @return the ordinal (01/01/1812 is 0), or {@link #INVALID} if the input date is invalid
+     */
+    public int ordinalOf(int month, int day, int year) {
+        int slot = slotOf(month, year);
+        if (slot < 0 || ((day - 1) | (monthLength[slot] - day)) < 0) {
+            return INVALID;
+        }
+        return monthStart[slot] + day - 1;
+    }
+
+    /**
+     * Gets the array index of a month, or {@link #INVALID} if the month or year is out of range.
+     */
+    private static int slotOf(int month, int year) {
+        int y = year - MIN_YEAR;
+        int m = month - 1;
+        // A single sign test rejects out-of-range years and months
+        if ((y | (YEARS - 1 - y) | m | (11 - m)) < 0) {
+            return INVALID;
+        }
+        return y * 12 + m;
+    }
+
+    /**
+     * Gets the date with a given ordinal.
+     *
+     * @param ordinal the ordinal, from 0 to {@link #size()} inclusive
+     * @return the packed date; ordinal {@code size()} is 01/01/2101
+     * @throws ArrayIndexOutOfBoundsException if the ordinal is out of range
+     */
+    public int dateAt(int ordinal) {
+        return Dates.DATES[ordinal];
+    }
+
+    /**
+     * Gets the number of valid dates in the domain.
+     *
+     * @return the number of dates from 01/01/1812 to 12/31/2100
+     */
+    public int size() {
+        return CalendarData.DAYS;
+    }
+
+    /**
+     * Estimates the heap memory held by the table's arrays once every date has been built.
+     *
+     * @return the approximate footprint in bytes
+     */
+    public long footprintBytes() {
+        return 3L * ARRAY_HEADER_BYTES
+            + (long) monthStart.length * Integer.BYTES
+            + monthLength.length
+            + (size() + 1L) * Integer.BYTES;
+    }
+
+    /**
+     * Lazily initialized holder for the shared table.
+     */
+    private static final class Holder {
+        static final NextDateTable INSTANCE = new NextDateTable();
+    }
+
+    /**
+     * Lazily built date of each ordinal, for {@link #dateAt(int)}.
+     */
+    private static final class Dates {
+        static final int[] DATES = Holder.INSTANCE.buildDates();
+    }
+}
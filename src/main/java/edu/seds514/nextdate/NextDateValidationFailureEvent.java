@@ -0,0 +1,42 @@
+package edu.seds514.nextdate;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for an input date rejected by {@link NextDate#tryNextDate(int, int, int)},
+ * whether or not the caller then throws. Off by default, since feeds with many garbage
+ * dates would produce one event per row; turn it on with
+ * {@code edu.seds514.nextdate.ValidationFailure#enabled=true}. Stack traces are
+ * recorded so the offending caller can be found.
+ */
+@Name("edu.seds514.nextdate.ValidationFailure")
+@Label("NextDate Validation Failure")
+@Category({"NextDate"})
+@Description("Input date rejected by validation")
+@Enabled(false)
+@StackTrace(true)
+final class NextDateValidationFailureEvent extends Event {
+
+    @Label("Month")
+    int month;
+
+    @Label("Day")
+    int day;
+
+    @Label("Year")
+    int year;
+
+    @Label("Reason Code")
+    @Description("Negative DateStatus code")
+    int reasonCode;
+
+    @Label("Reason")
+    @Description("DateStatus constant name")
+    String reason;
+}
@@ -0,0 +1,484 @@
+package edu.seds514.nextdate;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+
+/**
+ * Column of packed dates stored outside the Java heap, for data sets large enough
+ * that an {@code int[]} would lengthen GC pauses.
+ *
+ * Rows are little-endian {@link PackedDate} ints in a direct {@link ByteBuffer}, either
+ * anonymous ({@link #allocate}) or mapped from a file ({@link #map}) so the column
+ * persists between runs. The bulk kernels read and write native memory directly and
+ * report invalid rows in a bitmap, like
+ * {@link NextDate#nextDates(int[], int, int, int[], long[])}. They accept years
+ * 1812-2100, or the range of a NextDate passed to them.
+ *
+ * A column owns its memory until {@link #close()}, which frees it at once instead of
+ * waiting for the garbage collector; any later access throws
+ * {@link IllegalStateException}. Slices share their parent's memory and fail the same
+ * way once the parent is closed. Columns are not thread-safe.
+ *
+ * File layout: an 8-byte header (magic "NDCL", then the row count) followed by
+ * {@code capacity} rows.
+ */
+public final class OffHeapDateColumn implements Closeable {
+
+    /** Largest number of rows in one column. */
+    public static final int MAX_CAPACITY = (Integer.MAX_VALUE - 8) / Integer.BYTES;
+
+    /** "NDCL" in ASCII. */
+    static final int MAGIC = 0x4E44434C;
+
+    /** Size of the file header in bytes. */
+    static final int HEADER_SIZE = 8;
+
+    private static final NextDateTable TABLE = NextDateTable.getInstance();
+
+    /** The column that owns the memory; {@code this} unless this is a slice. */
+    private final OffHeapDateColumn owner;
+    private ByteBuffer memory;
+    private final int base;
+    private final int capacity;
+    private final boolean mapped;
+    private int size;
+
+    private OffHeapDateColumn(OffHeapDateColumn owner, ByteBuffer memory, int base, int capacity, int size,
+                              boolean mapped) {
+        this.owner = owner == null ? this : owner;
+        this.memory = memory;
+        this.base = base;
+        this.capacity = capacity;
+        this.size = size;
+        this.mapped = mapped;
+    }
+
+    /**
+     * Allocates an empty column in native memory.
+     *
+     * @param capacity the most rows the column can hold
+     * @return the column
+     * @throws IllegalArgumentException if capacity is negative or above {@link #MAX_CAPACITY}
+     */
+    public static OffHeapDateColumn allocate(int capacity) {
+        checkCapacity(capacity);
+        ByteBuffer memory = ByteBuffer.allocateDirect(capacity * Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        return new OffHeapDateColumn(null, memory, 0, capacity, 0, false);
+    }
+
+    /**
+     * Maps a column file read-write, creating it if it does not exist. Changes are
+     * written back to the file by the operating system, and at the latest by
+     * {@link #force()} or {@link #close()}.
+     *
+     * @param path the column file
+     * @param capacity the most rows the column can hold; an existing file keeps its
+     *                 capacity if that is larger
+     * @return the column, holding the rows already in the file
+     * @throws IOException if the file cannot be mapped or is not a column file
+     * @throws IllegalArgumentException if capacity is negative or above {@link #MAX_CAPACITY}
+     */
+    public static OffHeapDateColumn map(Path path, int capacity) throws IOException {
+        checkCapacity(capacity);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long length = channel.size();
+            int size = 0;
+            if (length > 0) {
+                ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+                while (header.hasRemaining()) {
+                    if (channel.read(header, header.position()) < 0) {
+                        throw new IOException("File too short for a column header: " + path);
+                    }
+                }
+                header.flip();
+                if (header.getInt() != MAGIC) {
+                    throw new IOException("Not a date column file: " + path);
+                }
+                size = header.getInt();
+                long existing = (length - HEADER_SIZE) / Integer.BYTES;
+                if (size < 0 || size > existing || existing > MAX_CAPACITY) {
+                    throw new IOException("Corrupt date column file: " + path);
+                }
+                capacity = Math.max(capacity, (int) existing);
+            }
+            MappedByteBuffer memory = channel.map(FileChannel.MapMode.READ_WRITE, 0,
+                HEADER_SIZE + (long) capacity * Integer.BYTES);
+            memory.order(ByteOrder.LITTLE_ENDIAN);
+            memory.putInt(0, MAGIC);
+            memory.putInt(4, size);
+            return new OffHeapDateColumn(null, memory, HEADER_SIZE, capacity, size, true);
+        }
+    }
+
+    private static void checkCapacity(int capacity) {
+        if (capacity < 0 || capacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("Capacity must be between 0 and " + MAX_CAPACITY);
+        }
+    }
+
+    /**
+     * Gets the number of rows.
+     *
+     * @return the row count
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets the most rows this column can hold.
+     *
+     * @return the capacity
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Appends a row.
+     *
+     * @param date the packed date
+     * @throws IllegalStateException if the column is full or closed
+     */
+    public void append(int date) {
+        ByteBuffer m = memory();
+        if (size == capacity) {
+            throw new IllegalStateException("Column is full (" + capacity + " rows)");
+        }
+        m.putInt(base + size * Integer.BYTES, date);
+        size++;
+    }
+
+    /**
+     * Reads a row.
+     *
+     * @param index the row, from 0 to {@link #size()} - 1
+     * @return the packed date
+     * @throws IndexOutOfBoundsException if the row does not exist
+     * @throws IllegalStateException if the column is closed
+     */
+    public int get(int index) {
+        ByteBuffer m = memory();
+        Objects.checkIndex(index, size);
+        return m.getInt(base + index * Integer.BYTES);
+    }
+
+    /**
+     * Overwrites a row.
+     *
+     * @param index the row, from 0 to {@link #size()} - 1
+     * @param date the packed date
+     * @throws IndexOutOfBoundsException if the row does not exist
+     * @throws IllegalStateException if the column is closed
+     */
+    public void set(int index, int date) {
+        ByteBuffer m = memory();
+        Objects.checkIndex(index, size);
+        m.putInt(base + index * Integer.BYTES, date);
+    }
+
+    /**
+     * Makes a fixed-size view of rows [from, to) that shares this column's memory.
+     * Writes through the slice are visible here and the other way round. Closing a
+     * slice only detaches it.
+     *
+     * @param from the first row
+     * @param to the row after the last
+     * @return the slice
+     * @throws IndexOutOfBoundsException if the range is outside [0, size)
+     * @throws IllegalStateException if the column is closed
+     */
+    public OffHeapDateColumn slice(int from, int to) {
+        ByteBuffer m = memory();
+        Objects.checkFromToIndex(from, to, size);
+        return new OffHeapDateColumn(owner, m, base + from * Integer.BYTES, to - from, to - from, false);
+    }
+
+    /**
+     * Writes the next date of every row to {@code dst} for years 1812-2100. Same as
+     * {@link #nextDates(NextDate, OffHeapDateColumn, long[])} with a default NextDate.
+     *
+     * @param dst receives the next dates; rows for invalid dates are set to 0
+     * @param invalid receives one bit per row, set when the row is invalid;
+     *                needs at least {@code (size() + 63) / 64} words
+     * @return the number of invalid rows
+     * @throws IllegalArgumentException if dst cannot hold {@link #size()} rows or partly overlaps them
+     * @throws IndexOutOfBoundsException if the bitmap is too short
+     * @throws IllegalStateException if either column is closed
+     */
+    public int nextDates(OffHeapDateColumn dst, long[] invalid) {
+        return nextDates(CalendarData.MIN_YEAR, CalendarData.MAX_YEAR, dst, invalid);
+    }
+
+    /**
+     * Writes the next date of every row to {@code dst}, which ends up with the same
+     * number of rows. It may be this column, or a slice over exactly the same rows,
+     * but not a slice that only partly overlaps them.
+     *
+     * @param nextDate supplies the year range; rows outside it are invalid
+     * @param dst receives the next dates; rows for invalid dates are set to 0
+     * @param invalid receives one bit per row, set when the row is invalid;
+     *                needs at least {@code (size() + 63) / 64} words
+     * @return the number of invalid rows
+     * @throws IllegalArgumentException if dst cannot hold {@link #size()} rows or partly overlaps them
+     * @throws IndexOutOfBoundsException if the bitmap is too short
+     * @throws IllegalStateException if either column is closed
+     */
+    public int nextDates(NextDate nextDate, OffHeapDateColumn dst, long[] invalid) {
+        return nextDates(nextDate.getMinYear(), nextDate.getMaxYear(), dst, invalid);
+    }
+
+    private int nextDates(int minYear, int maxYear, OffHeapDateColumn dst, long[] invalid) {
+        ByteBuffer in = memory();
+        ByteBuffer out = dst.prepareTarget(this, invalid);
+        int inBase = base;
+        int outBase = dst.base;
+        int invalidCount = 0;
+        for (int block = 0; block < size; block += 64) {
+            int end = Math.min(block + 64, size);
+            long bits = 0;
+            for (int i = block; i < end; i++) {
+                int date = in.getInt(inBase + i * Integer.BYTES);
+                int next = NextDate.nextDateOrZero(PackedDate.month(date), PackedDate.day(date), PackedDate.year(date),
+                    minYear, maxYear);
+                out.putInt(outBase + i * Integer.BYTES, next);
+                bits |= (next == 0 ? 1L : 0L) << (i - block);
+            }
+            invalid[block >>> 6] = bits;
+            invalidCount += Long.bitCount(bits);
+        }
+        return invalidCount;
+    }
+
+    /**
+     * Writes every row shifted by a number of days to {@code dst} for years 1812-2100.
+     * Same as {@link #plusDays(NextDate, int, OffHeapDateColumn, long[])} with a default
+     * NextDate.
+     *
+     * @param days the number of days to add (negative to subtract)
+     * @param dst receives the shifted dates; rows that are invalid, or whose result falls
+     *            outside 01/01/1812 to 01/01/2101 (the limit of {@link NextDate#plusDays}),
+     *            are set to 0
+     * @param invalid receives one bit per row, set when the row has no result
+     * @return the number of rows without a result
+     * @throws IllegalArgumentException if dst cannot hold {@link #size()} rows or partly overlaps them
+     * @throws IndexOutOfBoundsException if the bitmap is too short
+     * @throws IllegalStateException if either column is closed
+     */
+    public int plusDays(int days, OffHeapDateColumn dst, long[] invalid) {
+        return plusTableDays(days, dst, invalid);
+    }
+
+    /**
+     * Writes every row shifted by a number of days to {@code dst}, which ends up with
+     * the same number of rows. Like {@link #nextDates}, it may be this column but must
+     * not partly overlap it. For 1812-2100 this uses the precomputed {@link NextDateTable}
+     * ordinals, so each row costs two table lookups; other ranges convert through epoch
+     * days.
+     *
+     * @param nextDate supplies the year range; rows outside it are invalid
+     * @param days the number of days to add (negative to subtract)
+     * @param dst receives the shifted dates; rows that are invalid, or whose result falls
+     *            outside 01/01 of the first year to 01/01 after the last (the limit of
+     *            {@link NextDate#plusDays}), are set to 0
+     * @param invalid receives one bit per row, set when the row has no result
+     * @return the number of rows without a result
+     * @throws IllegalArgumentException if dst cannot hold {@link #size()} rows or partly overlaps them
+     * @throws IndexOutOfBoundsException if the bitmap is too short
+     * @throws IllegalStateException if either column is closed
+     */
+    public int plusDays(NextDate nextDate, int days, OffHeapDateColumn dst, long[] invalid) {
+        int minYear = nextDate.getMinYear();
+        int maxYear = nextDate.getMaxYear();
+        if (NextDate.isDefaultRange(minYear, maxYear)) {
+            return plusTableDays(days, dst, invalid);
+        }
+        ByteBuffer in = memory();
+        ByteBuffer out = dst.prepareTarget(this, invalid);
+        int inBase = base;
+        int outBase = dst.base;
+        long first = PackedDate.toEpochDay(1, 1, minYear);
+        long last = PackedDate.toEpochDay(12, 31, maxYear) + 1;
+        int invalidCount = 0;
+        for (int block = 0; block < size; block += 64) {
+            int end = Math.min(block + 64, size);
+            long bits = 0;
+            for (int i = block; i < end; i++) {
+                int date = in.getInt(inBase + i * Integer.BYTES);
+                int month = PackedDate.month(date);
+                int day = PackedDate.day(date);
+                int year = PackedDate.year(date);
+                boolean ok = nextDate.checkDate(month, day, year) == DateStatus.OK;
+                long shifted = ok ? PackedDate.toEpochDay(month, day, year) + days : 0;
+                ok &= shifted >= first & shifted <= last;
+                out.putInt(outBase + i * Integer.BYTES, ok ? PackedDate.fromEpochDay(shifted) : 0);
+                bits |= (ok ? 0L : 1L) << (i - block);
+            }
+            invalid[block >>> 6] = bits;
+            invalidCount += Long.bitCount(bits);
+        }
+        return invalidCount;
+    }
+
+    private int plusTableDays(int days, OffHeapDateColumn dst, long[] invalid) {
+        ByteBuffer in = memory();
+        ByteBuffer out = dst.prepareTarget(this, invalid);
+        int inBase = base;
+        int outBase = dst.base;
+        long domain = TABLE.size();
+        int invalidCount = 0;
+        for (int block = 0; block < size; block += 64) {
+            int end = Math.min(block + 64, size);
+            long bits = 0;
+            for (int i = block; i < end; i++) {
+                int date = in.getInt(inBase + i * Integer.BYTES);
+                int ordinal = TABLE.ordinalOf(PackedDate.month(date), PackedDate.day(date), PackedDate.year(date));
+                long shifted = (long) ordinal + days;
+                boolean ok = ordinal >= 0 & shifted >= 0 & shifted <= domain;
+                out.putInt(outBase + i * Integer.BYTES, ok ? TABLE.dateAt((int) shifted) : 0);
+                bits |= (ok ? 0L : 1L) << (i - block);
+            }
+            invalid[block >>> 6] = bits;
+            invalidCount += Long.bitCount(bits);
+        }
+        return invalidCount;
+    }
+
+    /**
+     * Writes the row count to the file header and flushes a mapped column to disk;
+     * does nothing for an anonymous column.
+     *
+     * @throws IllegalStateException if the column is closed
+     */
+    public void force() {
+        ByteBuffer m = memory();
+        if (mapped) {
+            m.putInt(4, size);
+            ((MappedByteBuffer) m).force();
+        }
+    }
+
+    /**
+     * Frees the native memory (unmapping a file-backed column after {@link #force()}).
+     * Closing twice, or closing a slice, only detaches this object.
+     */
+    @Override
+    public void close() {
+        ByteBuffer m = memory;
+        if (m == null) {
+            return;
+        }
+        if (mapped) {
+            force();
+        }
+        memory = null;
+        if (owner == this) {
+            Cleaner.INSTANCE.free(m);
+        }
+    }
+
+    private ByteBuffer memory() {
+        ByteBuffer m = memory;
+        if (m == null || owner.memory == null) {
+            throw new IllegalStateException("Column is closed");
+        }
+        return m;
+    }
+
+    /**
+     * Checks that this column can receive a kernel result for every row of
+     * {@code source} and sets its size. The kernels read row i before writing row i,
+     * so the target may be the source rows themselves, but a target shifted against
+     * them would overwrite rows before they are read.
+     */
+    private ByteBuffer prepareTarget(OffHeapDateColumn source, long[] invalid) {
+        ByteBuffer m = memory();
+        int rows = source.size;
+        if (rows > capacity) {
+            throw new IllegalArgumentException("Target holds " + capacity + " rows, needs " + rows);
+        }
+        long bytes = (long) rows * Integer.BYTES;
+        if (owner == source.owner && base != source.base
+                && base < source.base + bytes && source.base < base + bytes) {
+            throw new IllegalArgumentException("Target rows partly overlap the source rows");
+        }
+        if (invalid.length < ((long) rows + 63) >>> 6) {
+            throw new IndexOutOfBoundsException(
+                "Bitmap of " + invalid.length + " words cannot hold " + rows + " rows");
+        }
+        size = rows;
+        return m;
+    }
+
+    /**
+     * Frees direct buffers through {@code sun.misc.Unsafe#invokeCleaner} (JDK 9+), found
+     * by reflection. If it is unavailable the buffer is left to the garbage collector.
+     */
+    static final class Cleaner {
+
+        /** The cleaner for this JVM. */
+        static final Cleaner INSTANCE = find("sun.misc.Unsafe");
+
+        private final Object unsafe;
+        private final Method invokeCleaner;
+
+        private Cleaner(Object unsafe, Method invokeCleaner) {
+            this.unsafe = unsafe;
+            this.invokeCleaner = invokeCleaner;
+        }
+
+        /**
+         * Looks up {@code theUnsafe} and {@code invokeCleaner} on a class.
+         *
+         * @param unsafeClass the name of the Unsafe class
+         * @return a cleaner, which does nothing if the lookup failed
+         */
+        static Cleaner find(String unsafeClass) {
+            try {
+                Class<?> type = Class.forName(unsafeClass);
+                Field field = type.getDeclaredField("theUnsafe");
+                field.setAccessible(true);
+                return new Cleaner(field.get(null), type.getMethod("invokeCleaner", ByteBuffer.class));
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                // Fall back to garbage collection
+                return new Cleaner(null, null);
+            }
+        }
+
+        /**
+         * Tells whether {@link #free} releases memory at once.
+         *
+         * @return false if buffers are left to the garbage collector
+         */
+        boolean isAvailable() {
+            return invokeCleaner != null;
+        }
+
+        /**
+         * Frees a direct buffer now, or leaves it to the garbage collector if this
+         * cleaner is unavailable or the buffer cannot be freed.
+         *
+         * @param buffer the buffer; it must not be used afterwards
+         */
+        void free(ByteBuffer buffer) {
+            if (invokeCleaner == null) {
+                return;
+            }
+            try {
+                invokeCleaner.invoke(unsafe, buffer);
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                // Fall back to garbage collection
+            }
+        }
+    }
+}
@@ -0,0 +1,243 @@
+package edu.seds514.nextdate;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Compact primitive encodings for dates, so callers can keep dates in int arrays
+ * without ever materializing a String.
+ *
+ * Two encodings are supported:
+ * - packed: a single int {@code year * 10000 + month * 100 + day} (e.g. 20240229),
+ *   which sorts in date order and reads naturally when printed
+ * - ordinal / epoch day: a dense day count; ordinal 0 is 01/01/1812, epoch day 0
+ *   is 01/01/1970 (same as {@code java.time.LocalDate#toEpochDay()})
+ *
+ * Conversions are closed-form and do not validate; pass only valid dates with
+ * years from 0 to 214748 so the packed value fits in an int. Formatting writes the
+ * "MM/DD/YYYY" text produced by {@link NextDate#getNextDate(int, int, int)}: the
+ * year has at least four digits, zero-padded, and years from 10000 take five or six
+ * characters (see {@link #formattedLength(int)}).
+ */
+public final class PackedDate {
+
+    /** Epoch day of 01/01/1812, the date with ordinal 0. */
+    public static final long EPOCH_DAY_OF_FIRST_ORDINAL = -57709L;
+
+    /** Days in a 400-year Gregorian cycle. */
+    private static final int DAYS_PER_CYCLE = 146097;
+
+    /** Days from 03/01/0000 to 01/01/1970. */
+    private static final int DAYS_0000_TO_1970 = 719468;
+
+    private PackedDate() {
+    }
+
+    /**
+     * Packs a date into a single int.
+     *
+     * @param month the month (1-12)
+     * @param day the day (1-31 depending on month)
+     * @param year the year
+     * @return {@code year * 10000 + month * 100 + day}
+     */
+    public static int pack(int month, int day, int year) {
+        return year * 10000 + month * 100 + day;
+    }
+
+    /**
+     * Gets the month of a packed date.
+     *
+     * @param packed the packed date
+     * @return the month (1-12)
+     */
+    public static int month(int packed) {
+        return packed / 100 % 100;
+    }
+
+    /**
+     * Gets the day of a packed date.
+     *
+     * @param packed the packed date
+     * @return the day of month (1-31)
+     */
+    public static int day(int packed) {
+        return packed % 100;
+    }
+
+    /**
+     * Gets the year of a packed date.
+     *
+     * @param packed the packed date
+     * @return the year
+     */
+    public static int year(int packed) {
+        return packed / 10000;
+    }
+
+    /**
+     * Converts a packed date to an epoch day.
+     *
+     * @param packed the packed date
+     * @return days since 01/01/1970 (negative before it)
+     */
+    public static long toEpochDay(int packed) {
+        return toEpochDay(month(packed), day(packed), year(packed));
+    }
+
+    /**
+     * Converts a date to an epoch day using 400-year-cycle arithmetic on a calendar
+     * that starts in March, so the leap day falls at the end of each year.
+     *
+     * @param month the month (1-12)
+     * @param day the day (1-31 depending on month)
+     * @param year the year
+     * @return days since 01/01/1970 (negative before it)
+     */
+    public static long toEpochDay(int month, int day, int year) {
+        long y = month <= 2 ? (long) year - 1 : year;
+        long cycle = Math.floorDiv(y, 400);
+        long yearOfCycle = y - cycle * 400;
+        int dayOfYear = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+        long dayOfCycle = yearOfCycle * 365 + yearOfCycle / 4 - yearOfCycle / 100 + dayOfYear;
+        return cycle * DAYS_PER_CYCLE + dayOfCycle - DAYS_0000_TO_1970;
+    }
+
+    /**
+     * Converts an epoch day to a packed date.
+     *
+     * @param epochDay days since 01/01/1970
+     * @return the packed date
+     */
+    public static int fromEpochDay(long epochDay) {
+        long shifted = epochDay + DAYS_0000_TO_1970;
+        long cycle = Math.floorDiv(shifted, DAYS_PER_CYCLE);
+        int dayOfCycle = (int) (shifted - cycle * DAYS_PER_CYCLE);
+        int yearOfCycle = (dayOfCycle - dayOfCycle / 1460 + dayOfCycle / 36524 - dayOfCycle / 146096) / 365;
+        int dayOfYear = dayOfCycle - (365 * yearOfCycle + yearOfCycle / 4 - yearOfCycle / 100);
+        int monthIndex = (5 * dayOfYear + 2) / 153;
+        int day = dayOfYear - (153 * monthIndex + 2) / 5 + 1;
+        int month = monthIndex < 10 ? monthIndex + 3 : monthIndex - 9;
+        int year = (int) (cycle * 400) + yearOfCycle + (month <= 2 ? 1 : 0);
+        return pack(month, day, year);
+    }
+
+    /**
+     * Converts a packed date to a dense day ordinal.
+     *
+     * @param packed the packed date
+     * @return days since 01/01/1812
+     */
+    public static int toOrdinal(int packed) {
+        return (int) (toEpochDay(packed) - EPOCH_DAY_OF_FIRST_ORDINAL);
+    }
+
+    /**
+     * Converts a dense day ordinal to a packed date.
+     *
+     * @param ordinal days since 01/01/1812
+     * @return the packed date
+     */
+    public static int fromOrdinal(int ordinal) {
+        return fromEpochDay(ordinal + EPOCH_DAY_OF_FIRST_ORDINAL);
+    }
+
+    /**
+     * Gets the length of a packed date formatted as "MM/DD/YYYY".
+     *
+     * @param date the packed date
+     * @return {@link NextDate#FORMATTED_LENGTH} (10) for years up to 9999, else 11 or 12
+     */
+    public static int formattedLength(int date) {
+        int year = year(date);
+        return year < 10000 ? NextDate.FORMATTED_LENGTH : year < 100000 ? 11 : 12;
+    }
+
+    /**
+     * Gets the place value of the first digit of a formatted year.
+     *
+     * @param year a year from 0 to 214748
+     * @return 1000 for years up to 9999 (zero-padded to four digits), else 10000 or 100000
+     */
+    static int yearDivisor(int year) {
+        return year < 10000 ? 1000 : year < 100000 ? 10000 : 100000;
+    }
+
+    /**
+     * Formats a packed date as "MM/DD/YYYY".
+     *
+     * @param date the packed date
+     * @return the formatted date
+     */
+    public static String format(int date) {
+        char[] buffer = new char[formattedLength(date)];
+        format(date, buffer, 0);
+        return new String(buffer);
+    }
+
+    /**
+     * Writes a packed date as "MM/DD/YYYY" into a char array.
+     *
+     * @param date the packed date
+     * @param dst the destination array
+     * @param offset the index of the first character to write
+     * @throws ArrayIndexOutOfBoundsException if the text does not fit
+     */
+    public static void format(int date, char[] dst, int offset) {
+        int year = year(date);
+        int month = month(date);
+        int day = day(date);
+        dst[offset] = (char) ('0' + month / 10);
+        dst[offset + 1] = (char) ('0' + month % 10);
+        dst[offset + 2] = '/';
+        dst[offset + 3] = (char) ('0' + day / 10);
+        dst[offset + 4] = (char) ('0' + day % 10);
+        dst[offset + 5] = '/';
+        for (int i = offset + formattedLength(date) - 1; i > offset + 5; i--) {
+            dst[i] = (char) ('0' + year % 10);
+            year /= 10;
+        }
+    }
+
+    /**
+     * Writes a packed date as ASCII "MM/DD/YYYY" into a byte array.
+     *
+     * @param date the packed date
+     * @param dst the destination array
+     * @param offset the index of the first byte to write
+     * @throws ArrayIndexOutOfBoundsException if the text does not fit
+     */
+    public static void format(int date, byte[] dst, int offset) {
+        int year = year(date);
+        int month = month(date);
+        int day = day(date);
+        dst[offset] = (byte) ('0' + month / 10);
+        dst[offset + 1] = (byte) ('0' + month % 10);
+        dst[offset + 2] = '/';
+        dst[offset + 3] = (byte) ('0' + day / 10);
+        dst[offset + 4] = (byte) ('0' + day % 10);
+        dst[offset + 5] = '/';
+        for (int i = offset + formattedLength(date) - 1; i > offset + 5; i--) {
+            dst[i] = (byte) ('0' + year % 10);
+            year /= 10;
+        }
+    }
+
+    /**
+     * Puts a packed date as ASCII "MM/DD/YYYY" into a ByteBuffer at its current
+     * position, advancing the position.
+     *
+     * @param date the packed date
+     * @param dst the destination buffer
+     * @throws java.nio.BufferOverflowException if the text does not fit
+     */
+    public static void format(int date, ByteBuffer dst) {
+        int year = year(date);
+        int month = month(date);
+        int day = day(date);
+        dst.put((byte) ('0' + month / 10)).put((byte) ('0' + month % 10)).put((byte) '/')
+           .put((byte) ('0' + day / 10)).put((byte) ('0' + day % 10)).put((byte) '/');
+        for (int place = yearDivisor(year); place > 0; place /= 10) {
+            dst.put((byte) ('0' + year / place % 10));
+        }
+    }
+}
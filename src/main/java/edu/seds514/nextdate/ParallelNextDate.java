@@ -0,0 +1,230 @@
+package edu.seds514.nextdate;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Parallel batch processor for very large date columns.
+ *
+ * Splits a batch into chunks that run the same kernels as
+ * {@link NextDate#nextDates(int[], int, int, int[], long[])} on a {@link ForkJoinPool},
+ * so results are identical to the sequential path. Chunk sizes adapt to the batch
+ * length and pool parallelism, and every chunk boundary falls on a multiple of 64 rows
+ * from the batch offset. Each task therefore owns whole words of the invalid-row bitmap
+ * and whole 256-byte spans of the int columns, so tasks never share a cache line except
+ * at chunk edges.
+ *
+ * Like {@link NextDate}, a processor accepts years 1812-2100 unless constructed with
+ * another range.
+ */
+public final class ParallelNextDate {
+
+    /** Smallest chunk handed to a task, in rows; below this, forking costs more than it saves. */
+    static final int MIN_CHUNK = 1 << 14;
+
+    /** Target number of chunks per worker, so idle workers can steal from busy ones. */
+    private static final int CHUNKS_PER_WORKER = 4;
+
+    private final ForkJoinPool pool;
+    private final int minYear;
+    private final int maxYear;
+
+    /**
+     * Creates a processor for years 1812-2100 that runs on the common pool.
+     */
+    public ParallelNextDate() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates a processor for years 1812-2100 that runs on a given pool.
+     *
+     * @param pool the pool to run tasks on
+     */
+    public ParallelNextDate(ForkJoinPool pool) {
+        this(pool, CalendarData.MIN_YEAR, CalendarData.MAX_YEAR);
+    }
+
+    /**
+     * Creates a processor for a range of years that runs on a given pool.
+     *
+     * @param pool the pool to run tasks on
+     * @param minYear the smallest valid year, at least {@link NextDate#MIN_SUPPORTED_YEAR}
+     * @param maxYear the largest valid year, at most {@link NextDate#MAX_SUPPORTED_YEAR}
+     * @throws IllegalArgumentException if the pool is null or the range is empty or not supported
+     */
+    public ParallelNextDate(ForkJoinPool pool, int minYear, int maxYear) {
+        if (pool == null) {
+            throw new IllegalArgumentException("Pool must not be null");
+        }
+        NextDate.checkRange(minYear, maxYear);
+        this.pool = pool;
+        this.minYear = minYear;
+        this.maxYear = maxYear;
+    }
+
+    /**
+     * Calculates the next date for every row of parallel month/day/year columns in parallel.
+     * Arguments and results are the same as for
+     * {@link NextDate#nextDates(int[], int[], int[], int, int, int[], int[], int[], long[])}.
+     *
+     * @param months the input months
+     * @param days the input days
+     * @param years the input years
+     * @param offset the first row to process
+     * @param length the number of rows to process
+     * @param nextMonths receives the next months
+     * @param nextDays receives the next days
+     * @param nextYears receives the next years
+     * @param invalid receives one bit per processed row, set when the row is invalid
+     * @return the number of invalid rows
+     * @throws IndexOutOfBoundsException if a column or the bitmap is too short
+     */
+    public int nextDates(int[] months, int[] days, int[] years, int offset, int length,
+                         int[] nextMonths, int[] nextDays, int[] nextYears, long[] invalid) {
+        NextDate.checkBatch(months.length, offset, length, invalid);
+        NextDate.checkBatch(days.length, offset, length, invalid);
+        NextDate.checkBatch(years.length, offset, length, invalid);
+        NextDate.checkBatch(nextMonths.length, offset, length, invalid);
+        NextDate.checkBatch(nextDays.length, offset, length, invalid);
+        NextDate.checkBatch(nextYears.length, offset, length, invalid);
+        BatchTask task = new BatchTask(null, months, days, years, null, nextMonths, nextDays, nextYears,
+            invalid, offset, offset, offset + length, chunkSize(length), minYear, maxYear);
+        return run(task, length);
+    }
+
+    /**
+     * Calculates the next date for every row of a packed column in parallel.
+     * Arguments and results are the same as for
+     * {@link NextDate#nextDates(int[], int, int, int[], long[])}.
+     *
+     * @param dates the input packed dates
+     * @param offset the first row to process
+     * @param length the number of rows to process
+     * @param nextDates receives the next packed dates (may be {@code dates} itself)
+     * @param invalid receives one bit per processed row, set when the row is invalid
+     * @return the number of invalid rows
+     * @throws IndexOutOfBoundsException if a column or the bitmap is too short
+     */
+    public int nextDates(int[] dates, int offset, int length, int[] nextDates, long[] invalid) {
+        NextDate.checkBatch(dates.length, offset, length, invalid);
+        NextDate.checkBatch(nextDates.length, offset, length, invalid);
+        BatchTask task = new BatchTask(dates, null, null, null, nextDates, null, null, null,
+            invalid, offset, offset, offset + length, chunkSize(length), minYear, maxYear);
+        return run(task, length);
+    }
+
+    /**
+     * Gets the pool this processor runs on.
+     *
+     * @return the pool
+     */
+    public ForkJoinPool getPool() {
+        return pool;
+    }
+
+    /**
+     * Gets the smallest valid year.
+     *
+     * @return the first year of this processor's range
+     */
+    public int getMinYear() {
+        return minYear;
+    }
+
+    /**
+     * Gets the largest valid year.
+     *
+     * @return the last year of this processor's range
+     */
+    public int getMaxYear() {
+        return maxYear;
+    }
+
+    /**
+     * Picks a chunk size that gives each worker a few chunks to balance load,
+     * rounded up to a multiple of 64 rows and never below {@link #MIN_CHUNK}.
+     */
+    int chunkSize(int length) {
+        long target = (long) length / ((long) pool.getParallelism() * CHUNKS_PER_WORKER);
+        long rounded = (target + 63) & ~63L;
+        return (int) Math.min(Integer.MAX_VALUE & ~63, Math.max(MIN_CHUNK, rounded));
+    }
+
+    private int run(BatchTask task, int length) {
+        NextDateBatchEvent event = NextDate.beginBatchEvent();
+        // Small batches are not worth a trip through the pool
+        boolean parallel = task.to - task.from > task.chunk;
+        int invalidCount = parallel ? pool.invoke(task) : task.compute();
+        NextDate.commitBatchEvent(event, length, invalidCount, parallel);
+        return invalidCount;
+    }
+
+    /**
+     * Splits a row range in halves on 64-row boundaries until it fits one chunk,
+     * then runs the sequential kernel on it.
+     */
+    private static final class BatchTask extends RecursiveTask<Integer> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int[] dates;
+        private final int[] months;
+        private final int[] days;
+        private final int[] years;
+        private final int[] nextDates;
+        private final int[] nextMonths;
+        private final int[] nextDays;
+        private final int[] nextYears;
+        private final long[] invalid;
+        private final int bitBase;
+        private final int from;
+        private final int to;
+        private final int chunk;
+        private final int minYear;
+        private final int maxYear;
+
+        BatchTask(int[] dates, int[] months, int[] days, int[] years,
+                  int[] nextDates, int[] nextMonths, int[] nextDays, int[] nextYears,
+                  long[] invalid, int bitBase, int from, int to, int chunk, int minYear, int maxYear) {
+            this.dates = dates;
+            this.months = months;
+            this.days = days;
+            this.years = years;
+            this.nextDates = nextDates;
+            this.nextMonths = nextMonths;
+            this.nextDays = nextDays;
+            this.nextYears = nextYears;
+            this.invalid = invalid;
+            this.bitBase = bitBase;
+            this.from = from;
+            this.to = to;
+            this.chunk = chunk;
+            this.minYear = minYear;
+            this.maxYear = maxYear;
+        }
+
+        @Override
+        protected Integer compute() {
+            if (to - from <= chunk) {
+                if (dates != null) {
+                    return NextDate.nextDatesKernel(dates, from, to, nextDates, invalid, bitBase,
+                        minYear, maxYear);
+                }
+                return NextDate.nextDatesKernel(months, days, years, from, to,
+                    nextMonths, nextDays, nextYears, invalid, bitBase, minYear, maxYear);
+            }
+            int mid = from + (((to - from) >>> 1) & ~63);
+            BatchTask left = split(from, mid);
+            BatchTask right = split(mid, to);
+            right.fork();
+            int leftInvalid = left.compute();
+            return leftInvalid + right.join();
+        }
+
+        private BatchTask split(int newFrom, int newTo) {
+            return new BatchTask(dates, months, days, years, nextDates, nextMonths, nextDays, nextYears,
+                invalid, bitBase, newFrom, newTo, chunk, minYear, maxYear);
+        }
+    }
+}
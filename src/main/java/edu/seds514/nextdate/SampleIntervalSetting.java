@@ -0,0 +1,92 @@
+package edu.seds514.nextdate;
+
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.MetadataDefinition;
+import jdk.jfr.Name;
+import jdk.jfr.SettingControl;
+
+/**
+ * JFR setting that keeps about one event in N, for events too frequent to record in full.
+ *
+ * The value is a positive integer N; "1" keeps every event. Sampling is random per
+ * event (no shared counter), so threads never contend on it. When several recordings
+ * ask for different intervals, the smallest wins.
+ */
+@MetadataDefinition
+@Name("edu.seds514.nextdate.SampleInterval")
+@Label("Sample Interval")
+@Description("Record about one event in N")
+public final class SampleIntervalSetting extends SettingControl {
+
+    /** Interval used when no recording sets one. */
+    static final int DEFAULT_INTERVAL = 1024;
+
+    private volatile int interval = DEFAULT_INTERVAL;
+
+    /**
+     * Picks the most detailed interval requested by active recordings.
+     *
+     * @param values the intervals requested
+     * @return the smallest valid interval, or the default if none is valid
+     */
+    @Override
+    public String combine(Set<String> values) {
+        int smallest = Integer.MAX_VALUE;
+        for (String value : values) {
+            smallest = Math.min(smallest, parse(value));
+        }
+        return Integer.toString(smallest == Integer.MAX_VALUE ? DEFAULT_INTERVAL : smallest);
+    }
+
+    /**
+     * Sets the interval.
+     *
+     * @param value a positive integer; anything else selects the default
+     */
+    @Override
+    public void setValue(String value) {
+        int parsed = parse(value);
+        interval = parsed == Integer.MAX_VALUE ? DEFAULT_INTERVAL : parsed;
+    }
+
+    /**
+     * Gets the interval.
+     *
+     * @return the current interval as a string
+     */
+    @Override
+    public String getValue() {
+        return Integer.toString(interval);
+    }
+
+    /**
+     * Decides whether the current event is kept.
+     *
+     * @return true for about one call in {@code interval}
+     */
+    boolean sample() {
+        int n = interval;
+        return n == 1 || ThreadLocalRandom.current().nextInt(n) == 0;
+    }
+
+    /**
+     * Parses an interval.
+     *
+     * @return the interval, or {@link Integer#MAX_VALUE} if the value is not a positive integer
+     */
+    private static int parse(String value) {
+        // Some JDKs pass null after a failed combine
+        if (value == null) {
+            return Integer.MAX_VALUE;
+        }
+        try {
+            int n = Integer.parseInt(value.trim());
+            return n > 0 ? n : Integer.MAX_VALUE;
+        } catch (NumberFormatException e) {
+            return Integer.MAX_VALUE;
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package edu.seds514.nextdate;
+
+/**
+ * Column batch API backed by a SIMD kernel when the JVM supports it.
+ *
+ * The SIMD kernel ({@code VectorNextDateKernel}) uses the incubating
+ * {@code jdk.incubator.vector} API and lives in {@code src/main/java17}, compiled only
+ * by the {@code jdk17} build profile so the Java 11 baseline still builds. It processes
+ * whole vectors of (month, day, year) lanes with compare masks and blends instead of
+ * branches, and finishes each 64-row block's tail with the scalar kernel.
+ *
+ * The kernel is loaded by reflection on first use. On JVMs older than 17, without
+ * {@code --add-modules jdk.incubator.vector}, or with {@code -Dnextdate.vector=false},
+ * loading fails quietly and the scalar kernel of
+ * {@link NextDate#nextDates(int[], int[], int[], int, int, int[], int[], int[], long[])}
+ * is used instead. Results are identical either way.
+ *
+ * The SIMD kernel hard-codes the 1812-2100 bounds and that range's century years, so
+ * a processor constructed with another range always uses the scalar kernel for it.
+ */
+public final class VectorizedNextDate {
+
+    /** System property that disables the SIMD kernel when set to "false". */
+    public static final String ENABLED_PROPERTY = "nextdate.vector";
+
+    private static final String KERNEL_CLASS = "edu.seds514.nextdate.VectorNextDateKernel";
+
+    private final ColumnKernel kernel;
+    private final boolean vectorized;
+    private final int minYear;
+    private final int maxYear;
+
+    /**
+     * Creates a processor for years 1812-2100, loading the SIMD kernel if it is available.
+     */
+    public VectorizedNextDate() {
+        this(CalendarData.MIN_YEAR, CalendarData.MAX_YEAR);
+    }
+
+    /**
+     * Creates a processor for a range of years. The SIMD kernel is loaded only for
+     * 1812-2100.
+     *
+     * @param minYear the smallest valid year, at least {@link NextDate#MIN_SUPPORTED_YEAR}
+     * @param maxYear the largest valid year, at most {@link NextDate#MAX_SUPPORTED_YEAR}
+     * @throws IllegalArgumentException if the range is empty or not supported
+     */
+    public VectorizedNextDate(int minYear, int maxYear) {
+        NextDate.checkRange(minYear, maxYear);
+        ColumnKernel simd = NextDate.isDefaultRange(minYear, maxYear)
+            && Boolean.parseBoolean(System.getProperty(ENABLED_PROPERTY, "true")) ? load(KERNEL_CLASS) : null;
+        this.vectorized = simd != null;
+        this.kernel = simd != null ? simd : (months, days, years, from, to, nextMonths, nextDays, nextYears,
+            invalid, bitBase) -> NextDate.nextDatesKernel(months, days, years, from, to,
+                nextMonths, nextDays, nextYears, invalid, bitBase, minYear, maxYear);
+        this.minYear = minYear;
+        this.maxYear = maxYear;
+    }
+
+    /**
+     * Tells whether the SIMD kernel is in use.
+     *
+     * @return true if batches run on the Vector API, false for the scalar fallback
+     */
+    public boolean isVectorized() {
+        return vectorized;
+    }
+
+    /**
+     * Gets the smallest valid year.
+     *
+     * @return the first year of this processor's range
+     */
+    public int getMinYear() {
+        return minYear;
+    }
+
+    /**
+     * Gets the largest valid year.
+     *
+     * @return the last year of this processor's range
+     */
+    public int getMaxYear() {
+        return maxYear;
+    }
+
+    /**
+     * Calculates the next date for every row of parallel month/day/year columns.
+     * Arguments and results are the same as for
+     * {@link NextDate#nextDates(int[], int[], int[], int, int, int[], int[], int[], long[])}.
+     *
+     * @param months the input months
+     * @param days the input days
+     * @param years the input years
+     * @param offset the first row to process
+     * @param length the number of rows to process
+     * @param nextMonths receives the next months
+     * @param nextDays receives the next days
+     * @param nextYears receives the next years
+     * @param invalid receives one bit per processed row, set when the row is invalid
+     * @return the number of invalid rows
+     * @throws IndexOutOfBoundsException if a column or the bitmap is too short
+     */
+    public int nextDates(int[] months, int[] days, int[] years, int offset, int length,
+                         int[] nextMonths, int[] nextDays, int[] nextYears, long[] invalid) {
+        NextDate.checkBatch(months.length, offset, length, invalid);
+        NextDate.checkBatch(days.length, offset, length, invalid);
+        NextDate.checkBatch(years.length, offset, length, invalid);
+        NextDate.checkBatch(nextMonths.length, offset, length, invalid);
+        NextDate.checkBatch(nextDays.length, offset, length, invalid);
+        NextDate.checkBatch(nextYears.length, offset, length, invalid);
+        NextDateBatchEvent event = NextDate.beginBatchEvent();
+        int invalidCount = kernel.nextDates(months, days, years, offset, offset + length,
+            nextMonths, nextDays, nextYears, invalid, offset);
+        NextDate.commitBatchEvent(event, length, invalidCount, false);
+        return invalidCount;
+    }
+
+    /**
+     * Loads the SIMD kernel.
+     *
+     * @param className the kernel class
+     * @return the kernel, or null if this JVM cannot run it
+     */
+    static ColumnKernel load(String className) {
+        try {
+            return (ColumnKernel) Class.forName(className).getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError | RuntimeException e) {
+            // Not compiled (pre-17 build), too new a class file, or module not added
+            return null;
+        }
+    }
+}
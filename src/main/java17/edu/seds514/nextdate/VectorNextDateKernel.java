@@ -0,0 +1,80 @@
+package edu.seds514.nextdate;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * SIMD next-date kernel on the incubating Vector API, loaded by {@link VectorizedNextDate}.
+ *
+ * Each step loads one vector of months, days and years and evaluates the same rules as
+ * {@link NextDate#nextDateOrZero} on every lane at once: comparisons become lane masks
+ * and every "if" becomes a blend, so mixed inputs cost no mispredicted branches.
+ * Rows are processed in 64-row blocks so each bitmap word is written once; the rows of
+ * a block that do not fill a whole vector go through the scalar code.
+ */
+final class VectorNextDateKernel implements ColumnKernel {
+
+    private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+
+    private static final int LANES = SPECIES.length();
+
+    /** Lane mask for {@code LANES} bits, as returned by {@link VectorMask#toLong()}. */
+    private static final long LANE_BITS = LANES == 64 ? -1L : (1L << LANES) - 1;
+
+    @Override
+    public int nextDates(int[] months, int[] days, int[] years, int from, int to,
+                         int[] nextMonths, int[] nextDays, int[] nextYears, long[] invalid, int bitBase) {
+        IntVector zero = IntVector.zero(SPECIES);
+        IntVector one = IntVector.broadcast(SPECIES, 1);
+        int invalidCount = 0;
+        for (int block = from; block < to; block += 64) {
+            int end = Math.min(block + 64, to);
+            long bits = 0;
+            int i = block;
+            for (; i + LANES <= end; i += LANES) {
+                IntVector m = IntVector.fromArray(SPECIES, months, i);
+                IntVector d = IntVector.fromArray(SPECIES, days, i);
+                IntVector y = IntVector.fromArray(SPECIES, years, i);
+
+                // Within 1812-2100 the only century years are 1900, 2000 and 2100,
+                // and of those only 2000 is a leap year
+                VectorMask<Integer> leap = y.and(3).eq(0)
+                    .and(y.compare(VectorOperators.NE, 1900))
+                    .and(y.compare(VectorOperators.NE, 2100));
+                // 30 + 1 for Jan, Mar, May, Jul, Aug, Oct, Dec; February blended in
+                IntVector daysInMonth = m.add(m.lanewise(VectorOperators.ASHR, 3)).and(1).add(30)
+                    .blend(IntVector.broadcast(SPECIES, 28).blend(29, leap), m.eq(2));
+
+                VectorMask<Integer> valid = y.compare(VectorOperators.GE, 1812)
+                    .and(y.compare(VectorOperators.LE, 2100))
+                    .and(m.compare(VectorOperators.GE, 1))
+                    .and(m.compare(VectorOperators.LE, 12))
+                    .and(d.compare(VectorOperators.GE, 1))
+                    .and(d.compare(VectorOperators.LE, daysInMonth));
+                VectorMask<Integer> lastDay = d.eq(daysInMonth);
+                VectorMask<Integer> lastMonth = lastDay.and(m.eq(12));
+
+                IntVector nextDay = d.add(one).blend(one, lastDay);
+                IntVector nextMonth = m.add(one, lastDay).blend(one, lastMonth);
+                IntVector nextYear = y.add(one, lastMonth);
+
+                nextDay.blend(zero, valid.not()).intoArray(nextDays, i);
+                nextMonth.blend(zero, valid.not()).intoArray(nextMonths, i);
+                nextYear.blend(zero, valid.not()).intoArray(nextYears, i);
+                bits |= (~valid.toLong() & LANE_BITS) << (i - block);
+            }
+            for (; i < end; i++) {
+                int next = NextDate.nextDateOrZero(months[i], days[i], years[i]);
+                nextMonths[i] = PackedDate.month(next);
+                nextDays[i] = PackedDate.day(next);
+                nextYears[i] = PackedDate.year(next);
+                bits |= (next == 0 ? 1L : 0L) << (i - block);
+            }
+            invalid[(block - bitBase) >>> 6] = bits;
+            invalidCount += Long.bitCount(bits);
+        }
+        return invalidCount;
+    }
+}
@@ -0,0 +1,303 @@
+package edu.seds514.nextdate;
+
+import org.junit.After;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Micro-Batching Async API Testing
+ *
+ * Tests that coalesced calls give the same results and exceptions as direct calls,
+ * and that batches flush on size and on the deadline.
+ */
+public class AsyncNextDateTest {
+
+    private AsyncNextDate async;
+
+    @After
+    public void tearDown() {
+        if (async != null) {
+            async.close();
+        }
+    }
+
+    /**
+     * Test: Many concurrent callers with valid and invalid dates
+     * Expected: Every future matches nextDate, or fails with its exception message
+     */
+    @Test
+    public void testConcurrentCallers_MatchNextDate() throws Exception {
+        async = new AsyncNextDate(64, 1, TimeUnit.MILLISECONDS);
+        NextDate nextDate = new NextDate();
+        int threads = 8;
+        int perThread = 2000;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> callers = new ArrayList<>();
+        List<List<CompletableFuture<Integer>>> futures = new ArrayList<>();
+        List<int[]> inputs = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            Random random = new Random(t);
+            int[] dates = new int[perThread];
+            for (int i = 0; i < perThread; i++) {
+                dates[i] = PackedDate.pack(1 + random.nextInt(13), 1 + random.nextInt(31), 1810 + random.nextInt(295));
+            }
+            List<CompletableFuture<Integer>> results = new ArrayList<>();
+            inputs.add(dates);
+            futures.add(results);
+            Thread caller = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int date : dates) {
+                    results.add(async.nextDate(date));
+                }
+            });
+            caller.start();
+            callers.add(caller);
+        }
+        start.countDown();
+        for (Thread caller : callers) {
+            caller.join();
+        }
+
+        for (int t = 0; t < threads; t++) {
+            for (int i = 0; i < perThread; i++) {
+                int date = inputs.get(t)[i];
+                CompletableFuture<Integer> future = futures.get(t).get(i);
+                try {
+                    int expected = nextDate.nextDate(date);
+                    assertEquals(expected, (int) future.get(10, TimeUnit.SECONDS));
+                } catch (IllegalArgumentException expected) {
+                    try {
+                        future.get(10, TimeUnit.SECONDS);
+                        fail("Expected failure for " + date);
+                    } catch (ExecutionException e) {
+                        assertTrue(e.getCause() instanceof IllegalArgumentException);
+                        assertEquals(expected.getMessage(), e.getCause().getMessage());
+                    }
+                }
+            }
+        }
+        assertEquals(threads * perThread, async.getRequestCount());
+        assertTrue(async.getLargestBatchSize() <= 64);
+        long histogramTotal = 0;
+        for (long count : async.getBatchSizeHistogram()) {
+            histogramTotal += count;
+        }
+        assertEquals(async.getBatchCount(), histogramTotal);
+    }
+
+    /**
+     * Test: A lone request
+     * Expected: Completes after the deadline in a batch of one
+     */
+    @Test
+    public void testDeadlineFlush() throws Exception {
+        async = new AsyncNextDate(1024, 1, TimeUnit.MILLISECONDS);
+        assertEquals("01/01/2101", async.getNextDate(12, 31, 2100).get(10, TimeUnit.SECONDS));
+        assertEquals(1, async.getBatchCount());
+        assertEquals(1, async.getLargestBatchSize());
+        assertEquals(1, async.getBatchSizeHistogram()[0]);
+    }
+
+    /**
+     * Test: Six batches' worth of requests with a long deadline
+     * Expected: Batches flush as soon as they reach the maximum size
+     */
+    @Test
+    public void testSizeFlush() throws Exception {
+        async = new AsyncNextDate(16, 1, TimeUnit.SECONDS);
+        List<CompletableFuture<Integer>> futures = new ArrayList<>();
+        for (int i = 0; i < 96; i++) {
+            futures.add(async.nextDate(20000228));
+        }
+        for (CompletableFuture<Integer> future : futures) {
+            assertEquals(20000229, (int) future.get(10, TimeUnit.SECONDS));
+        }
+        assertEquals(16, async.getLargestBatchSize());
+        assertTrue(async.getAverageBatchSize() > 1);
+    }
+
+    /**
+     * Test: Close with requests still waiting for the deadline
+     * Expected: Waiting requests complete; new requests are rejected
+     */
+    @Test
+    public void testClose_CompletesPending() throws Exception {
+        async = new AsyncNextDate(1024, 10, TimeUnit.SECONDS);
+        CompletableFuture<Integer> pending = async.nextDate(2, 29, 2000);
+        async.close();
+        assertEquals(20000301, (int) pending.get(10, TimeUnit.SECONDS));
+        assertEquals(0, async.getQueueDepth());
+        try {
+            async.nextDate(20000101);
+            fail("Expected IllegalStateException");
+        } catch (IllegalStateException expected) {
+            // closed
+        }
+    }
+
+    /**
+     * Test: Fields that would pack into another date
+     * Input: 6/115/2000
+     * Expected: Future fails with the same message as getNextDate
+     */
+    @Test
+    public void testInvalidFields_FailFuture() throws Exception {
+        async = new AsyncNextDate();
+        try {
+            async.getNextDate(6, 115, 2000).get(10, TimeUnit.SECONDS);
+            fail("Expected ExecutionException");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof IllegalArgumentException);
+            assertEquals("Day must be between 1 and 31", e.getCause().getMessage());
+        }
+        assertEquals(0, async.getRequestCount());
+    }
+
+    /**
+     * Test: Bad settings
+     * Expected: Should throw IllegalArgumentException
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidBatchSize() {
+        new AsyncNextDate(0, 1, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Test: Negative deadline
+     * Expected: Should throw IllegalArgumentException
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeDelay() {
+        new AsyncNextDate(1, -1, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Test: Facade for 2000-2200
+     * Input: 12/31/2150 packed and as fields, 06/15/1999 as fields, 01/01/1999 packed
+     * Expected: 2150 rolls over; both 1999 dates fail with the range's message
+     */
+    @Test
+    public void testCustomRange() throws Exception {
+        async = new AsyncNextDate(2000, 2200, 1, 0, TimeUnit.MILLISECONDS);
+        assertEquals(21510101, (int) async.nextDate(21501231).get(10, TimeUnit.SECONDS));
+        assertEquals("01/01/2151", async.getNextDate(12, 31, 2150).get(10, TimeUnit.SECONDS));
+        for (CompletableFuture<?> future : List.of(async.getNextDate(6, 15, 1999), async.nextDate(19990101))) {
+            try {
+                future.get(10, TimeUnit.SECONDS);
+                fail("Expected ExecutionException");
+            } catch (ExecutionException e) {
+                assertTrue(e.getCause() instanceof IllegalArgumentException);
+                assertEquals("Year must be between 2000 and 2200", e.getCause().getMessage());
+            }
+        }
+    }
+
+    /**
+     * Test: Empty year range
+     * Expected: Should throw IllegalArgumentException
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testEmptyRange() {
+        new AsyncNextDate(2000, 1999, 1, 1, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Test: Invalid packed dates, one per batch
+     * Input: 02/30/2000, 13/01/2000, 01/01/2101
+     * Expected: Each future fails with the same message as nextDate
+     */
+    @Test
+    public void testInvalidPackedDates_FailFuture() throws Exception {
+        async = new AsyncNextDate(1, 0, TimeUnit.MILLISECONDS);
+        NextDate nextDate = new NextDate();
+        for (int date : new int[] {20000230, 20001301, 21010101}) {
+            String message = null;
+            try {
+                nextDate.nextDate(date);
+            } catch (IllegalArgumentException expected) {
+                message = expected.getMessage();
+            }
+            try {
+                async.nextDate(date).get(10, TimeUnit.SECONDS);
+                fail("Expected ExecutionException for " + date);
+            } catch (ExecutionException e) {
+                assertTrue(e.getCause() instanceof IllegalArgumentException);
+                assertEquals(message, e.getCause().getMessage());
+            }
+        }
+        assertEquals(3, async.getBatchCount());
+        assertEquals(1, async.getLargestBatchSize());
+    }
+
+    /**
+     * Test: Statistics before and after the first request
+     * Expected: Average batch size 0 and peak queue depth 0 at first; peak at least 1 afterwards
+     */
+    @Test
+    public void testStatistics() throws Exception {
+        async = new AsyncNextDate(8, 0, TimeUnit.MILLISECONDS);
+        assertEquals(0, async.getAverageBatchSize(), 0);
+        assertEquals(0, async.getPeakQueueDepth());
+        assertEquals(20000229, (int) async.nextDate(20000228).get(10, TimeUnit.SECONDS));
+        assertTrue(async.getPeakQueueDepth() >= 1);
+        assertEquals(1, async.getAverageBatchSize(), 0);
+    }
+
+    /**
+     * Test: Invalid fields after close
+     * Expected: IllegalStateException, as for valid fields
+     */
+    @Test(expected = IllegalStateException.class)
+    public void testClosed_InvalidFields() {
+        async = new AsyncNextDate();
+        async.close();
+        async.close();
+        async.nextDate(2, 30, 2000);
+    }
+
+    /**
+     * Test: Close called from an interrupted thread
+     * Expected: Close still waits for the flusher, then restores the interrupt flag
+     */
+    @Test
+    public void testClose_Interrupted() throws Exception {
+        async = new AsyncNextDate(1024, 10, TimeUnit.SECONDS);
+        CompletableFuture<Integer> pending = async.nextDate(20000228);
+        Thread.currentThread().interrupt();
+        async.close();
+        assertTrue(Thread.interrupted());
+        assertEquals(20000229, (int) pending.get(10, TimeUnit.SECONDS));
+    }
+
+    /**
+     * Test: Flusher thread interrupted while waiting for a batch to fill
+     * Expected: The waiting request completes without waiting out the 10 s deadline
+     */
+    @Test
+    public void testFlusherInterrupted() throws Exception {
+        async = new AsyncNextDate(1024, 10, TimeUnit.SECONDS);
+        CompletableFuture<Integer> pending = async.nextDate(20000228);
+        // The flusher holds the request and waits for the deadline
+        for (Thread thread : Thread.getAllStackTraces().keySet()) {
+            if (thread.getName().equals("nextdate-async-flusher")) {
+                while (thread.isAlive() && (async.getQueueDepth() > 0 || thread.getState() != Thread.State.TIMED_WAITING)) {
+                    Thread.sleep(1);
+                }
+                thread.interrupt();
+            }
+        }
+        assertEquals(20000229, (int) pending.get(10, TimeUnit.SECONDS));
+    }
+}
@@ -0,0 +1,209 @@
+package edu.seds514.nextdate;
+
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Business Calendar Testing
+ *
+ * Tests weekend and holiday handling and checks the rank/select arithmetic against
+ * a day-by-day walk with LocalDate.
+ */
+public class BusinessCalendarTest {
+
+    private static final Set<DayOfWeek> WEEKEND = EnumSet.of(DayOfWeek.FRIDAY, DayOfWeek.SATURDAY);
+
+    private Set<LocalDate> holidays;
+    private BusinessCalendar calendar;
+
+    @Before
+    public void setUp() {
+        Random random = new Random(20);
+        holidays = new HashSet<>();
+        int[] packed = new int[5000];
+        for (int i = 0; i < packed.length; i++) {
+            LocalDate holiday = LocalDate.of(1812, 1, 1).plusDays(random.nextInt(105_556));
+            holidays.add(holiday);
+            packed[i] = pack(holiday);
+        }
+        calendar = new BusinessCalendar(WEEKEND, packed);
+    }
+
+    private static int pack(LocalDate date) {
+        return PackedDate.pack(date.getMonthValue(), date.getDayOfMonth(), date.getYear());
+    }
+
+    private boolean isBusinessDay(LocalDate date) {
+        return !WEEKEND.contains(date.getDayOfWeek()) && !holidays.contains(date);
+    }
+
+    /**
+     * Test: Day of week and the default Saturday/Sunday weekend
+     * Input: 01/01/1812, Friday 07/04/2025, Saturday 07/05/2025, holiday 07/04/2025
+     * Expected: Wednesday; Friday is a business day unless it is a holiday; Saturday is not
+     */
+    @Test
+    public void testDefaultWeekendAndHoliday() {
+        BusinessCalendar plain = new BusinessCalendar();
+        assertEquals(DayOfWeek.WEDNESDAY, plain.getDayOfWeek(18120101));
+        assertTrue(plain.isBusinessDay(20250704));
+        assertFalse(plain.isBusinessDay(20250705));
+        assertEquals(20250707, plain.nextBusinessDate(20250704));
+
+        BusinessCalendar july4 = new BusinessCalendar(20250704, 20250705);
+        assertFalse(july4.isBusinessDay(20250704));
+        assertEquals(1, july4.getHolidayCount());
+        assertEquals(20250707, july4.nextBusinessDate(20250703));
+        assertEquals(20250703, july4.plusBusinessDays(20250707, -1));
+        assertEquals("07/07/2025", july4.getNextBusinessDate(7, 3, 2025));
+    }
+
+    /**
+     * Test: Every date against a day-by-day walk
+     * Expected: isBusinessDay and nextBusinessDate agree with LocalDate; running count matches businessDaysBetween
+     */
+    @Test
+    public void testEveryDate_MatchesWalk() {
+        LocalDate last = LocalDate.of(2100, 12, 31);
+        // businessDaysBetween excludes its end date
+        int lastCounted = isBusinessDay(last) ? 1 : 0;
+        LocalDate next = null;
+        int count = 0;
+        for (LocalDate date = last; !date.isBefore(LocalDate.of(1812, 1, 1));
+                date = date.minusDays(1)) {
+            int packed = pack(date);
+            assertEquals(date.toString(), isBusinessDay(date), calendar.isBusinessDay(packed));
+            if (next != null) {
+                assertEquals(date.toString(), pack(next), calendar.nextBusinessDate(packed));
+            }
+            if (isBusinessDay(date)) {
+                next = date;
+                count++;
+            }
+            assertEquals(count, calendar.businessDaysBetween(packed, 21001231) + lastCounted);
+        }
+        assertEquals(count, calendar.getBusinessDayCount());
+    }
+
+    /**
+     * Test: Random plusBusinessDays and businessDaysBetween
+     * Expected: Same results as stepping one business day at a time; the two are inverses
+     */
+    @Test
+    public void testPlusBusinessDays_MatchesWalk() {
+        Random random = new Random(21);
+        for (int i = 0; i < 300; i++) {
+            LocalDate start = LocalDate.of(1850, 1, 1).plusDays(random.nextInt(80_000));
+            int n = random.nextInt(4001) - 2000;
+            LocalDate expected = start;
+            for (int left = Math.abs(n); left > 0; ) {
+                expected = expected.plusDays(Integer.signum(n));
+                if (isBusinessDay(expected)) {
+                    left--;
+                }
+            }
+            int result = calendar.plusBusinessDays(pack(start), n);
+            assertEquals(start + " + " + n, pack(expected), result);
+            if (n > 0) {
+                // [start + 1, result] holds n business days
+                assertEquals(n, calendar.businessDaysBetween(pack(start.plusDays(1)), pack(expected.plusDays(1))));
+            }
+        }
+    }
+
+    /**
+     * Test: Results that would leave the domain, and invalid input
+     * Input: 12/31/2100 + 1, 01/01/1812 - 1, a business day count past the end, 02/30/2000, 6/115/2000
+     * Expected: IllegalArgumentException
+     */
+    @Test
+    public void testOutOfRange() {
+        BusinessCalendar plain = new BusinessCalendar();
+        int last = plain.plusBusinessDays(18120101, plain.getBusinessDayCount() - 1);
+        assertEquals(21001231, last);
+        assertEquals(plain.getBusinessDayCount() - 1, plain.businessDaysBetween(18120101, 21001231));
+        int[] dates = {21001231, 18120101, 18120101, 20000230};
+        int[] offsets = {1, -1, plain.getBusinessDayCount(), 1};
+        for (int i = 0; i < dates.length; i++) {
+            try {
+                plain.plusBusinessDays(dates[i], offsets[i]);
+                fail("Expected IllegalArgumentException for " + dates[i] + " + " + offsets[i]);
+            } catch (IllegalArgumentException expected) {
+                // outside the domain
+            }
+        }
+        try {
+            new BusinessCalendar(18111231);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException expected) {
+            assertEquals("Year must be between 1812 and 2100", expected.getMessage());
+        }
+        try {
+            plain.getNextBusinessDate(6, 115, 2000);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException expected) {
+            assertEquals("Day must be between 1 and 31", expected.getMessage());
+        }
+    }
+
+    /**
+     * Test: Calendar for 2000 only, with no weekend
+     * Input: Counts and moves within 2000, past its ends, a 1999 holiday, and ranges
+     *        outside 1812-2100
+     * Expected: 366 business days; results never leave 2000; the rest throw
+     */
+    @Test
+    public void testCustomRange() {
+        BusinessCalendar year2000 = new BusinessCalendar(2000, 2000, EnumSet.noneOf(DayOfWeek.class), 20000704);
+        assertEquals(365, year2000.getBusinessDayCount());
+        assertEquals(20001231, year2000.plusBusinessDays(20000101, 364));
+        assertEquals(20000705, year2000.nextBusinessDate(20000703));
+        assertEquals("01/03/2000", year2000.getNextBusinessDate(1, 2, 2000));
+        int[] dates = {20001231, 20000101, 19991231};
+        int[] offsets = {1, -1, 1};
+        for (int i = 0; i < dates.length; i++) {
+            try {
+                year2000.plusBusinessDays(dates[i], offsets[i]);
+                fail("Expected IllegalArgumentException for " + dates[i] + " + " + offsets[i]);
+            } catch (IllegalArgumentException expected) {
+                assertEquals("Year must be between 2000 and 2000", expected.getMessage());
+            }
+        }
+        try {
+            new BusinessCalendar(2000, 2000, WEEKEND, 19990101);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException expected) {
+            assertEquals("Year must be between 2000 and 2000", expected.getMessage());
+        }
+        int[][] ranges = {{1811, 2000}, {2000, 2101}};
+        for (int[] range : ranges) {
+            try {
+                new BusinessCalendar(range[0], range[1], WEEKEND);
+                fail("Expected IllegalArgumentException for " + range[0] + " to " + range[1]);
+            } catch (IllegalArgumentException expected) {
+                assertEquals("Business calendar years must be within 1812 and 2100, got "
+                    + range[0] + " to " + range[1], expected.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Test: No weekend and no holidays
+     * Expected: Business days equal calendar days
+     */
+    @Test
+    public void testEmptyWeekend() {
+        BusinessCalendar everyDay = new BusinessCalendar(EnumSet.noneOf(DayOfWeek.class));
+        assertEquals(105_556, everyDay.getBusinessDayCount());
+        assertEquals(20000301, everyDay.plusBusinessDays(20000228, 2));
+        assertEquals(366, everyDay.businessDaysBetween(20000101, 20010101));
+    }
+}
@@ -0,0 +1,211 @@
+package edu.seds514.nextdate;
+
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Result Cache Testing
+ *
+ * Tests that cached results and exceptions match NextDate, the statistics, the
+ * capacity bound under both policies, and concurrent use.
+ */
+public class CachingNextDateTest {
+
+    private NextDate nextDate;
+
+    @Before
+    public void setUp() {
+        nextDate = new NextDate();
+    }
+
+    private static String call(NextDate target, int month, int day, int year) {
+        try {
+            return target.getNextDate(month, day, year);
+        } catch (IllegalArgumentException e) {
+            return "error: " + e.getMessage();
+        }
+    }
+
+    /**
+     * Test: Random valid and invalid dates, twice over, for both policies
+     * Expected: Same results and exception messages as an uncached NextDate
+     */
+    @Test
+    public void testResults_MatchUncached() {
+        for (CachingNextDate.Policy policy : CachingNextDate.Policy.values()) {
+            CachingNextDate cache = new CachingNextDate(64, policy);
+            Random random = new Random(23);
+            for (int i = 0; i < 20_000; i++) {
+                int month = random.nextInt(15) - 1;
+                int day = random.nextInt(35) - 1;
+                int year = 1810 + random.nextInt(4);
+                assertEquals(call(nextDate, month, day, year), call(cache, month, day, year));
+            }
+            assertTrue(cache.size() <= cache.getMaximumSize());
+        }
+    }
+
+    /**
+     * Test: Hits, misses and the per-thread last hit
+     * Input: 02/28/2000 three times, then 12/31/1999, then 02/28/2000 again
+     * Expected: 2 misses, 3 hits; the cached String is returned again
+     */
+    @Test
+    public void testStatistics() {
+        CachingNextDate cache = new CachingNextDate(100);
+        String first = cache.getNextDate(2, 28, 2000);
+        assertSame(first, cache.getNextDate(2, 28, 2000));
+        assertSame(first, cache.getNextDate(2, 28, 2000));
+        assertEquals("01/01/2000", cache.getNextDate(12, 31, 1999));
+        assertSame(first, cache.getNextDate(2, 28, 2000));
+        assertEquals(2, cache.getMissCount());
+        assertEquals(3, cache.getHitCount());
+        assertEquals(0.6, cache.getHitRate(), 1e-9);
+        assertEquals(2, cache.size());
+
+        cache.clear();
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.getHitCount());
+        assertEquals(0.0, cache.getHitRate(), 0.0);
+    }
+
+    /**
+     * Test: Invalid dates are never cached
+     * Input: 02/30/2000 and 13/01/2000, twice each
+     * Expected: Every call throws; nothing is cached
+     */
+    @Test
+    public void testInvalidDates_NotCached() {
+        CachingNextDate cache = new CachingNextDate(16);
+        for (int i = 0; i < 2; i++) {
+            assertEquals("error: Day 30 is invalid for month 2 in year 2000 (max 29 days)", call(cache, 2, 30, 2000));
+            assertEquals("error: Month must be between 1 and 12", call(cache, 13, 1, 2000));
+        }
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.getHitCount());
+    }
+
+    /**
+     * Test: Year whose packed key overflows onto a cached date
+     * Input: 02/28/2000, then 02/28/(2000 + 2^28)
+     * Expected: The second call throws the year error, as NextDate does
+     */
+    @Test
+    public void testOverflowingYear_NotAliased() {
+        CachingNextDate cache = new CachingNextDate(16);
+        assertEquals("02/29/2000", cache.getNextDate(2, 28, 2000));
+        assertEquals(PackedDate.pack(2, 28, 2000), PackedDate.pack(2, 28, 2000 + (1 << 28)));
+        for (int i = 0; i < 2; i++) {
+            assertEquals("error: Year must be between 1812 and 2100", call(cache, 2, 28, 2000 + (1 << 28)));
+        }
+        assertEquals(1, cache.size());
+    }
+
+    /**
+     * Test: Cache for 1700-2200
+     * Input: 02/28/2200 twice, then 12/31/2201
+     * Expected: 03/01/2200 cached and hit; 2201 throws the range's year error
+     */
+    @Test
+    public void testCustomRange() {
+        CachingNextDate cache = new CachingNextDate(1700, 2200, 16, CachingNextDate.Policy.TINY_LFU);
+        assertEquals(1700, cache.getMinYear());
+        assertEquals(2200, cache.getMaxYear());
+        assertEquals("03/01/2200", cache.getNextDate(2, 28, 2200));
+        assertEquals("03/01/2200", cache.getNextDate(2, 28, 2200));
+        assertEquals(1, cache.getHitCount());
+        assertEquals("error: Year must be between 1700 and 2200", call(cache, 12, 31, 2201));
+        assertEquals(1, cache.size());
+    }
+
+    /**
+     * Test: LRU eviction
+     * Input: A full cache, then one new date per slot
+     * Expected: Size stays at capacity; each new date evicts one entry
+     */
+    @Test
+    public void testLru_Evicts() {
+        CachingNextDate cache = new CachingNextDate(16, CachingNextDate.Policy.LRU);
+        DateRange.of(20000101, 20000301).stream().forEach(date ->
+            cache.getNextDate(PackedDate.month(date), PackedDate.day(date), 2000));
+        assertEquals(16, cache.size());
+        assertEquals(60 - 16, cache.getEvictionCount());
+    }
+
+    /**
+     * Test: TinyLFU keeps hot dates through a scan of one-off dates
+     * Input: 4 hot dates requested often, then a long run of distinct dates
+     * Expected: The hot dates still hit after the scan; with LRU they are gone
+     */
+    @Test
+    public void testTinyLfu_ResistsScan() {
+        int[] hot = {20240101, 20240229, 20241231, 20240630};
+        for (CachingNextDate.Policy policy : CachingNextDate.Policy.values()) {
+            CachingNextDate cache = new CachingNextDate(16, policy);
+            for (int round = 0; round < 5; round++) {
+                for (int date : hot) {
+                    // Alternate so the per-thread last hit does not absorb the calls
+                    cache.getNextDate(PackedDate.month(date), PackedDate.day(date), PackedDate.year(date));
+                    cache.getNextDate(1, 1, 1900);
+                }
+            }
+            DateRange.of(19500101, 19510101).stream().forEach(date ->
+                cache.getNextDate(PackedDate.month(date), PackedDate.day(date), PackedDate.year(date)));
+            long missesBefore = cache.getMissCount();
+            for (int date : hot) {
+                cache.getNextDate(PackedDate.month(date), PackedDate.day(date), PackedDate.year(date));
+            }
+            long hotMisses = cache.getMissCount() - missesBefore;
+            if (policy == CachingNextDate.Policy.TINY_LFU) {
+                assertEquals(0, hotMisses);
+            } else {
+                assertEquals(hot.length, hotMisses);
+            }
+        }
+    }
+
+    /**
+     * Test: Several threads on a skewed workload
+     * Expected: Every result matches NextDate; hits plus misses equal the calls
+     */
+    @Test
+    public void testConcurrentUse() throws Exception {
+        CachingNextDate cache = new CachingNextDate(256, CachingNextDate.Policy.TINY_LFU);
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                long seed = t;
+                futures.add(pool.submit(() -> {
+                    Random random = new Random(seed);
+                    for (int i = 0; i < 20_000; i++) {
+                        // Mostly a few dates, sometimes any date of the decade
+                        int ordinal = random.nextInt(10) < 8 ? random.nextInt(8) : random.nextInt(3650);
+                        int date = PackedDate.fromEpochDay(ordinal + 10957L);
+                        int month = PackedDate.month(date);
+                        int day = PackedDate.day(date);
+                        int year = PackedDate.year(date);
+                        assertEquals(nextDate.getNextDate(month, day, year), cache.getNextDate(month, day, year));
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+        assertEquals(80_000, cache.getHitCount() + cache.getMissCount());
+        assertTrue(cache.getHitRate() > 0.5);
+        assertTrue(cache.size() <= cache.getMaximumSize());
+    }
+}
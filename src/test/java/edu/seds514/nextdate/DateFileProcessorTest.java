@@ -0,0 +1,158 @@
+package edu.seds514.nextdate;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Memory-Mapped File Processor Testing
+ *
+ * Tests the file-to-file pipeline against line-by-line getNextDate, using small
+ * mapping windows so lines straddle window boundaries.
+ */
+public class DateFileProcessorTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private NextDate nextDate;
+    private Path input;
+    private Path output;
+
+    @Before
+    public void setUp() throws IOException {
+        nextDate = new NextDate();
+        input = folder.newFile("dates.txt").toPath();
+        output = folder.getRoot().toPath().resolve("next.txt");
+    }
+
+    /**
+     * Test: Mixed formats, invalid lines and CRLF endings across many small windows
+     * Expected: One output line per input line matching getNextDate or INVALID
+     */
+    @Test
+    public void testProcess_MatchesGetNextDate() throws IOException {
+        Random random = new Random(11);
+        StringBuilder text = new StringBuilder();
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            int month = random.nextInt(14);
+            int day = random.nextInt(33);
+            int year = 1805 + random.nextInt(300);
+            switch (i % 4) {
+                case 0:
+                    text.append(String.format("%02d/%02d/%04d", month, day, year)).append('\n');
+                    break;
+                case 1:
+                    text.append(month).append(',').append(day).append(',').append(year).append('\n');
+                    break;
+                case 2:
+                    text.append(month).append('/').append(day).append('/').append(year).append("\r\n");
+                    break;
+                default:
+                    text.append("garbage ").append(i).append('\n');
+                    expected.add(DateFileProcessor.INVALID_LINE);
+                    continue;
+            }
+            expected.add(expectedOrInvalid(month, day, year));
+        }
+        // Last line has no trailing newline
+        text.append("12/31/2100");
+        expected.add("01/01/2101");
+        Files.write(input, text.toString().getBytes(StandardCharsets.US_ASCII));
+
+        DateFileProcessor.Summary summary = new DateFileProcessor(37, 64).process(input, output);
+
+        assertEquals(expected, Files.readAllLines(output, StandardCharsets.US_ASCII));
+        assertEquals(expected.size(), summary.getLines());
+        assertEquals(expected.stream().filter(DateFileProcessor.INVALID_LINE::equals).count(),
+            summary.getInvalidLines());
+        assertEquals(Files.size(input), summary.getInputBytes());
+        assertTrue(summary.toString().startsWith(expected.size() + " lines"));
+    }
+
+    /**
+     * Test: Empty input file
+     * Expected: Empty output and zero counts
+     */
+    @Test
+    public void testProcess_EmptyFile() throws IOException {
+        DateFileProcessor.Summary summary = new DateFileProcessor().process(input, output);
+        assertEquals(0, summary.getLines());
+        assertEquals(0, Files.size(output));
+    }
+
+    /**
+     * Test: Line longer than the mapping window
+     * Expected: Should throw IOException
+     */
+    @Test(expected = IOException.class)
+    public void testProcess_LineLongerThanWindow() throws IOException {
+        Files.write(input, "01/01/2000 this line is far too long\n01/02/2000\n".getBytes(StandardCharsets.US_ASCII));
+        new DateFileProcessor(16, 64).process(input, output);
+    }
+
+    /**
+     * Test: Output buffer too small for one line
+     * Expected: Should throw IllegalArgumentException
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testOutputBufferTooSmall() {
+        new DateFileProcessor(1024, 10);
+    }
+
+    /**
+     * Test: Window sizes below 2 and above Integer.MAX_VALUE
+     * Expected: Should throw IllegalArgumentException
+     */
+    @Test
+    public void testWindowSizeOutOfRange() {
+        for (long windowSize : new long[] {1, Integer.MAX_VALUE + 1L}) {
+            try {
+                new DateFileProcessor(windowSize, 64);
+                fail("Expected IllegalArgumentException for " + windowSize);
+            } catch (IllegalArgumentException expected) {
+                assertEquals("Window size must be between 2 and " + Integer.MAX_VALUE, expected.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Test: Summary rates with and without elapsed time
+     * Input: 2,000,000 lines, 2^21 bytes in 0.5 s; the same counts in 0 ns
+     * Expected: 4,000,000 lines/s and 4 MB/s; 0 for both rates when no time elapsed
+     */
+    @Test
+    public void testSummary() {
+        DateFileProcessor.Summary summary = new DateFileProcessor.Summary(2_000_000, 3, 1 << 21, 500_000_000L);
+        assertEquals(500_000_000L, summary.getElapsedNanos());
+        assertEquals(3, summary.getInvalidLines());
+        assertEquals(1 << 21, summary.getInputBytes());
+        assertEquals(4_000_000, summary.getLinesPerSecond(), 1e-6);
+        assertEquals(4, summary.getMegabytesPerSecond(), 1e-9);
+        assertEquals(String.format("%d lines (%d invalid), %d bytes in %.3f s: %.0f lines/s, %.1f MB/s",
+            2_000_000, 3, 1 << 21, 0.5, 4_000_000.0, 4.0), summary.toString());
+
+        DateFileProcessor.Summary instant = new DateFileProcessor.Summary(2_000_000, 3, 1 << 21, 0);
+        assertEquals(0, instant.getLinesPerSecond(), 0);
+        assertEquals(0, instant.getMegabytesPerSecond(), 0);
+    }
+
+    private String expectedOrInvalid(int month, int day, int year) {
+        try {
+            return nextDate.getNextDate(month, day, year);
+        } catch (IllegalArgumentException e) {
+            return DateFileProcessor.INVALID_LINE;
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package edu.seds514.nextdate;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Date Parser Testing
+ *
+ * Tests strict and lenient parsing of "MM/DD/YYYY" text from CharSequence,
+ * char[] and byte[] input, and exact round trips with the formatter.
+ */
+public class DateParserTest {
+
+    /**
+     * Test: Every formatted date in the domain parses back to itself
+     * Expected: Same packed date from all three input types; formatting again gives the same text
+     */
+    @Test
+    public void testStrict_RoundTripsWholeDomain() {
+        NextDateTable table = NextDateTable.getInstance();
+        char[] chars = new char[NextDate.FORMATTED_LENGTH];
+        byte[] bytes = new byte[NextDate.FORMATTED_LENGTH];
+        for (int ordinal = 0; ordinal <= table.size(); ordinal++) {
+            int date = table.dateAt(ordinal);
+            String text = PackedDate.format(date);
+            PackedDate.format(date, chars, 0);
+            PackedDate.format(date, bytes, 0);
+            assertEquals(date, DateParser.parse(text));
+            assertEquals(date, DateParser.parse(chars, 0, chars.length, false));
+            assertEquals(date, DateParser.parse(bytes, 0, bytes.length, false));
+            assertEquals(text, PackedDate.format(DateParser.parse(text)));
+        }
+    }
+
+    /**
+     * Test: Parsing inside a larger buffer
+     * Input: "id=12/31/1999;" with the date at [3, 13)
+     * Expected: 19991231 from every input type
+     */
+    @Test
+    public void testStrict_AtOffset() {
+        String line = "id=12/31/1999;";
+        assertEquals(19991231, DateParser.parse(line, 3, 13, false));
+        assertEquals(19991231, DateParser.parse(line.toCharArray(), 3, 13, false));
+        assertEquals(19991231, DateParser.parse(line.getBytes(StandardCharsets.US_ASCII), 3, 13, false));
+    }
+
+    /**
+     * Test: Malformed strict input
+     * Expected: MALFORMED for wrong length, separators and non-digits
+     */
+    @Test
+    public void testStrict_Malformed() {
+        String[] inputs = {"", "1/15/2000", "01-15-2000", "01/15/200", "01/15/20000", "0a/15/2000", "01/15/2 00", "01/1//2000"};
+        for (String input : inputs) {
+            assertEquals(input, DateStatus.MALFORMED, DateParser.parse(input));
+            byte[] bytes = input.getBytes(StandardCharsets.US_ASCII);
+            assertEquals(input, DateStatus.MALFORMED, DateParser.parse(bytes, 0, bytes.length, false));
+        }
+    }
+
+    /**
+     * Test: Lenient single-digit fields and alternate separators
+     * Expected: Same packed date as the strict form
+     */
+    @Test
+    public void testLenient_Accepted() {
+        String[] inputs = {"3/7/2024", "03/7/2024", "3/07/2024", "03/07/2024", "3-7-2024", "3,7,2024"};
+        for (String input : inputs) {
+            assertEquals(input, 20240307, DateParser.parse(input, 0, input.length(), true));
+            char[] chars = input.toCharArray();
+            assertEquals(input, 20240307, DateParser.parse(chars, 0, chars.length, true));
+            byte[] bytes = input.getBytes(StandardCharsets.US_ASCII);
+            assertEquals(input, 20240307, DateParser.parse(bytes, 0, bytes.length, true));
+        }
+    }
+
+    /**
+     * Test: Malformed lenient input
+     * Expected: MALFORMED for mixed separators, three-digit fields, short years and trailing text
+     */
+    @Test
+    public void testLenient_Malformed() {
+        String[] inputs = {"", "3", "3/", "/7/2024", "3/7-2024", "123/7/2024", "3/123/2024", "3/7/24", "3/7/2024x", "3//2024", "3.7.2024"};
+        for (String input : inputs) {
+            assertEquals(input, DateStatus.MALFORMED, DateParser.parse(input, 0, input.length(), true));
+            char[] chars = input.toCharArray();
+            assertEquals(input, DateStatus.MALFORMED, DateParser.parse(chars, 0, chars.length, true));
+            byte[] bytes = input.getBytes(StandardCharsets.US_ASCII);
+            assertEquals(input, DateStatus.MALFORMED, DateParser.parse(bytes, 0, bytes.length, true));
+        }
+    }
+
+    /**
+     * Test: Text of years past 9999, as formatted by a NextDate with a wider range
+     * Input: 01/01/10000 and 01/01/214748, strict and lenient
+     * Expected: MALFORMED; years have four digits only
+     */
+    @Test
+    public void testFiveAndSixDigitYears_Malformed() {
+        NextDate wide = new NextDate(NextDate.MIN_SUPPORTED_YEAR, NextDate.MAX_SUPPORTED_YEAR);
+        assertEquals(99991231, DateParser.parse(wide.getNextDate(12, 30, 9999)));
+        for (String input : new String[] {wide.getNextDate(12, 31, 9999), wide.getNextDate(12, 31, 214747)}) {
+            assertEquals(input, DateStatus.MALFORMED, DateParser.parse(input));
+            assertEquals(input, DateStatus.MALFORMED, DateParser.parse(input, 0, input.length(), true));
+            char[] chars = input.toCharArray();
+            assertEquals(input, DateStatus.MALFORMED, DateParser.parse(chars, 0, chars.length, false));
+            byte[] bytes = input.getBytes(StandardCharsets.US_ASCII);
+            assertEquals(input, DateStatus.MALFORMED, DateParser.parse(bytes, 0, bytes.length, true));
+            assertEquals(input, DateStatus.MALFORMED, DateParser.parse(ByteBuffer.wrap(bytes), 0, bytes.length, false));
+        }
+    }
+
+    /**
+     * Test: Well-formed but impossible date
+     * Input: 02/30/2000
+     * Expected: Parses; tryNextDate then reports INVALID_DAY_FOR_MONTH
+     */
+    @Test
+    public void testWellFormedInvalidDate() {
+        int date = DateParser.parse("02/30/2000");
+        assertEquals(20000230, date);
+        assertEquals(DateStatus.INVALID_DAY_FOR_MONTH, new NextDate().tryNextDate(date));
+    }
+
+    /**
+     * Test: Range outside the array
+     * Expected: Should throw IndexOutOfBoundsException
+     */
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testRangeOutsideArray() {
+        DateParser.parse(new byte[5], 0, 10, false);
+    }
+}
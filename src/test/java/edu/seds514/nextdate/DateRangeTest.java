@@ -0,0 +1,132 @@
+package edu.seds514.nextdate;
+
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+
+/**
+ * Date Range Testing
+ *
+ * Tests the lazy DateRange: cursor, stream and spliterator all walk the same
+ * dates as iterated nextDate, and the spliterator splits evenly.
+ */
+public class DateRangeTest {
+
+    private NextDate nextDate;
+
+    @Before
+    public void setUp() {
+        nextDate = new NextDate();
+    }
+
+    /**
+     * Test: Cursor over a leap-year February into March
+     * Expected: Same dates as iterated nextDate, then NoSuchElementException
+     */
+    @Test
+    public void testCursor_MatchesNextDate() {
+        DateRange range = DateRange.of(20000225, 20000305);
+        assertEquals(9, range.size());
+        DateRange.Cursor cursor = range.cursor();
+        int expected = 20000225;
+        while (cursor.hasNext()) {
+            assertEquals(expected, cursor.nextPacked());
+            expected = nextDate.nextDate(expected);
+        }
+        assertEquals(20000305, expected);
+        try {
+            cursor.nextPacked();
+            fail("Expected NoSuchElementException");
+        } catch (NoSuchElementException e) {
+            // expected
+        }
+    }
+
+    /**
+     * Test: Stream over the whole domain
+     * Expected: Every valid date once, ending at 12/31/2100
+     */
+    @Test
+    public void testStream_WholeDomain() {
+        DateRange range = DateRange.of(18120101, 21010101);
+        assertEquals(NextDateTable.getInstance().size(), range.size());
+        assertEquals(range.size(), range.stream().count());
+        assertEquals(21001231, range.stream().max().getAsInt());
+        assertEquals(range.size(), range.stream().parallel().distinct().count());
+    }
+
+    /**
+     * Test: Spliterator splits evenly in half
+     * Expected: Sized halves that cover the range without overlap
+     */
+    @Test
+    public void testSpliterator_SplitsEvenly() {
+        DateRange range = DateRange.of(20000101, 20010101);
+        Spliterator.OfInt suffix = range.spliterator();
+        assertTrue(suffix.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.SORTED));
+        Spliterator.OfInt prefix = suffix.trySplit();
+        assertEquals(183, prefix.estimateSize());
+        assertEquals(183, suffix.estimateSize());
+        int[] last = new int[1];
+        prefix.forEachRemaining((int date) -> last[0] = date);
+        assertEquals(20000701, last[0]);
+        assertTrue(suffix.tryAdvance((int date) -> assertEquals(20000702, date)));
+    }
+
+    /**
+     * Test: Empty range
+     * Expected: Size 0, nothing to walk, no split
+     */
+    @Test
+    public void testEmptyRange() {
+        DateRange range = DateRange.of(20000101, 20000101);
+        assertEquals(0, range.size());
+        assertFalse(range.cursor().hasNext());
+        assertNull(range.spliterator().trySplit());
+        assertFalse(range.contains(20000101));
+    }
+
+    /**
+     * Test: Contains
+     * Expected: Start included, end excluded, invalid dates not contained
+     */
+    @Test
+    public void testContains() {
+        DateRange range = DateRange.of(19991231, 20000102);
+        assertTrue(range.contains(19991231));
+        assertTrue(range.contains(20000101));
+        assertFalse(range.contains(20000102));
+        assertFalse(range.contains(20000100));
+        assertEquals("[19991231, 20000102)", range.toString());
+    }
+
+    /**
+     * Test: End before start
+     * Expected: Should throw IllegalArgumentException
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testEndBeforeStart() {
+        DateRange.of(20000102, 20000101);
+    }
+
+    /**
+     * Test: Invalid start date
+     * Expected: Should throw IllegalArgumentException
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidStart() {
+        DateRange.of(20000230, 20000301);
+    }
+
+    /**
+     * Test: Start at the 01/01/2101 upper limit
+     * Expected: Should throw IllegalArgumentException
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testStartAtUpperLimit() {
+        DateRange.of(21010101, 21010101);
+    }
+}
@@ -0,0 +1,159 @@
+package edu.seds514.nextdate;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Record File Testing
+ *
+ * Tests writing NextDate results in each fixed-width layout and reading them
+ * back by record number.
+ */
+public class DateRecordFileTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    /**
+     * Test: Whole-domain results in every encoding
+     * Expected: Header fields match, file size is header + count * width, and random
+     * reads return the written dates
+     */
+    @Test
+    public void testWriteAndRandomRead_AllEncodings() throws IOException {
+        NextDate nextDate = new NextDate();
+        NextDateTable table = NextDateTable.getInstance();
+        int count = table.size();
+        for (DateRecordFile.Encoding encoding : DateRecordFile.Encoding.values()) {
+            Path path = folder.newFile(encoding + ".ndr").toPath();
+            try (DateRecordFile.Writer writer = new DateRecordFile.Writer(path, encoding)) {
+                for (int ordinal = 0; ordinal < count; ordinal++) {
+                    writer.append(nextDate.nextDate(table.dateAt(ordinal)));
+                }
+                assertEquals(count, writer.getCount());
+            }
+            assertEquals(DateRecordFile.HEADER_SIZE + (long) count * encoding.getWidth(), Files.size(path));
+
+            try (DateRecordFile.Reader reader = new DateRecordFile.Reader(path)) {
+                assertEquals(encoding, reader.getEncoding());
+                assertEquals(count, reader.size());
+                assertEquals(1812, reader.getMinYear());
+                assertEquals(2101, reader.getMaxYear());
+                Random random = new Random(3);
+                for (int i = 0; i < 10_000; i++) {
+                    int index = random.nextInt(count);
+                    assertEquals(table.dateAt(index + 1), reader.get(index));
+                }
+                assertEquals(21010101, reader.get(count - 1));
+            }
+        }
+    }
+
+    /**
+     * Test: ASCII records are plain "MM/DD/YYYY" text after the header
+     * Expected: The bytes of record 1 read as 01/03/2000
+     */
+    @Test
+    public void testAsciiLayout() throws IOException {
+        Path path = folder.newFile("ascii.ndr").toPath();
+        try (DateRecordFile.Writer writer = new DateRecordFile.Writer(path, DateRecordFile.Encoding.ASCII)) {
+            writer.append(20000102);
+            writer.append(20000103);
+        }
+        byte[] bytes = Files.readAllBytes(path);
+        assertEquals("01/03/2000", new String(bytes, DateRecordFile.HEADER_SIZE + 10, 10, StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * Test: Empty file
+     * Expected: Zero records and zero year range
+     */
+    @Test
+    public void testEmptyFile() throws IOException {
+        Path path = folder.newFile("empty.ndr").toPath();
+        new DateRecordFile.Writer(path, DateRecordFile.Encoding.PACKED).close();
+        try (DateRecordFile.Reader reader = new DateRecordFile.Reader(path)) {
+            assertEquals(0, reader.size());
+            assertEquals(0, reader.getMinYear());
+        }
+    }
+
+    /**
+     * Test: Read past the last record
+     * Expected: Should throw IndexOutOfBoundsException
+     */
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testReadOutOfRange() throws IOException {
+        Path path = folder.newFile("one.ndr").toPath();
+        try (DateRecordFile.Writer writer = new DateRecordFile.Writer(path, DateRecordFile.Encoding.ORDINAL)) {
+            writer.append(20000102);
+        }
+        try (DateRecordFile.Reader reader = new DateRecordFile.Reader(path)) {
+            reader.get(1);
+        }
+    }
+
+    /**
+     * Test: File without the magic number
+     * Expected: Should throw IOException
+     */
+    @Test(expected = IOException.class)
+    public void testNotARecordFile() throws IOException {
+        Path path = folder.newFile("text.txt").toPath();
+        Files.write(path, "01/01/2000 is not a record file header".getBytes(StandardCharsets.US_ASCII));
+        new DateRecordFile.Reader(path).close();
+    }
+
+    /**
+     * Test: Truncated file
+     * Expected: Should throw IOException
+     */
+    @Test(expected = IOException.class)
+    public void testTruncatedFile() throws IOException {
+        Path path = folder.newFile("truncated.ndr").toPath();
+        try (DateRecordFile.Writer writer = new DateRecordFile.Writer(path, DateRecordFile.Encoding.PACKED)) {
+            writer.append(20000102);
+            writer.append(20000103);
+        }
+        byte[] bytes = Files.readAllBytes(path);
+        Files.write(path, Arrays.copyOf(bytes, bytes.length - 1));
+        new DateRecordFile.Reader(path).close();
+    }
+
+    /**
+     * Test: Dates that do not fit a record, for every encoding
+     * Input: 12/31/1811, 01/02/2101, 02/30/2000 and 01/01/10000
+     * Expected: IllegalArgumentException; nothing is written; 01/01/2101 is still accepted
+     */
+    @Test
+    public void testAppend_RejectsOutOfRange() throws IOException {
+        int[] dates = {18111231, 21010102, 20000230, 100000101};
+        for (DateRecordFile.Encoding encoding : DateRecordFile.Encoding.values()) {
+            Path path = folder.newFile(encoding + "-range.ndr").toPath();
+            try (DateRecordFile.Writer writer = new DateRecordFile.Writer(path, encoding)) {
+                for (int date : dates) {
+                    try {
+                        writer.append(date);
+                        fail("Expected IllegalArgumentException for " + date + " as " + encoding);
+                    } catch (IllegalArgumentException expected) {
+                        // does not fit a record
+                    }
+                }
+                writer.append(21010101);
+                assertEquals(1, writer.getCount());
+            }
+            try (DateRecordFile.Reader reader = new DateRecordFile.Reader(path)) {
+                assertEquals(21010101, reader.get(0));
+            }
+        }
+    }
+}
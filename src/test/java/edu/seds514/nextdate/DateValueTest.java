@@ -0,0 +1,116 @@
+package edu.seds514.nextdate;
+
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.time.LocalDate;
+
+/**
+ * Date Value Testing
+ *
+ * Tests canonical instances, next() against getNextDate over the whole domain,
+ * ordering, and the error messages of the factories.
+ */
+public class DateValueTest {
+
+    private NextDate nextDate;
+
+    @Before
+    public void setUp() {
+        nextDate = new NextDate();
+    }
+
+    /**
+     * Test: Walk every date with next()
+     * Expected: Each step matches getNextDate, toString and the factories return the same instance
+     */
+    @Test
+    public void testNext_MatchesGetNextDateExhaustively() {
+        DateValue date = DateValue.of(1, 1, 1812);
+        int steps = 0;
+        while (date.getYear() <= 2100) {
+            DateValue next = date.next();
+            assertEquals(nextDate.getNextDate(date.getMonth(), date.getDay(), date.getYear()), next.toString());
+            assertSame(next, DateValue.ofOrdinal(date.getOrdinal() + 1));
+            if (next.getYear() <= 2100) {
+                assertSame(next, DateValue.of(next.toPacked()));
+            }
+            assertSame(date, next.previous());
+            assertTrue(date.compareTo(next) < 0);
+            date = next;
+            steps++;
+        }
+        assertEquals(NextDateTable.getInstance().size(), steps);
+        assertEquals("01/01/2101", date.toString());
+    }
+
+    /**
+     * Test: Canonical instances and cached text
+     * Input: 02/29/2000 from three factories
+     * Expected: One instance; toString returns the same String every time
+     */
+    @Test
+    public void testCanonicalInstances() {
+        DateValue leapDay = DateValue.of(2, 29, 2000);
+        assertSame(leapDay, DateValue.of(20000229));
+        assertSame(leapDay, DateValue.of(LocalDate.of(2000, 2, 29)));
+        assertSame(leapDay, DateValue.of(2, 28, 2000).next());
+        assertSame(leapDay, DateValue.of(1, 1, 2000).plusDays(59));
+        assertSame(leapDay.toString(), leapDay.toString());
+        assertEquals(LocalDate.of(2000, 2, 29), leapDay.toLocalDate());
+        assertEquals(leapDay.getOrdinal(), leapDay.hashCode());
+        assertEquals(0, leapDay.compareTo(DateValue.of(20000229)));
+    }
+
+    /**
+     * Test: Invalid dates
+     * Input: 02/30/2000, 13/01/2000, 01/01/1811
+     * Expected: IllegalArgumentException with the same message as getNextDate
+     */
+    @Test
+    public void testOf_InvalidDateMessages() {
+        int[][] dates = {{2, 30, 2000}, {13, 1, 2000}, {1, 1, 1811}, {1, 32, 2000}};
+        for (int[] date : dates) {
+            String expected = null;
+            try {
+                nextDate.getNextDate(date[0], date[1], date[2]);
+            } catch (IllegalArgumentException e) {
+                expected = e.getMessage();
+            }
+            try {
+                DateValue.of(date[0], date[1], date[2]);
+                fail("Expected IllegalArgumentException");
+            } catch (IllegalArgumentException e) {
+                assertEquals(expected, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Test: Moving past either end of the domain
+     * Expected: IllegalArgumentException
+     */
+    @Test
+    public void testEnds() {
+        DateValue last = DateValue.of(12, 31, 2100).next();
+        try {
+            last.next();
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException expected) {
+            // past 01/01/2101
+        }
+        try {
+            DateValue.of(1, 1, 1812).previous();
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException expected) {
+            // before 01/01/1812
+        }
+        try {
+            DateValue.of(1, 1, 1812).plusDays(Integer.MIN_VALUE);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException expected) {
+            // overflow
+        }
+    }
+}
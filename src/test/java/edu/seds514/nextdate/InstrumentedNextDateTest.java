@@ -0,0 +1,167 @@
+package edu.seds514.nextdate;
+
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.lang.management.ManagementFactory;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Instrumentation Testing
+ *
+ * Tests that each decision-table rule is counted under its outcome, that results are
+ * unchanged, and the JMX and snapshot views.
+ */
+public class InstrumentedNextDateTest {
+
+    private InstrumentedNextDate nextDate;
+
+    @Before
+    public void setUp() {
+        nextDate = new InstrumentedNextDate();
+    }
+
+    /**
+     * Test: One call per decision-table rule
+     * Input: 06/15/2000, 01/31/2000, 02/28/1900, 02/28/2000, 02/29/2000, 12/31/1999
+     * Expected: Each counted under its own outcome; results as for NextDate
+     */
+    @Test
+    public void testOutcomes_ValidRules() {
+        assertEquals("06/16/2000", nextDate.getNextDate(6, 15, 2000));
+        assertEquals("02/01/2000", nextDate.getNextDate(1, 31, 2000));
+        assertEquals("03/01/1900", nextDate.getNextDate(2, 28, 1900));
+        assertEquals("02/29/2000", nextDate.getNextDate(2, 28, 2000));
+        assertEquals("03/01/2000", nextDate.getNextDate(2, 29, 2000));
+        assertEquals("01/01/2000", nextDate.getNextDate(12, 31, 1999));
+
+        assertEquals(1, nextDate.getDayIncrements());
+        assertEquals(2, nextDate.getMonthRollovers());
+        assertEquals(1, nextDate.getFeb28To29());
+        assertEquals(1, nextDate.getFeb29ToMar1());
+        assertEquals(1, nextDate.getYearRollovers());
+        assertEquals(0, nextDate.getValidationFailures());
+        assertEquals(6, nextDate.getCalls());
+    }
+
+    /**
+     * Test: One call per validation rule, through throwing and non-throwing methods
+     * Expected: Each counted under its own failure outcome; exceptions unchanged
+     */
+    @Test
+    public void testOutcomes_ValidationFailures() {
+        assertEquals(DateStatus.INVALID_YEAR, nextDate.tryNextDate(1, 1, 1811));
+        assertEquals(DateStatus.INVALID_MONTH, nextDate.tryNextDate(13, 1, 2000));
+        assertEquals(DateStatus.DAY_OUT_OF_RANGE, nextDate.tryNextDate(1, 32, 2000));
+        try {
+            nextDate.getNextDate(2, 30, 2000);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            assertEquals("Day 30 is invalid for month 2 in year 2000 (max 29 days)", e.getMessage());
+        }
+
+        for (InstrumentedNextDate.Outcome outcome : InstrumentedNextDate.Outcome.values()) {
+            assertEquals(outcome.toString(), outcome.isFailure() ? 1 : 0, nextDate.getCount(outcome));
+        }
+        assertEquals(4, nextDate.getValidationFailures());
+    }
+
+    /**
+     * Test: Custom year range
+     * Input: 12/31/9999 and 1/1/1811 on a 1000-9999 instance
+     * Expected: Counted as a year rollover and a success; 10000 is an invalid year
+     */
+    @Test
+    public void testCustomRange() {
+        InstrumentedNextDate wide = new InstrumentedNextDate(1000, 9999);
+        assertEquals("01/01/10000", wide.getNextDate(12, 31, 9999));
+        assertEquals(18110102, wide.nextDate(1, 1, 1811));
+        assertEquals(DateStatus.INVALID_YEAR, wide.tryNextDate(1, 1, 10000));
+        assertEquals(1, wide.getYearRollovers());
+        assertEquals(1, wide.getDayIncrements());
+        assertEquals(1, wide.getCount(InstrumentedNextDate.Outcome.INVALID_YEAR));
+        assertEquals(3, wide.getCalls());
+    }
+
+    /**
+     * Test: Calls while disabled
+     * Expected: Not counted or timed; counting resumes when re-enabled
+     */
+    @Test
+    public void testDisabled() {
+        nextDate.setEnabled(false);
+        assertFalse(nextDate.isEnabled());
+        assertEquals(20000616, nextDate.nextDate(20000615));
+        assertEquals(0, nextDate.getCalls());
+        assertEquals(0, nextDate.snapshot().getLatency().getCount());
+
+        nextDate.setEnabled(true);
+        nextDate.nextDate(20000615);
+        assertEquals(1, nextDate.getCalls());
+    }
+
+    /**
+     * Test: Snapshot and reset
+     * Expected: Snapshot keeps its values after reset; live counters go to zero
+     */
+    @Test
+    public void testSnapshotAndReset() {
+        for (int i = 0; i < 100; i++) {
+            nextDate.nextDate(12, 31, 2000);
+        }
+        InstrumentedNextDate.Snapshot snapshot = nextDate.snapshot();
+        nextDate.reset();
+
+        assertEquals(100, snapshot.getCalls());
+        assertEquals(100, snapshot.getCount(InstrumentedNextDate.Outcome.YEAR_ROLLOVER));
+        assertEquals(100, snapshot.getLatency().getCount());
+        assertTrue(snapshot.getLatency().getPercentile(50) <= snapshot.getLatency().getMax());
+        assertEquals(0, nextDate.getCalls());
+        assertEquals(0, nextDate.getLatencyMaxNanos());
+    }
+
+    /**
+     * Test: Counting from several threads
+     * Expected: No increments lost
+     */
+    @Test
+    public void testConcurrentCounting() throws InterruptedException {
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    nextDate.tryNextDate(2, 28, 2000);
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(40_000, nextDate.getFeb28To29());
+        assertEquals(40_000, nextDate.getLatencyHistogram().snapshot().getCount());
+    }
+
+    /**
+     * Test: JMX registration
+     * Expected: Attributes readable through the platform MBean server; unregister removes it
+     */
+    @Test
+    public void testJmx() throws JMException {
+        ObjectName name = nextDate.register("test");
+        try {
+            nextDate.nextDate(1, 31, 2000);
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            assertEquals(1L, server.getAttribute(name, "MonthRollovers"));
+            assertEquals(true, server.getAttribute(name, "Enabled"));
+            server.invoke(name, "reset", null, null);
+            assertEquals(0L, server.getAttribute(name, "Calls"));
+        } finally {
+            nextDate.unregister();
+        }
+        assertFalse(ManagementFactory.getPlatformMBeanServer().isRegistered(name));
+    }
+}
@@ -0,0 +1,76 @@
+package edu.seds514.nextdate;
+
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Latency Histogram Testing
+ *
+ * Tests bucket boundaries and percentile estimates.
+ */
+public class LatencyHistogramTest {
+
+    private LatencyHistogram histogram;
+
+    @Before
+    public void setUp() {
+        histogram = new LatencyHistogram();
+    }
+
+    /**
+     * Test: Bucket boundaries
+     * Expected: Bucket b holds 2^(b-1) to 2^b - 1
+     */
+    @Test
+    public void testBuckets() {
+        assertEquals(0, LatencyHistogram.bucket(0));
+        assertEquals(1, LatencyHistogram.bucket(1));
+        assertEquals(2, LatencyHistogram.bucket(2));
+        assertEquals(2, LatencyHistogram.bucket(3));
+        assertEquals(11, LatencyHistogram.bucket(1024));
+        assertEquals(63, LatencyHistogram.bucket(Long.MAX_VALUE));
+        assertEquals(1023, LatencyHistogram.upperBound(10));
+        assertEquals(Long.MAX_VALUE, LatencyHistogram.upperBound(63));
+    }
+
+    /**
+     * Test: 90 fast values and 10 slow ones
+     * Expected: p50 within the fast bucket, p99 and max at the slow value
+     */
+    @Test
+    public void testPercentiles() {
+        for (int i = 0; i < 90; i++) {
+            histogram.record(20);
+        }
+        for (int i = 0; i < 10; i++) {
+            histogram.record(5000);
+        }
+        histogram.record(-5);
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        assertEquals(101, snapshot.getCount());
+        assertEquals(1, snapshot.getBucketCount(0));
+        assertEquals(31, snapshot.getPercentile(50));
+        assertEquals(5000, snapshot.getPercentile(99));
+        assertEquals(5000, snapshot.getMax());
+        assertEquals(0, snapshot.getPercentile(0));
+    }
+
+    /**
+     * Test: Empty histogram
+     * Expected: Every percentile is 0
+     */
+    @Test
+    public void testEmpty() {
+        assertEquals(0, histogram.snapshot().getPercentile(99.9));
+    }
+
+    /**
+     * Test: Percentile above 100
+     * Expected: Should throw IllegalArgumentException
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidPercentile() {
+        histogram.snapshot().getPercentile(101);
+    }
+}
@@ -0,0 +1,155 @@
+package edu.seds514.nextdate;
+
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.util.Random;
+
+/**
+ * Day Arithmetic Testing for NextDate Program
+ *
+ * Differential tests showing plusDays, minusDays, previousDate and daysBetween
+ * agree with iterated nextDate over the whole 1812-2100 domain, plus boundary
+ * and validation checks.
+ */
+public class NextDateArithmeticTest {
+
+    private static final int FIRST = 18120101;
+    private static final int LAST = 21001231;
+
+    private NextDate nextDate;
+
+    @Before
+    public void setUp() {
+        nextDate = new NextDate();
+    }
+
+    /**
+     * Test: Walk the whole domain with nextDate
+     * Expected: At step k, plusDays(first, k) is the current date, daysBetween(first, current)
+     * is k, and previousDate undoes each step
+     */
+    @Test
+    public void testExhaustive_AgreesWithIteratedNextDate() {
+        int current = FIRST;
+        int steps = 0;
+        while (current <= LAST) {
+            assertEquals(current, nextDate.plusDays(FIRST, steps));
+            assertEquals(FIRST, nextDate.minusDays(current, steps));
+            assertEquals(steps, nextDate.daysBetween(FIRST, current));
+            assertEquals(-steps, nextDate.daysBetween(current, FIRST));
+            int next = nextDate.nextDate(current);
+            assertEquals(next, nextDate.plusDays(current, 1));
+            if (next <= LAST) {
+                assertEquals(current, nextDate.previousDate(next));
+            }
+            current = next;
+            steps++;
+        }
+        assertEquals(21010101, current);
+    }
+
+    /**
+     * Test: Random start dates and offsets
+     * Expected: plusDays(start, n) equals n iterated nextDate calls
+     */
+    @Test
+    public void testRandomOffsets_AgreeWithIteratedNextDate() {
+        Random random = new Random(7);
+        for (int trial = 0; trial < 500; trial++) {
+            int start = PackedDate.fromOrdinal(random.nextInt(100_000));
+            int days = random.nextInt(1500);
+            int expected = start;
+            for (int i = 0; i < days; i++) {
+                expected = nextDate.nextDate(expected);
+            }
+            assertEquals(expected, nextDate.plusDays(start, days));
+            assertEquals(start, nextDate.minusDays(expected, days));
+            assertEquals(days, nextDate.daysBetween(start, expected));
+        }
+    }
+
+    /**
+     * Test: Previous date across month, leap and year boundaries
+     * Expected: 02/29/2000, 02/28/1900, 12/31/1999 and 04/30/2000
+     */
+    @Test
+    public void testPreviousDate_Boundaries() {
+        assertEquals("02/29/2000", nextDate.getPreviousDate(3, 1, 2000));
+        assertEquals("02/28/1900", nextDate.getPreviousDate(3, 1, 1900));
+        assertEquals("12/31/1999", nextDate.getPreviousDate(1, 1, 2000));
+        assertEquals(20000430, nextDate.previousDate(5, 1, 2000));
+    }
+
+    /**
+     * Test: Previous date of the first valid date
+     * Expected: Should throw IllegalArgumentException
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testPreviousDate_BeforeFirstDate() {
+        nextDate.getPreviousDate(1, 1, 1812);
+    }
+
+    /**
+     * Test: Previous date of fields that would pack into another date
+     * Input: 6/115/2000, 0/101/2000, 13/1/2000
+     * Expected: Same messages as getNextDate
+     */
+    @Test
+    public void testPreviousDate_InvalidFields() {
+        int[][] dates = {{6, 115, 2000}, {0, 101, 2000}, {13, 1, 2000}};
+        for (int[] date : dates) {
+            String expected = null;
+            try {
+                nextDate.getNextDate(date[0], date[1], date[2]);
+            } catch (IllegalArgumentException e) {
+                expected = e.getMessage();
+            }
+            try {
+                nextDate.getPreviousDate(date[0], date[1], date[2]);
+                fail("Expected IllegalArgumentException");
+            } catch (IllegalArgumentException e) {
+                assertEquals(expected, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Test: Adding past 01/01/2101
+     * Expected: Should throw IllegalArgumentException
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testPlusDays_PastUpperLimit() {
+        nextDate.plusDays(LAST, 2);
+    }
+
+    /**
+     * Test: Large offsets do not overflow
+     * Expected: Should throw IllegalArgumentException
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testMinusDays_MinValue() {
+        nextDate.minusDays(FIRST, Integer.MIN_VALUE);
+    }
+
+    /**
+     * Test: Invalid input date
+     * Expected: Same message as getNextDate
+     */
+    @Test
+    public void testInvalidInput_MatchesGetNextDate() {
+        try {
+            nextDate.plusDays(20000431, 1);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            assertEquals("Day 31 is invalid for month 4 in year 2000 (max 30 days)", e.getMessage());
+        }
+        try {
+            nextDate.daysBetween(FIRST, 21010101);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            assertEquals("Year must be between 1812 and 2100", e.getMessage());
+        }
+    }
+}
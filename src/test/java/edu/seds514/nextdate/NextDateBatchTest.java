@@ -0,0 +1,149 @@
+package edu.seds514.nextdate;
+
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Batch API Testing for NextDate Program
+ *
+ * Tests the column-oriented nextDates methods against row-by-row getNextDate,
+ * including invalid rows reported through the side bitmap.
+ */
+public class NextDateBatchTest {
+
+    private static final int ROWS = 10_000;
+
+    private NextDate nextDate;
+    private int[] months;
+    private int[] days;
+    private int[] years;
+
+    @Before
+    public void setUp() {
+        nextDate = new NextDate();
+        Random random = new Random(514);
+        months = new int[ROWS];
+        days = new int[ROWS];
+        years = new int[ROWS];
+        for (int i = 0; i < ROWS; i++) {
+            // Slightly wider than the valid ranges so roughly a fifth of rows are invalid
+            months[i] = random.nextInt(14);
+            days[i] = random.nextInt(33);
+            years[i] = 1800 + random.nextInt(310);
+        }
+    }
+
+    /**
+     * Test: Parallel month/day/year columns
+     * Expected: Every valid row matches getNextDate, every invalid row is flagged and zeroed
+     */
+    @Test
+    public void testColumns_MatchRowByRow() {
+        int[] nextMonths = new int[ROWS];
+        int[] nextDays = new int[ROWS];
+        int[] nextYears = new int[ROWS];
+        long[] invalid = new long[(ROWS + 63) / 64];
+
+        int invalidCount = nextDate.nextDates(months, days, years, 0, ROWS,
+            nextMonths, nextDays, nextYears, invalid);
+
+        int expectedInvalid = 0;
+        for (int i = 0; i < ROWS; i++) {
+            boolean flagged = (invalid[i >>> 6] & (1L << i)) != 0;
+            String expected = expectedOrNull(months[i], days[i], years[i]);
+            if (expected == null) {
+                expectedInvalid++;
+                assertTrue("row " + i, flagged);
+                assertEquals(0, nextMonths[i]);
+            } else {
+                assertFalse("row " + i, flagged);
+                assertEquals(expected,
+                    String.format("%02d/%02d/%04d", nextMonths[i], nextDays[i], nextYears[i]));
+            }
+        }
+        assertEquals(expectedInvalid, invalidCount);
+        assertTrue(invalidCount > 0);
+    }
+
+    /**
+     * Test: Packed column processed in place with an offset
+     * Expected: Rows outside [offset, offset + length) untouched, bitmap relative to offset
+     */
+    @Test
+    public void testPacked_InPlaceWithOffset() {
+        int[] dates = new int[ROWS];
+        for (int i = 0; i < ROWS; i++) {
+            dates[i] = PackedDate.pack(months[i], days[i], years[i]);
+        }
+        int[] original = dates.clone();
+        int offset = 100;
+        int length = 5_000;
+        long[] invalid = new long[(length + 63) / 64];
+        Arrays.fill(invalid, -1L);
+
+        int invalidCount = nextDate.nextDates(dates, offset, length, dates, invalid);
+
+        int flagged = 0;
+        for (int i = 0; i < ROWS; i++) {
+            if (i < offset || i >= offset + length) {
+                assertEquals(original[i], dates[i]);
+                continue;
+            }
+            int row = i - offset;
+            boolean isInvalid = (invalid[row >>> 6] & (1L << row)) != 0;
+            String expected = expectedOrNull(months[i], days[i], years[i]);
+            if (expected == null) {
+                assertTrue(isInvalid);
+                flagged++;
+            } else {
+                assertFalse(isInvalid);
+                assertEquals(nextDate.nextDate(original[i]), dates[i]);
+            }
+        }
+        assertEquals(flagged, invalidCount);
+    }
+
+    /**
+     * Test: Decision-table boundaries in one batch
+     * Expected: Same results as the single-date API
+     */
+    @Test
+    public void testPacked_DecisionTableRows() {
+        int[] dates = {20000615, 20000131, 20000630, 20000228, 20000229, 19000228, 19991231, 21001231};
+        int[] next = new int[dates.length];
+        assertEquals(0, nextDate.nextDates(dates, 0, dates.length, next, new long[1]));
+        assertArrayEquals(
+            new int[] {20000616, 20000201, 20000701, 20000229, 20000301, 19000301, 20000101, 21010101},
+            next);
+    }
+
+    /**
+     * Test: Batch longer than its column
+     * Expected: Should throw IndexOutOfBoundsException
+     */
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testPacked_LengthBeyondColumn() {
+        nextDate.nextDates(new int[10], 5, 6, new int[10], new long[1]);
+    }
+
+    /**
+     * Test: Bitmap too small for the batch
+     * Expected: Should throw IndexOutOfBoundsException
+     */
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testPacked_BitmapTooSmall() {
+        nextDate.nextDates(new int[100], 0, 100, new int[100], new long[1]);
+    }
+
+    private String expectedOrNull(int month, int day, int year) {
+        try {
+            return nextDate.getNextDate(month, day, year);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package edu.seds514.nextdate;
+
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Buffer Output Testing for NextDate Program
+ *
+ * Tests the getNextDate overloads that write "MM/DD/YYYY" into caller-supplied
+ * char[], byte[], StringBuilder, Appendable, CharBuffer and ByteBuffer targets.
+ * Every overload must produce exactly the same text as the String-returning method.
+ */
+public class NextDateBufferOutputTest {
+
+    private NextDate nextDate;
+
+    @Before
+    public void setUp() {
+        nextDate = new NextDate();
+    }
+
+    /**
+     * Test: String output matches String.format for every date in the valid range
+     * Expected: Byte-identical to the original "%02d/%02d/%04d" formatting
+     */
+    @Test
+    public void testStringOutput_MatchesStringFormat() {
+        for (int year = 1812; year <= 2100; year++) {
+            for (int month = 1; month <= 12; month++) {
+                for (int day = 1; day <= 31; day++) {
+                    String expected = expectedNextDate(month, day, year);
+                    if (expected == null) {
+                        continue;
+                    }
+                    assertEquals(expected, nextDate.getNextDate(month, day, year));
+                }
+            }
+        }
+    }
+
+    /**
+     * Test: char[] output at an offset
+     * Input: Dec 31, 1999 written at offset 3
+     * Expected: 01/01/2000 at [3, 13), surrounding chars untouched
+     */
+    @Test
+    public void testCharArray_AtOffset() {
+        char[] buffer = "xxx..........yy".toCharArray();
+        int written = nextDate.getNextDate(12, 31, 1999, buffer, 3);
+        assertEquals(NextDate.FORMATTED_LENGTH, written);
+        assertEquals("xxx01/01/2000yy", new String(buffer));
+    }
+
+    /**
+     * Test: byte[] output at an offset
+     * Input: Feb 28, 2000 written at offset 1
+     * Expected: ASCII 02/29/2000 at [1, 11)
+     */
+    @Test
+    public void testByteArray_AtOffset() {
+        byte[] buffer = new byte[12];
+        int written = nextDate.getNextDate(2, 28, 2000, buffer, 1);
+        assertEquals(NextDate.FORMATTED_LENGTH, written);
+        assertEquals("02/29/2000", new String(buffer, 1, written, StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * Test: char[] too small for the result
+     * Expected: Should throw IndexOutOfBoundsException
+     */
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testCharArray_NoRoom() {
+        nextDate.getNextDate(6, 15, 2000, new char[12], 3);
+    }
+
+    /**
+     * Test: Negative byte[] offset
+     * Expected: Should throw IndexOutOfBoundsException
+     */
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testByteArray_NegativeOffset() {
+        nextDate.getNextDate(6, 15, 2000, new byte[20], -1);
+    }
+
+    /**
+     * Test: Invalid date written to an array
+     * Expected: Should throw IllegalArgumentException and leave the array untouched
+     */
+    @Test
+    public void testCharArray_InvalidDateLeavesBufferUntouched() {
+        char[] buffer = new char[NextDate.FORMATTED_LENGTH];
+        try {
+            nextDate.getNextDate(2, 30, 2000, buffer, 0);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException expected) {
+            assertArrayEquals(new char[NextDate.FORMATTED_LENGTH], buffer);
+        }
+    }
+
+    /**
+     * Test: StringBuilder output is appended after existing content
+     * Expected: "next=03/01/1900"
+     */
+    @Test
+    public void testStringBuilder_Appends() {
+        StringBuilder builder = new StringBuilder("next=");
+        assertSame(builder, nextDate.getNextDate(2, 28, 1900, builder));
+        assertEquals("next=03/01/1900", builder.toString());
+    }
+
+    /**
+     * Test: Appendable output
+     * Expected: 01/01/2101 for the last valid date
+     */
+    @Test
+    public void testAppendable_Appends() throws IOException {
+        Appendable out = new StringBuilder();
+        nextDate.getNextDate(12, 31, 2100, out);
+        assertEquals("01/01/2101", out.toString());
+    }
+
+    /**
+     * Test: CharBuffer output advances the position
+     * Expected: Position moves by 10 and the text is 07/01/2024
+     */
+    @Test
+    public void testCharBuffer_AdvancesPosition() {
+        CharBuffer buffer = CharBuffer.allocate(16);
+        buffer.position(2);
+        nextDate.getNextDate(6, 30, 2024, buffer);
+        assertEquals(12, buffer.position());
+        buffer.flip().position(2);
+        assertEquals("07/01/2024", buffer.toString());
+    }
+
+    /**
+     * Test: Direct ByteBuffer output advances the position
+     * Expected: Position moves by 10 and the bytes are 05/01/2023
+     */
+    @Test
+    public void testByteBuffer_AdvancesPosition() {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(10);
+        nextDate.getNextDate(4, 30, 2023, buffer);
+        assertEquals(10, buffer.position());
+        byte[] bytes = new byte[10];
+        buffer.flip();
+        buffer.get(bytes);
+        assertEquals("05/01/2023", new String(bytes, StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * Test: ByteBuffer with too few bytes remaining
+     * Expected: Should throw BufferOverflowException without writing anything
+     */
+    @Test
+    public void testByteBuffer_Overflow() {
+        ByteBuffer buffer = ByteBuffer.allocate(9);
+        try {
+            nextDate.getNextDate(6, 15, 2000, buffer);
+            fail("Expected BufferOverflowException");
+        } catch (BufferOverflowException expected) {
+            assertEquals(0, buffer.position());
+        }
+    }
+
+    /**
+     * Reference implementation of the original formatting, or null for an invalid date.
+     */
+    private static String expectedNextDate(int month, int day, int year) {
+        int[] daysInMonth = {31, 28, 31, 30, 31, 30, 31, 31, 30, 31, 30, 31};
+        boolean leap = (year % 4 == 0 && year % 100 != 0) || year % 400 == 0;
+        int max = month == 2 && leap ? 29 : daysInMonth[month - 1];
+        if (day > max) {
+            return null;
+        }
+        int nextDay = day + 1;
+        int nextMonth = month;
+        int nextYear = year;
+        if (nextDay > max) {
+            nextDay = 1;
+            nextMonth++;
+            if (nextMonth > 12) {
+                nextMonth = 1;
+                nextYear++;
+            }
+        }
+        return String.format("%02d/%02d/%04d", nextMonth, nextDay, nextYear);
+    }
+}
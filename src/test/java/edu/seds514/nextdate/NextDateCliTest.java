@@ -0,0 +1,153 @@
+package edu.seds514.nextdate;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+/**
+ * Command-Line Pipeline Testing
+ *
+ * Runs the CLI against in-memory streams and temporary files, with small batches
+ * and several threads so output ordering across batches is exercised.
+ */
+public class NextDateCliTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    private final ByteArrayOutputStream err = new ByteArrayOutputStream();
+
+    private int run(String input, String... args) {
+        return NextDateCli.run(args, new ByteArrayInputStream(input.getBytes(StandardCharsets.US_ASCII)),
+            out, new PrintStream(err, true));
+    }
+
+    private String output() {
+        return new String(out.toByteArray(), StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Test: Many random lines through 4 threads in batches of 7
+     * Expected: Output lines in input order, matching getNextDate or INVALID
+     */
+    @Test
+    public void testPipeline_PreservesOrder() {
+        NextDate nextDate = new NextDate();
+        Random random = new Random(13);
+        StringBuilder input = new StringBuilder();
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 5000; i++) {
+            int month = random.nextInt(14);
+            int day = random.nextInt(33);
+            int year = 1805 + random.nextInt(300);
+            input.append(month).append('/').append(day).append('/').append(year).append('\n');
+            try {
+                expected.append(nextDate.getNextDate(month, day, year));
+            } catch (IllegalArgumentException e) {
+                expected.append(DateFileProcessor.INVALID_LINE);
+            }
+            expected.append('\n');
+        }
+        assertEquals(NextDateCli.EXIT_OK, run(input.toString(), "--threads", "4", "--batch-size", "7"));
+        assertEquals(expected.toString(), output());
+    }
+
+    /**
+     * Test: Invalid lines with --on-invalid skip
+     * Expected: Only valid lines produce output
+     */
+    @Test
+    public void testSkipInvalid() {
+        assertEquals(NextDateCli.EXIT_OK, run("02/28/2000\n02/30/2000\nhello\n12/31/2100\n", "--on-invalid", "skip"));
+        assertEquals("02/29/2000\n01/01/2101\n", output());
+    }
+
+    /**
+     * Test: Invalid line with --on-invalid fail
+     * Expected: Exit status 1, output stops before the bad line, error names the line and reason
+     */
+    @Test
+    public void testFailOnInvalid() {
+        assertEquals(NextDateCli.EXIT_FAILED,
+            run("01/01/2000\n02/30/2000\n01/02/2000\n", "--on-invalid", "fail", "--batch-size", "1"));
+        assertEquals("01/02/2000\n", output());
+        String message = new String(err.toByteArray(), StandardCharsets.US_ASCII);
+        assertTrue(message, message.contains("<stdin>:2"));
+        assertTrue(message, message.contains("INVALID_DAY_FOR_MONTH"));
+    }
+
+    /**
+     * Test: Packed input, ISO and packed output, strict input
+     * Expected: Each format converts as documented
+     */
+    @Test
+    public void testFormats() {
+        assertEquals(NextDateCli.EXIT_OK, run("20000228\n2000022\n", "--input-format", "packed", "--output-format", "iso"));
+        assertEquals("2000-02-29\nINVALID\n", output());
+
+        out.reset();
+        assertEquals(NextDateCli.EXIT_OK, run("12/31/1999\n1/1/2000\n", "--input-format", "strict", "--output-format", "packed"));
+        assertEquals("20000101\nINVALID\n", output());
+    }
+
+    /**
+     * Test: Two files and stdin ("-") in one run
+     * Expected: Outputs concatenated in argument order
+     */
+    @Test
+    public void testFilesAndStdin() throws IOException {
+        Path first = folder.newFile("a.txt").toPath();
+        Path second = folder.newFile("b.txt").toPath();
+        Files.write(first, "1,1,2000\r\n".getBytes(StandardCharsets.US_ASCII));
+        Files.write(second, "3-1-2000".getBytes(StandardCharsets.US_ASCII));
+        assertEquals(NextDateCli.EXIT_OK, run("06/15/2000\n", first.toString(), "-", second.toString()));
+        assertEquals("01/02/2000\n06/16/2000\n03/02/2000\n", output());
+    }
+
+    /**
+     * Test: Missing input file
+     * Expected: Exit status 1 with an error message
+     */
+    @Test
+    public void testMissingFile() {
+        assertEquals(NextDateCli.EXIT_FAILED, run("", folder.getRoot().toPath().resolve("missing.txt").toString()));
+        assertTrue(new String(err.toByteArray(), StandardCharsets.US_ASCII).contains("Cannot read"));
+    }
+
+    /**
+     * Test: File name that is not a valid path
+     * Input: A name containing a NUL character
+     * Expected: Failure exit status instead of a hang
+     */
+    @Test(timeout = 10_000)
+    public void testInvalidPath() {
+        assertEquals(NextDateCli.EXIT_FAILED, run("", "bad\0name.txt"));
+        assertTrue(new String(err.toByteArray(), StandardCharsets.US_ASCII).startsWith("nextdate: "));
+    }
+
+    /**
+     * Test: Bad options
+     * Expected: Exit status 2 for unknown options, bad numbers and bad choices
+     */
+    @Test
+    public void testUsageErrors() {
+        assertEquals(NextDateCli.EXIT_USAGE, run("", "--fast"));
+        assertEquals(NextDateCli.EXIT_USAGE, run("", "--threads", "0"));
+        assertEquals(NextDateCli.EXIT_USAGE, run("", "--batch-size", "x"));
+        assertEquals(NextDateCli.EXIT_USAGE, run("", "--output-format", "json"));
+        assertEquals(NextDateCli.EXIT_USAGE, run("", "--on-invalid"));
+        assertEquals(NextDateCli.EXIT_OK, run("", "--help"));
+        assertEquals("", output());
+    }
+}
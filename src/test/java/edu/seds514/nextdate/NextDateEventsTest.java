@@ -0,0 +1,165 @@
+package edu.seds514.nextdate;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+/**
+ * Flight Recorder Event Testing
+ *
+ * Records NextDate work with in-process JFR recordings and reads the custom events back.
+ */
+public class NextDateEventsTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final NextDate nextDate = new NextDate();
+
+    private List<RecordedEvent> events(Recording recording, String name) throws IOException {
+        Path file = folder.newFile().toPath();
+        recording.dump(file);
+        return RecordingFile.readAllEvents(file).stream()
+            .filter(e -> e.getEventType().getName().equals(name))
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Test: Call events with every call sampled
+     * Expected: One event per call with input fields and result
+     */
+    @Test
+    public void testCallEvents() throws IOException {
+        try (Recording recording = new Recording()) {
+            recording.enable("edu.seds514.nextdate.Call").with("sampleInterval", "1");
+            recording.start();
+            nextDate.getNextDate(2, 28, 2000);
+            nextDate.tryNextDate(2, 30, 2000);
+            recording.stop();
+
+            List<RecordedEvent> calls = events(recording, "edu.seds514.nextdate.Call");
+            assertEquals(2, calls.size());
+            assertEquals(28, calls.get(0).getInt("day"));
+            assertEquals(20000229, calls.get(0).getInt("result"));
+            assertEquals(DateStatus.INVALID_DAY_FOR_MONTH, calls.get(1).getInt("result"));
+        }
+    }
+
+    /**
+     * Test: Call events with a high threshold
+     * Expected: Fast calls are filtered out
+     */
+    @Test
+    public void testCallEvents_Threshold() throws IOException {
+        try (Recording recording = new Recording()) {
+            recording.enable("edu.seds514.nextdate.Call").with("sampleInterval", "1")
+                .withThreshold(Duration.ofSeconds(10));
+            recording.start();
+            for (int i = 0; i < 100; i++) {
+                nextDate.tryNextDate(6, 15, 2000);
+            }
+            recording.stop();
+            assertTrue(events(recording, "edu.seds514.nextdate.Call").isEmpty());
+        }
+    }
+
+    /**
+     * Test: Recording with default settings for the NextDate events
+     * Expected: Batch events recorded; call and validation events stay off
+     */
+    @Test
+    public void testDefaults() throws IOException {
+        try (Recording recording = new Recording()) {
+            recording.enable("edu.seds514.nextdate.Batch");
+            recording.start();
+            nextDate.tryNextDate(2, 30, 2000);
+            int[] dates = {20000228, 20000230, 20001231};
+            nextDate.nextDates(dates, 0, 3, new int[3], new long[1]);
+            recording.stop();
+
+            List<RecordedEvent> batches = events(recording, "edu.seds514.nextdate.Batch");
+            assertEquals(1, batches.size());
+            assertEquals(3, batches.get(0).getInt("rows"));
+            assertEquals(1, batches.get(0).getInt("invalidRows"));
+            assertFalse(batches.get(0).getBoolean("parallel"));
+            assertTrue(events(recording, "edu.seds514.nextdate.Call").isEmpty());
+            assertTrue(events(recording, "edu.seds514.nextdate.ValidationFailure").isEmpty());
+        }
+    }
+
+    /**
+     * Test: Validation failure events, including from a throwing method
+     * Expected: Reason code and name for each rejected date
+     */
+    @Test
+    public void testValidationFailureEvents() throws IOException {
+        try (Recording recording = new Recording()) {
+            recording.enable("edu.seds514.nextdate.ValidationFailure");
+            recording.start();
+            nextDate.tryNextDate(13, 1, 2000);
+            try {
+                nextDate.getNextDate(1, 1, 1811);
+            } catch (IllegalArgumentException expected) {
+                // recorded before the throw
+            }
+            nextDate.tryNextDate(1, 1, 2000);
+            recording.stop();
+
+            List<RecordedEvent> failures = events(recording, "edu.seds514.nextdate.ValidationFailure");
+            assertEquals(2, failures.size());
+            assertEquals(DateStatus.INVALID_MONTH, failures.get(0).getInt("reasonCode"));
+            assertEquals("INVALID_MONTH", failures.get(0).getString("reason"));
+            assertEquals("INVALID_YEAR", failures.get(1).getString("reason"));
+            assertNotNull(failures.get(1).getStackTrace());
+        }
+    }
+
+    /**
+     * Test: Sample interval setting values
+     * Expected: Smallest valid interval wins; bad and missing values fall back to the default
+     */
+    @Test
+    public void testSampleIntervalSetting() throws ReflectiveOperationException {
+        // Reflective: javac --release 11 cannot see the internal superclass of SettingControl
+        Class<?> type = Class.forName("edu.seds514.nextdate.SampleIntervalSetting");
+        Object setting = type.getDeclaredConstructor().newInstance();
+        Method combine = type.getMethod("combine", Set.class);
+        Method setValue = type.getMethod("setValue", String.class);
+        Method getValue = type.getMethod("getValue");
+        Method sample = type.getDeclaredMethod("sample");
+        String defaultInterval = type.getDeclaredField("DEFAULT_INTERVAL").get(null).toString();
+
+        assertEquals("8", combine.invoke(setting, new HashSet<>(Arrays.asList("64", "8", "x"))));
+        assertEquals(defaultInterval, combine.invoke(setting, Collections.singleton("0")));
+        assertEquals(defaultInterval, combine.invoke(setting, Collections.singleton(null)));
+        setValue.invoke(setting, "1");
+        assertEquals("1", getValue.invoke(setting));
+        assertEquals(true, sample.invoke(setting));
+        setValue.invoke(setting, "2");
+        int kept = 0;
+        for (int i = 0; i < 200; i++) {
+            kept += (Boolean) sample.invoke(setting) ? 1 : 0;
+        }
+        assertTrue(kept > 0 && kept < 200);
+        setValue.invoke(setting, "-3");
+        assertEquals(defaultInterval, getValue.invoke(setting));
+        // JFR passes null when combining fails on some JDKs
+        setValue.invoke(setting, (String) null);
+        assertEquals(defaultInterval, getValue.invoke(setting));
+    }
+}
@@ -0,0 +1,309 @@
+package edu.seds514.nextdate;
+
+import org.junit.AfterClass;
+import org.junit.Assume;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import com.sun.management.ThreadMXBean;
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Allocation and Throughput Regression Testing
+ *
+ * Runs the hot paths over the inputs of the boundary value, equivalence class and
+ * decision table tests, and fails when a path allocates more bytes per call, or
+ * completes fewer calls per second, than its budget. Allocation is read from
+ * {@code com.sun.management.ThreadMXBean#getThreadAllocatedBytes}.
+ *
+ * Not part of {@code mvn test}: the {@code performance-tests} Surefire execution
+ * runs it in the integration-test phase ({@code mvn verify}), without the JaCoCo
+ * agent. Budgets come from system properties:
+ * - {@code nextdate.perf.maxBytesPerCall} for the allocation-free paths (default 0)
+ * - {@code nextdate.perf.maxBytesPerString} for getNextDate returning a String (default 96:
+ *   the String, its byte array and the char buffer it is built from)
+ * - {@code nextdate.perf.minCallsPerSecond} for every path (default 1,000,000)
+ * - {@code nextdate.perf.calls} measured calls per path (default 2,000,000)
+ * Results are written as JSON to {@code nextdate.perf.report}
+ * (default target/site/performance/nextdate-performance.json).
+ */
+public class NextDatePerformanceTest {
+
+    /** Inputs of NextDateBoundaryValueTest, as {month, day, year}. */
+    private static final int[][] BOUNDARY = {
+        {6, 15, 1811}, {6, 15, 1812}, {6, 15, 1813}, {6, 15, 2099}, {6, 15, 2100}, {6, 15, 2101},
+        {0, 15, 2000}, {1, 15, 2000}, {2, 15, 2000}, {11, 15, 2000}, {12, 15, 2000}, {13, 15, 2000},
+        {1, 0, 2000}, {1, 1, 2000}, {1, 2, 2000}, {1, 30, 2000}, {1, 31, 2000}, {1, 32, 2000}
+    };
+
+    /** Inputs of NextDateEquivalenceClassTest. */
+    private static final int[][] EQUIVALENCE = {
+        {6, 15, 2000}, {6, 15, 1811}, {6, 15, 2101}, {0, 15, 2000}, {13, 15, 2000}, {1, 0, 2000},
+        {1, 15, 2000}, {1, 31, 2000}, {4, 15, 2000}, {4, 30, 2000}, {2, 15, 2000}, {2, 15, 2023},
+        {2, 28, 2000}, {2, 29, 2000}, {2, 30, 2000}, {2, 28, 2019}, {2, 28, 2023}, {2, 28, 2024},
+        {2, 28, 2100}, {12, 31, 2000}
+    };
+
+    /** Inputs of NextDateDecisionTableTest. */
+    private static final int[][] DECISION_TABLE = {
+        {6, 15, 2000}, {1, 31, 2000}, {3, 31, 2000}, {4, 30, 2000}, {9, 30, 2000}, {2, 28, 2000},
+        {2, 28, 2024}, {2, 29, 2000}, {2, 29, 2024}, {2, 28, 2019}, {2, 28, 2023}, {2, 28, 2100},
+        {12, 31, 2000}, {12, 31, 2024}
+    };
+
+    private static final String[] SET_NAMES = {"boundary", "equivalence", "decisionTable"};
+    private static final int[][][] SETS = {BOUNDARY, EQUIVALENCE, DECISION_TABLE};
+
+    private static final int WARMUP_ROUNDS = 20;
+    private static final int WARMUP_CALLS = 20_000;
+
+    private static final long MAX_BYTES_PER_CALL = Long.getLong("nextdate.perf.maxBytesPerCall", 0);
+    private static final long MAX_BYTES_PER_STRING = Long.getLong("nextdate.perf.maxBytesPerString", 96);
+    private static final long MIN_CALLS_PER_SECOND = Long.getLong("nextdate.perf.minCallsPerSecond", 1_000_000);
+    private static final int CALLS = Integer.getInteger("nextdate.perf.calls", 2_000_000);
+    private static final Path REPORT = Paths.get(System.getProperty("nextdate.perf.report",
+        "target/site/performance/nextdate-performance.json"));
+
+    private static final List<Result> RESULTS = new ArrayList<>();
+
+    private static ThreadMXBean threads;
+
+    private final NextDate nextDate = new NextDate();
+
+    /** Keeps results alive so the JIT cannot drop the measured calls. */
+    private long sink;
+
+    /**
+     * One measured call over row {@code i} of the input columns.
+     */
+    private interface Call {
+        long run(int i);
+    }
+
+    @BeforeClass
+    public static void setUpClass() {
+        Object bean = ManagementFactory.getThreadMXBean();
+        Assume.assumeTrue("Thread allocation counters are not available",
+            bean instanceof ThreadMXBean && ((ThreadMXBean) bean).isThreadAllocatedMemorySupported());
+        threads = (ThreadMXBean) bean;
+        threads.setThreadAllocatedMemoryEnabled(true);
+    }
+
+    @AfterClass
+    public static void writeReport() throws IOException {
+        if (REPORT.getParent() != null) {
+            Files.createDirectories(REPORT.getParent());
+        }
+        try (Writer out = Files.newBufferedWriter(REPORT, StandardCharsets.UTF_8)) {
+            out.write("{\n");
+            out.write("  \"suite\": \"" + NextDatePerformanceTest.class.getName() + "\",\n");
+            out.write("  \"javaVersion\": \"" + System.getProperty("java.version") + "\",\n");
+            out.write("  \"callsPerPath\": " + CALLS + ",\n");
+            out.write("  \"results\": [");
+            for (int i = 0; i < RESULTS.size(); i++) {
+                out.write(i == 0 ? "\n" : ",\n");
+                out.write("    " + RESULTS.get(i).toJson());
+            }
+            out.write("\n  ]\n}\n");
+        }
+    }
+
+    /**
+     * Test: tryNextDate on every input, valid or not
+     * Expected: No allocation; at least the minimum calls per second
+     */
+    @Test
+    public void testTryNextDate() {
+        for (int s = 0; s < SETS.length; s++) {
+            Columns in = new Columns(SETS[s], false);
+            check(measure("tryNextDate", SET_NAMES[s], in,
+                i -> nextDate.tryNextDate(in.months[i], in.days[i], in.years[i])), MAX_BYTES_PER_CALL);
+        }
+    }
+
+    /**
+     * Test: nextDate(month, day, year) on the valid inputs
+     * Expected: No allocation; at least the minimum calls per second
+     */
+    @Test
+    public void testNextDatePacked() {
+        for (int s = 0; s < SETS.length; s++) {
+            Columns in = new Columns(SETS[s], true);
+            check(measure("nextDate", SET_NAMES[s], in,
+                i -> nextDate.nextDate(in.months[i], in.days[i], in.years[i])), MAX_BYTES_PER_CALL);
+        }
+    }
+
+    /**
+     * Test: getNextDate into a char array on the valid inputs
+     * Expected: No allocation; at least the minimum calls per second
+     */
+    @Test
+    public void testGetNextDateIntoArray() {
+        char[] dst = new char[NextDate.FORMATTED_LENGTH];
+        for (int s = 0; s < SETS.length; s++) {
+            Columns in = new Columns(SETS[s], true);
+            check(measure("getNextDate(char[])", SET_NAMES[s], in,
+                i -> nextDate.getNextDate(in.months[i], in.days[i], in.years[i], dst, 0) + dst[9]), MAX_BYTES_PER_CALL);
+        }
+    }
+
+    /**
+     * Test: getNextDate returning a String on the valid inputs
+     * Expected: No more than the String itself; at least the minimum calls per second
+     */
+    @Test
+    public void testGetNextDateString() {
+        for (int s = 0; s < SETS.length; s++) {
+            Columns in = new Columns(SETS[s], true);
+            check(measure("getNextDate", SET_NAMES[s], in,
+                i -> nextDate.getNextDate(in.months[i], in.days[i], in.years[i]).length()), MAX_BYTES_PER_STRING);
+        }
+    }
+
+    /**
+     * Test: Batch nextDates over every input, 4096 rows per call
+     * Expected: No allocation per row; at least the minimum rows per second
+     */
+    @Test
+    public void testNextDatesBatch() {
+        int rows = 4096;
+        int[] dates = new int[rows];
+        int[] next = new int[rows];
+        long[] invalid = new long[rows / 64];
+        for (int s = 0; s < SETS.length; s++) {
+            int[][] set = SETS[s];
+            for (int i = 0; i < rows; i++) {
+                int[] date = set[i % set.length];
+                dates[i] = PackedDate.pack(date[0], date[1], date[2]);
+            }
+            check(measure("nextDates", SET_NAMES[s], set.length, 1,
+                i -> nextDate.nextDates(dates, 0, rows, next, invalid) + next[rows - 1], rows), MAX_BYTES_PER_CALL);
+        }
+    }
+
+    private Result measure(String path, String inputs, Columns in, Call call) {
+        return measure(path, inputs, in.length, in.length, call, 1);
+    }
+
+    /**
+     * Warms a path up, then counts the bytes and time of {@link #CALLS} results.
+     *
+     * @param inputCount the number of inputs, for the report
+     * @param cycle calls go to rows 0 to cycle - 1 in turn
+     * @param rowsPerCall how many results one call produces; budgets are per result
+     */
+    private Result measure(String path, String inputs, int inputCount, int cycle, Call call, int rowsPerCall) {
+        int calls = Math.max(1, CALLS / rowsPerCall);
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            sink += loop(cycle, call, WARMUP_CALLS / rowsPerCall + 1);
+        }
+        long thread = Thread.currentThread().getId();
+        long bytesBefore = threads.getThreadAllocatedBytes(thread);
+        long start = System.nanoTime();
+        sink += loop(cycle, call, calls);
+        long nanos = System.nanoTime() - start;
+        long bytes = threads.getThreadAllocatedBytes(thread) - bytesBefore;
+        long results = (long) calls * rowsPerCall;
+        return new Result(path, inputs, inputCount, results, bytes,
+            results * 1_000_000_000.0 / Math.max(1, nanos));
+    }
+
+    private static long loop(int cycle, Call call, int calls) {
+        long sum = 0;
+        int row = 0;
+        for (int i = 0; i < calls; i++) {
+            sum += call.run(row);
+            if (++row == cycle) {
+                row = 0;
+            }
+        }
+        return sum;
+    }
+
+    private static void check(Result result, long maxBytes) {
+        result.maxBytesPerCall = maxBytes;
+        result.minCallsPerSecond = MIN_CALLS_PER_SECOND;
+        RESULTS.add(result);
+        // Compared as totals: a per-call quotient would round a batch call's bytes down to 0
+        assertTrue(result.path + " on " + result.inputs + " allocated " + result.bytes + " bytes in "
+            + result.calls + " calls (budget " + maxBytes + " per call)", result.withinByteBudget());
+        assertTrue(result.path + " on " + result.inputs + " ran " + (long) result.callsPerSecond
+            + " calls/s (budget " + MIN_CALLS_PER_SECOND + ")", result.callsPerSecond >= MIN_CALLS_PER_SECOND);
+    }
+
+    /**
+     * An input set split into month, day and year columns.
+     */
+    private final class Columns {
+        final int[] months;
+        final int[] days;
+        final int[] years;
+        final int length;
+
+        Columns(int[][] set, boolean validOnly) {
+            List<int[]> rows = new ArrayList<>();
+            for (int[] date : set) {
+                if (!validOnly || nextDate.checkDate(date[0], date[1], date[2]) == DateStatus.OK) {
+                    rows.add(date);
+                }
+            }
+            length = rows.size();
+            months = new int[length];
+            days = new int[length];
+            years = new int[length];
+            for (int i = 0; i < length; i++) {
+                months[i] = rows.get(i)[0];
+                days[i] = rows.get(i)[1];
+                years[i] = rows.get(i)[2];
+            }
+        }
+    }
+
+    /**
+     * Measurement of one path on one input set.
+     */
+    private static final class Result {
+        final String path;
+        final String inputs;
+        final int inputCount;
+        final long calls;
+        final long bytes;
+        final double callsPerSecond;
+        long maxBytesPerCall;
+        long minCallsPerSecond;
+
+        Result(String path, String inputs, int inputCount, long calls, long bytes, double callsPerSecond) {
+            this.path = path;
+            this.inputs = inputs;
+            this.inputCount = inputCount;
+            this.calls = calls;
+            this.bytes = bytes;
+            this.callsPerSecond = callsPerSecond;
+        }
+
+        boolean withinByteBudget() {
+            return bytes <= maxBytesPerCall * calls;
+        }
+
+        String toJson() {
+            boolean passed = withinByteBudget() && callsPerSecond >= minCallsPerSecond;
+            return String.format(Locale.ROOT,
+                "{\"path\": \"%s\", \"inputs\": \"%s\", \"inputCount\": %d, \"calls\": %d, "
+                    + "\"bytes\": %d, \"bytesPerCall\": %.3f, \"maxBytesPerCall\": %d, \"callsPerSecond\": %.0f, "
+                    + "\"minCallsPerSecond\": %d, \"passed\": %b}",
+                path, inputs, inputCount, calls, bytes, (double) bytes / calls, maxBytesPerCall, callsPerSecond,
+                minCallsPerSecond, passed);
+        }
+    }
+}
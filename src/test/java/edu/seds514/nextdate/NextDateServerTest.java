@@ -0,0 +1,480 @@
+package edu.seds514.nextdate;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.net.HttpURLConnection;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Date Service Testing
+ *
+ * Runs the server on free loopback ports and checks both protocols against the
+ * in-process NextDate results.
+ */
+public class NextDateServerTest {
+
+    private NextDateServer server;
+    private NextDate nextDate;
+
+    @Before
+    public void setUp() throws IOException {
+        server = new NextDateServer(0, 0, 4);
+        nextDate = new NextDate();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        server.close();
+    }
+
+    private int[] randomDates(Random random, int count) {
+        int[] dates = new int[count];
+        for (int i = 0; i < count; i++) {
+            dates[i] = PackedDate.pack(random.nextInt(14), random.nextInt(33), 1805 + random.nextInt(300));
+        }
+        return dates;
+    }
+
+    /**
+     * Test: Binary batches of valid and invalid dates, including one larger than a frame
+     * Expected: Each result equals tryNextDate, so invalid rows carry their status code
+     */
+    @Test
+    public void testBinary_MatchesTryNextDate() throws IOException {
+        Random random = new Random(21);
+        try (NextDateClient client = new NextDateClient(server.getTcpPort())) {
+            for (int count : new int[] {0, 1, 63, 64, 65, 1000, NextDateServer.MAX_BATCH + 100}) {
+                int[] dates = randomDates(random, count);
+                int[] results = client.nextDates(dates);
+                for (int i = 0; i < count; i++) {
+                    assertEquals(nextDate.tryNextDate(dates[i]), results[i]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Test: Several connections at once
+     * Expected: Every connection gets its own correct results
+     */
+    @Test
+    public void testBinary_ConcurrentConnections() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Boolean>> futures = new ArrayList<>();
+            for (int c = 0; c < 8; c++) {
+                int seed = c;
+                futures.add(pool.submit(() -> {
+                    int[] dates = randomDates(new Random(seed), 5000);
+                    try (NextDateClient client = new NextDateClient(server.getTcpPort())) {
+                        for (int round = 0; round < 5; round++) {
+                            int[] results = client.nextDates(dates);
+                            for (int i = 0; i < dates.length; i++) {
+                                if (results[i] != nextDate.tryNextDate(dates[i])) {
+                                    return false;
+                                }
+                            }
+                        }
+                    }
+                    return true;
+                }));
+            }
+            for (Future<Boolean> future : futures) {
+                assertTrue(future.get());
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Test: More idle binary connections than pool threads, then HTTP and binary calls
+     * Expected: Idle connections do not hold up either protocol
+     */
+    @Test
+    public void testIdleConnectionsDoNotStarve() throws IOException {
+        List<Socket> idle = new ArrayList<>();
+        try {
+            for (int i = 0; i < 8; i++) {
+                idle.add(new Socket(InetAddress.getLoopbackAddress(), server.getTcpPort()));
+            }
+            HttpURLConnection connection = (HttpURLConnection)
+                new URL("http://127.0.0.1:" + server.getHttpPort() + "/nextdate?date=12/31/1999").openConnection();
+            connection.setReadTimeout(10_000);
+            assertEquals(200, connection.getResponseCode());
+            assertEquals("01/01/2000\n", read(connection.getInputStream()));
+            try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), server.getTcpPort())) {
+                socket.setSoTimeout(10_000);
+                DataOutputStream out = new DataOutputStream(socket.getOutputStream());
+                DataInputStream in = new DataInputStream(socket.getInputStream());
+                out.writeInt(1);
+                out.writeInt(20000228);
+                assertEquals(1, in.readInt());
+                assertEquals(20000229, in.readInt());
+            }
+        } finally {
+            for (Socket socket : idle) {
+                socket.close();
+            }
+        }
+    }
+
+    /**
+     * Test: Frame with a negative count
+     * Expected: Server closes the connection without answering
+     */
+    @Test
+    public void testBinary_BadFrameClosesConnection() throws IOException {
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), server.getTcpPort())) {
+            new DataOutputStream(socket.getOutputStream()).writeInt(-1);
+            assertEquals(-1, socket.getInputStream().read());
+        }
+    }
+
+    /**
+     * Test: HTTP GET with two date parameters
+     * Expected: Two lines, the second marked INVALID
+     */
+    @Test
+    public void testHttpGet() throws IOException {
+        URL url = new URL("http://127.0.0.1:" + server.getHttpPort() + "/nextdate?date=02/28/2000&date=02/30/2000");
+        HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+        assertEquals(200, connection.getResponseCode());
+        assertEquals("02/29/2000\nINVALID\n", read(connection.getInputStream()));
+    }
+
+    /**
+     * Test: HTTP POST with one date per line
+     * Expected: One output line per input line
+     */
+    @Test
+    public void testHttpPost() throws IOException {
+        HttpURLConnection connection = (HttpURLConnection)
+            new URL("http://127.0.0.1:" + server.getHttpPort() + "/nextdate").openConnection();
+        connection.setRequestMethod("POST");
+        connection.setDoOutput(true);
+        try (OutputStream out = connection.getOutputStream()) {
+            out.write("12/31/2100\r\n1,31,2000\nhello".getBytes(StandardCharsets.US_ASCII));
+        }
+        assertEquals(200, connection.getResponseCode());
+        assertEquals("01/01/2101\n02/01/2000\nINVALID\n", read(connection.getInputStream()));
+    }
+
+    /**
+     * Test: HTTP DELETE
+     * Expected: 405 Method Not Allowed
+     */
+    @Test
+    public void testHttpMethodNotAllowed() throws IOException {
+        HttpURLConnection connection = (HttpURLConnection)
+            new URL("http://127.0.0.1:" + server.getHttpPort() + "/nextdate").openConnection();
+        connection.setRequestMethod("DELETE");
+        assertEquals(405, connection.getResponseCode());
+    }
+
+    /**
+     * Test: Close with an idle connection open
+     * Expected: The client sees the connection closed
+     */
+    @Test
+    public void testCloseDropsConnections() throws IOException {
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), server.getTcpPort())) {
+            DataOutputStream out = new DataOutputStream(socket.getOutputStream());
+            DataInputStream in = new DataInputStream(socket.getInputStream());
+            out.writeInt(1);
+            out.writeInt(20000228);
+            assertEquals(1, in.readInt());
+            assertEquals(20000229, in.readInt());
+            server.close();
+            assertEquals(-1, in.read());
+        }
+    }
+
+    /**
+     * Test: Client range variant over the middle rows of an array
+     * Expected: Only those rows of the results array are written
+     */
+    @Test
+    public void testBinary_OffsetAndLength() throws IOException {
+        int[] dates = {20000228, 21001231, 20000230, 19991231};
+        int[] results = {7, 7, 7, 7};
+        try (NextDateClient client = new NextDateClient(server.getTcpPort())) {
+            client.nextDates(dates, 1, 2, results);
+        }
+        assertArrayEquals(new int[] {7, 21010101, nextDate.tryNextDate(20000230), 7}, results);
+    }
+
+    /**
+     * Test: Client ranges outside the dates or results array
+     * Expected: IndexOutOfBoundsException before anything is sent
+     */
+    @Test
+    public void testBinary_RangeOutOfBounds() throws IOException {
+        try (NextDateClient client = new NextDateClient(server.getTcpPort())) {
+            try {
+                client.nextDates(new int[4], 2, 3, new int[8]);
+                fail("Expected IndexOutOfBoundsException");
+            } catch (IndexOutOfBoundsException e) {
+                // expected
+            }
+            try {
+                client.nextDates(new int[8], 2, 3, new int[4]);
+                fail("Expected IndexOutOfBoundsException");
+            } catch (IndexOutOfBoundsException e) {
+                // expected
+            }
+            assertArrayEquals(new int[] {20000229}, client.nextDates(new int[] {20000228}));
+        }
+    }
+
+    /**
+     * Test: A peer that answers a frame of 2 dates with a frame of 1
+     * Expected: The client throws IOException naming both counts
+     */
+    @Test
+    public void testClient_BadAnswer() throws Exception {
+        try (ServerSocket peer = new ServerSocket(0, 0, InetAddress.getLoopbackAddress())) {
+            Future<?> answer = Executors.newSingleThreadExecutor().submit(() -> {
+                try (Socket socket = peer.accept()) {
+                    DataInputStream in = new DataInputStream(socket.getInputStream());
+                    DataOutputStream out = new DataOutputStream(socket.getOutputStream());
+                    in.readInt();
+                    in.readInt();
+                    in.readInt();
+                    out.writeInt(1);
+                    out.writeInt(20000229);
+                    out.flush();
+                    in.read();
+                }
+                return null;
+            });
+            try (NextDateClient client = new NextDateClient(peer.getLocalPort())) {
+                client.nextDates(new int[] {20000228, 20000229});
+                fail("Expected IOException");
+            } catch (IOException e) {
+                assertEquals("Server answered 1 dates for a request of 2", e.getMessage());
+            }
+            answer.get(10, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * Test: Frame cut off after its first date, then the connection is closed
+     * Expected: The server drops the connection and keeps serving others
+     */
+    @Test
+    public void testBinary_TruncatedFrame() throws IOException {
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), server.getTcpPort())) {
+            DataOutputStream out = new DataOutputStream(socket.getOutputStream());
+            out.writeInt(2);
+            out.writeInt(20000228);
+            socket.shutdownOutput();
+            assertEquals(-1, socket.getInputStream().read());
+        }
+        try (NextDateClient client = new NextDateClient(server.getTcpPort())) {
+            assertArrayEquals(new int[] {20000229}, client.nextDates(new int[] {20000228}));
+        }
+    }
+
+    /**
+     * Test: Server limited to 2 connections; a third connects while both are open
+     * Expected: The third is closed at once; after one of the first two closes, a new one is served
+     */
+    @Test
+    public void testBinary_ConnectionLimit() throws Exception {
+        try (NextDateServer limited = new NextDateServer(0, 0, 1, 2);
+             NextDateClient first = new NextDateClient(limited.getTcpPort());
+             NextDateClient second = new NextDateClient(limited.getTcpPort())) {
+            assertArrayEquals(new int[] {20000229}, first.nextDates(new int[] {20000228}));
+            assertArrayEquals(new int[] {20000229}, second.nextDates(new int[] {20000228}));
+            try (Socket third = new Socket(InetAddress.getLoopbackAddress(), limited.getTcpPort())) {
+                third.setSoTimeout(10_000);
+                assertEquals(-1, third.getInputStream().read());
+            }
+            second.close();
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (true) {
+                try (NextDateClient next = new NextDateClient(limited.getTcpPort())) {
+                    assertArrayEquals(new int[] {20000229}, next.nextDates(new int[] {20000228}));
+                    break;
+                } catch (IOException e) {
+                    // The server has not yet seen the second connection close
+                    assertTrue(System.nanoTime() < deadline);
+                    Thread.sleep(10);
+                }
+            }
+        }
+    }
+
+    /**
+     * Test: Non-positive pool size or connection limit
+     * Expected: IllegalArgumentException
+     */
+    @Test
+    public void testInvalidConstructorArguments() throws IOException {
+        try {
+            new NextDateServer(0, 0, 0).close();
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            assertEquals("Pool threads must be positive", e.getMessage());
+        }
+        try {
+            new NextDateServer(0, 0, 1, 0).close();
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            assertEquals("Max connections must be positive", e.getMessage());
+        }
+    }
+
+    /**
+     * Test: Starting a second server on the HTTP port, then on the TCP port, of this one
+     * Expected: IOException both times; this server keeps working
+     */
+    @Test
+    public void testPortInUse() throws IOException {
+        try {
+            new NextDateServer(server.getHttpPort(), 0, 1).close();
+            fail("Expected IOException");
+        } catch (IOException e) {
+            // expected
+        }
+        try {
+            new NextDateServer(0, server.getTcpPort(), 1).close();
+            fail("Expected IOException");
+        } catch (IOException e) {
+            // expected
+        }
+        try (NextDateClient client = new NextDateClient(server.getTcpPort())) {
+            assertArrayEquals(new int[] {20000229}, client.nextDates(new int[] {20000228}));
+        }
+    }
+
+    /**
+     * Test: Virtual thread detection
+     * Expected: Matches whether this JVM can create a virtual-thread executor
+     */
+    @Test
+    public void testUsesVirtualThreads() {
+        ExecutorService virtual = NextDateServer.newVirtualThreadExecutor();
+        assertEquals(virtual != null, server.usesVirtualThreads());
+        if (virtual != null) {
+            virtual.shutdown();
+        }
+    }
+
+    /**
+     * Test: HTTP GET without a query, and with only other parameters
+     * Expected: 200 with an empty body both times
+     */
+    @Test
+    public void testHttpGet_NoDates() throws IOException {
+        for (String path : new String[] {"/nextdate", "/nextdate?x=1&dates=02/28/2000"}) {
+            HttpURLConnection connection = (HttpURLConnection)
+                new URL("http://127.0.0.1:" + server.getHttpPort() + path).openConnection();
+            assertEquals(200, connection.getResponseCode());
+            assertEquals("", read(connection.getInputStream()));
+        }
+    }
+
+    /**
+     * Test: Chunked HTTP POST (no Content-Length) of two dates
+     * Expected: Two output lines
+     */
+    @Test
+    public void testHttpPost_Chunked() throws IOException {
+        HttpURLConnection connection = (HttpURLConnection)
+            new URL("http://127.0.0.1:" + server.getHttpPort() + "/nextdate").openConnection();
+        connection.setRequestMethod("POST");
+        connection.setDoOutput(true);
+        connection.setChunkedStreamingMode(64);
+        try (OutputStream out = connection.getOutputStream()) {
+            out.write("02/28/2000\n12/31/1999\n".getBytes(StandardCharsets.US_ASCII));
+        }
+        assertEquals(200, connection.getResponseCode());
+        assertEquals("02/29/2000\n01/01/2000\n", read(connection.getInputStream()));
+    }
+
+    /**
+     * Test: Chunked HTTP POST one byte over MAX_BODY_BYTES
+     * Expected: 413 Payload Too Large
+     */
+    @Test
+    public void testHttpPost_ChunkedTooLarge() throws IOException {
+        HttpURLConnection connection = (HttpURLConnection)
+            new URL("http://127.0.0.1:" + server.getHttpPort() + "/nextdate").openConnection();
+        connection.setRequestMethod("POST");
+        connection.setDoOutput(true);
+        connection.setChunkedStreamingMode(1 << 16);
+        byte[] line = "02/28/2000\n".getBytes(StandardCharsets.US_ASCII);
+        try (OutputStream out = connection.getOutputStream()) {
+            for (int written = 0; written <= NextDateServer.MAX_BODY_BYTES; written += line.length) {
+                out.write(line);
+            }
+        }
+        assertEquals(413, connection.getResponseCode());
+    }
+
+    /**
+     * Test: HTTP POST declaring a Content-Length over MAX_BODY_BYTES, with no body sent
+     * Expected: 413 Payload Too Large without waiting for the body
+     */
+    @Test
+    public void testHttpPost_ContentLengthTooLarge() throws IOException {
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), server.getHttpPort())) {
+            socket.setSoTimeout(10_000);
+            socket.getOutputStream().write(("POST /nextdate HTTP/1.1\r\nHost: 127.0.0.1\r\nContent-Length: "
+                + (NextDateServer.MAX_BODY_BYTES + 1) + "\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+            String status = new BufferedReader(new InputStreamReader(
+                socket.getInputStream(), StandardCharsets.US_ASCII)).readLine();
+            assertTrue(status, status.startsWith("HTTP/1.1 413 "));
+        }
+    }
+
+    /**
+     * Test: Server main with free ports and one pool thread
+     * Expected: A startup line naming both protocols
+     */
+    @Test
+    public void testMain() throws IOException {
+        PrintStream original = System.out;
+        ByteArrayOutputStream captured = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(captured, true, "US-ASCII"));
+        try {
+            NextDateServer.main(new String[] {"0", "0", "1"});
+        } finally {
+            System.setOut(original);
+        }
+        String line = captured.toString("US-ASCII");
+        assertTrue(line, line.startsWith("NextDate server on "));
+        assertTrue(line, line.contains(NextDateServer.HTTP_PATH + ", binary TCP "));
+    }
+
+    private static String read(InputStream in) throws IOException {
+        try (InputStream stream = in) {
+            return new String(stream.readAllBytes(), StandardCharsets.US_ASCII);
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package edu.seds514.nextdate;
+
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Status Code Testing for NextDate Program
+ *
+ * Tests the exception-free tryNextDate/checkDate path: one status code per
+ * validation failure, and agreement with the throwing getNextDate.
+ */
+public class NextDateStatusTest {
+
+    private NextDate nextDate;
+
+    @Before
+    public void setUp() {
+        nextDate = new NextDate();
+    }
+
+    /**
+     * Test: Year outside 1812-2100
+     * Expected: INVALID_YEAR, checked before the month
+     */
+    @Test
+    public void testInvalidYear() {
+        assertEquals(DateStatus.INVALID_YEAR, nextDate.tryNextDate(6, 15, 1811));
+        assertEquals(DateStatus.INVALID_YEAR, nextDate.tryNextDate(13, 15, 2101));
+    }
+
+    /**
+     * Test: Month outside 1-12
+     * Expected: INVALID_MONTH
+     */
+    @Test
+    public void testInvalidMonth() {
+        assertEquals(DateStatus.INVALID_MONTH, nextDate.tryNextDate(0, 15, 2000));
+        assertEquals(DateStatus.INVALID_MONTH, nextDate.tryNextDate(13, 15, 2000));
+    }
+
+    /**
+     * Test: Day outside 1-31
+     * Expected: DAY_OUT_OF_RANGE
+     */
+    @Test
+    public void testDayOutOfRange() {
+        assertEquals(DateStatus.DAY_OUT_OF_RANGE, nextDate.tryNextDate(1, 0, 2000));
+        assertEquals(DateStatus.DAY_OUT_OF_RANGE, nextDate.tryNextDate(1, 32, 2000));
+    }
+
+    /**
+     * Test: Day past the end of its month
+     * Input: Feb 29, 1900 (non-leap) and Apr 31, 2000
+     * Expected: INVALID_DAY_FOR_MONTH
+     */
+    @Test
+    public void testInvalidDayForMonth() {
+        assertEquals(DateStatus.INVALID_DAY_FOR_MONTH, nextDate.tryNextDate(2, 29, 1900));
+        assertEquals(DateStatus.INVALID_DAY_FOR_MONTH, nextDate.tryNextDate(4, 31, 2000));
+        assertEquals(DateStatus.INVALID_DAY_FOR_MONTH, nextDate.tryNextDate(20000431));
+    }
+
+    /**
+     * Test: Valid date
+     * Expected: Positive packed next date and OK from checkDate
+     */
+    @Test
+    public void testValidDate() {
+        assertEquals(DateStatus.OK, nextDate.checkDate(2, 29, 2000));
+        int next = nextDate.tryNextDate(2, 29, 2000);
+        assertFalse(DateStatus.isError(next));
+        assertEquals(20000301, next);
+    }
+
+    /**
+     * Test: Status codes agree with getNextDate around every boundary
+     * Expected: getNextDate throws exactly when tryNextDate returns an error,
+     * and the exception message matches the status
+     */
+    @Test
+    public void testAgreesWithGetNextDate() {
+        for (int year = 1810; year <= 2102; year += 2) {
+            for (int month = -1; month <= 14; month++) {
+                for (int day = -1; day <= 33; day++) {
+                    int result = nextDate.tryNextDate(month, day, year);
+                    try {
+                        nextDate.getNextDate(month, day, year);
+                        assertFalse(DateStatus.isError(result));
+                    } catch (IllegalArgumentException e) {
+                        assertTrue(DateStatus.isError(result));
+                        assertEquals(expectedMessage(result, month, day, year), e.getMessage());
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Test: Status names
+     * Expected: Constant names for every code, unknown codes rejected
+     */
+    @Test
+    public void testStatusNames() {
+        assertEquals("OK", DateStatus.name(DateStatus.OK));
+        assertEquals("INVALID_YEAR", DateStatus.name(DateStatus.INVALID_YEAR));
+        assertEquals("INVALID_MONTH", DateStatus.name(DateStatus.INVALID_MONTH));
+        assertEquals("DAY_OUT_OF_RANGE", DateStatus.name(DateStatus.DAY_OUT_OF_RANGE));
+        assertEquals("INVALID_DAY_FOR_MONTH", DateStatus.name(DateStatus.INVALID_DAY_FOR_MONTH));
+        assertEquals("MALFORMED", DateStatus.name(DateStatus.MALFORMED));
+        try {
+            DateStatus.name(7);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException expected) {
+            assertEquals("Unknown status: 7", expected.getMessage());
+        }
+    }
+
+    private static String expectedMessage(int status, int month, int day, int year) {
+        switch (status) {
+            case DateStatus.INVALID_YEAR:
+                return "Year must be between 1812 and 2100";
+            case DateStatus.INVALID_MONTH:
+                return "Month must be between 1 and 12";
+            case DateStatus.DAY_OUT_OF_RANGE:
+                return "Day must be between 1 and 31";
+            default:
+                return "Day " + day + " is invalid for month " + month + " in year " + year
+                    + " (max " + NextDate.getDaysInMonth(month, year) + " days)";
+        }
+    }
+}
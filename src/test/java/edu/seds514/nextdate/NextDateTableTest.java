@@ -0,0 +1,124 @@
+package edu.seds514.nextdate;
+
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Exhaustive Testing for the NextDate transition table
+ *
+ * Compares every table lookup against NextDate.getNextDate over the whole
+ * 1812-2100 domain, plus a band of invalid inputs around every boundary.
+ */
+public class NextDateTableTest {
+
+    private NextDate nextDate;
+    private NextDateTable table;
+
+    @Before
+    public void setUp() {
+        nextDate = new NextDate();
+        table = NextDateTable.getInstance();
+    }
+
+    /**
+     * Test: Every (month, day, year) around the valid domain
+     * Expected: Table agrees with the arithmetic of a NextDate for 1811-2101 on valid
+     * dates and reports INVALID exactly where getNextDate throws or the year is outside 1812-2100
+     */
+    @Test
+    public void testNext_AgreesWithGetNextDateExhaustively() {
+        NextDate arithmetic = new NextDate(1811, 2101);
+        int valid = 0;
+        for (int year = 1810; year <= 2102; year++) {
+            for (int month = -1; month <= 14; month++) {
+                for (int day = -1; day <= 33; day++) {
+                    String expected;
+                    try {
+                        expected = arithmetic.getNextDate(month, day, year);
+                    } catch (IllegalArgumentException e) {
+                        expected = null;
+                    }
+                    if (year < NextDateTable.MIN_YEAR || year > NextDateTable.MAX_YEAR) {
+                        expected = null;
+                    }
+                    int next = table.next(month, day, year);
+                    if (expected == null) {
+                        assertEquals(NextDateTable.INVALID, next);
+                    } else {
+                        valid++;
+                        assertEquals(expected, format(next));
+                    }
+                }
+            }
+        }
+        assertEquals(table.size(), valid);
+    }
+
+    /**
+     * Test: Ordinals are dense and ordered
+     * Expected: 01/01/1812 is 0, each date maps back to its ordinal
+     */
+    @Test
+    public void testOrdinal_DenseRoundTrip() {
+        assertEquals(0, table.ordinalOf(1, 1, 1812));
+        assertEquals(table.size() - 1, table.ordinalOf(12, 31, 2100));
+        for (int ordinal = 0; ordinal < table.size(); ordinal++) {
+            int date = table.dateAt(ordinal);
+            assertEquals(ordinal, table.ordinalOf(date / 100 % 100, date % 100, date / 10000));
+        }
+    }
+
+    /**
+     * Test: Domain size
+     * Expected: 289 years with 71 leap years (1900 and 2100 excluded) = 289 * 365 + 71 days
+     */
+    @Test
+    public void testSize() {
+        assertEquals(289 * 365 + 71, table.size());
+    }
+
+    /**
+     * Test: Last valid date
+     * Expected: 12/31/2100 rolls over to 01/01/2101
+     */
+    @Test
+    public void testNext_LastDate() {
+        assertEquals(21010101, table.next(12, 31, 2100));
+    }
+
+    /**
+     * Test: Memory footprint covers the date array
+     * Expected: At least 4 bytes per date and well under one megabyte
+     */
+    @Test
+    public void testFootprint() {
+        long footprint = table.footprintBytes();
+        assertTrue(footprint >= 4L * table.size());
+        assertTrue(footprint < 1024 * 1024);
+    }
+
+    /**
+     * Test: Generated calendar data against NextDate's own rules
+     * Expected: Every month length matches getDaysInMonth; bounds match the table and NextDate
+     */
+    @Test
+    public void testCalendarData_MatchesNextDate() {
+        int years = CalendarData.MAX_YEAR - CalendarData.MIN_YEAR + 1;
+        assertEquals(years * 12, CalendarData.MONTH_LENGTHS.length());
+        for (int year = CalendarData.MIN_YEAR; year <= CalendarData.MAX_YEAR; year++) {
+            for (int month = 1; month <= 12; month++) {
+                int slot = (year - CalendarData.MIN_YEAR) * 12 + month - 1;
+                assertEquals(month + "/" + year, NextDate.getDaysInMonth(month, year),
+                    CalendarData.MONTH_LENGTHS.charAt(slot));
+            }
+        }
+        assertEquals(CalendarData.DAYS, table.size());
+        assertEquals(PackedDate.EPOCH_DAY_OF_FIRST_ORDINAL, CalendarData.FIRST_EPOCH_DAY);
+        assertEquals(CalendarData.LAST_EPOCH_DAY, nextDate.nextEpochDay(CalendarData.LAST_EPOCH_DAY - 1));
+    }
+
+    private static String format(int date) {
+        return String.format("%02d/%02d/%04d", date / 100 % 100, date % 100, date / 10000);
+    }
+}
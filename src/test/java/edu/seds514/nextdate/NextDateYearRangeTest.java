@@ -0,0 +1,226 @@
+package edu.seds514.nextdate;
+
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Random;
+
+/**
+ * Configurable Year Range Testing
+ *
+ * Tests custom ranges and their error messages, and checks next dates, day
+ * arithmetic and formatting against java.time.LocalDate over millions of random
+ * dates, both inside the 1812-2100 table window and across the full supported range.
+ */
+public class NextDateYearRangeTest {
+
+    private static final long FIRST_EPOCH_DAY = LocalDate.of(NextDate.MIN_SUPPORTED_YEAR, 1, 1).toEpochDay();
+    private static final long LAST_EPOCH_DAY = LocalDate.of(NextDate.MAX_SUPPORTED_YEAR, 12, 31).toEpochDay();
+    private static final long WINDOW_FIRST = LocalDate.of(1812, 1, 1).toEpochDay();
+    private static final long WINDOW_LAST = LocalDate.of(2100, 12, 31).toEpochDay();
+
+    private NextDate full;
+    private Random random;
+
+    @Before
+    public void setUp() {
+        full = new NextDate(NextDate.MIN_SUPPORTED_YEAR, NextDate.MAX_SUPPORTED_YEAR);
+        random = new Random(25);
+    }
+
+    private static int pack(LocalDate date) {
+        return PackedDate.pack(date.getMonthValue(), date.getDayOfMonth(), date.getYear());
+    }
+
+    private long randomEpochDay(long first, long last) {
+        return first + (long) (random.nextDouble() * (last - first + 1));
+    }
+
+    /**
+     * Test: Default and custom ranges
+     * Input: new NextDate(), new NextDate(1900, 1999)
+     * Expected: Getters report the range; year errors name it; 12/31/1999 still rolls over
+     */
+    @Test
+    public void testCustomRange() {
+        assertEquals(1812, new NextDate().getMinYear());
+        assertEquals(2100, new NextDate().getMaxYear());
+
+        NextDate century = new NextDate(1900, 1999);
+        assertEquals("01/01/2000", century.getNextDate(12, 31, 1999));
+        assertEquals(DateStatus.INVALID_YEAR, century.tryNextDate(6, 15, 1850));
+        String[] messages = new String[3];
+        try {
+            century.getNextDate(1, 1, 2000);
+        } catch (IllegalArgumentException e) {
+            messages[0] = e.getMessage();
+        }
+        try {
+            century.previousDate(19000101);
+        } catch (IllegalArgumentException e) {
+            messages[1] = e.getMessage();
+        }
+        try {
+            century.nextEpochDay(LocalDate.of(2000, 1, 1).toEpochDay());
+        } catch (IllegalArgumentException e) {
+            messages[2] = e.getMessage();
+        }
+        for (String message : messages) {
+            assertEquals("Year must be between 1900 and 1999", message);
+        }
+        assertEquals(20000101, century.plusDays(19000101, 36524));
+    }
+
+    /**
+     * Test: Every (month, day, year) around 1812-2100, default instance (table lookups)
+     * against a 1811-2101 instance (arithmetic)
+     * Expected: Same next date or status code, except INVALID_YEAR from the default on 1811 and 2101
+     */
+    @Test
+    public void testDefaultRange_MatchesArithmetic() {
+        NextDate table = new NextDate();
+        NextDate arithmetic = new NextDate(1811, 2101);
+        for (int year = 1810; year <= 2102; year++) {
+            for (int month = -1; month <= 14; month++) {
+                for (int day = -1; day <= 33; day++) {
+                    int expected = year < 1812 || year > 2100
+                        ? DateStatus.INVALID_YEAR : arithmetic.tryNextDate(month, day, year);
+                    assertEquals(expected, table.tryNextDate(month, day, year));
+                }
+            }
+        }
+    }
+
+    /**
+     * Test: Unsupported or empty ranges
+     * Input: (-1, 2000), (1812, 214748), (2000, 1999)
+     * Expected: IllegalArgumentException
+     */
+    @Test
+    public void testConstructor_InvalidRange() {
+        int[][] ranges = {{-1, 2000}, {1812, NextDate.MAX_SUPPORTED_YEAR + 1}, {2000, 1999}};
+        for (int[] range : ranges) {
+            try {
+                new NextDate(range[0], range[1]);
+                fail("Expected IllegalArgumentException for " + range[0] + " to " + range[1]);
+            } catch (IllegalArgumentException expected) {
+                // unsupported range
+            }
+        }
+    }
+
+    /**
+     * Test: 2,000,000 random dates across years 0-214747, and 1,000,000 in 1812-2100
+     * Expected: nextDate and previousDate match LocalDate; the last date of the range rolls over
+     */
+    @Test
+    public void testNextDate_MatchesLocalDate() {
+        for (int i = 0; i < 3_000_000; i++) {
+            long epochDay = i < 2_000_000
+                ? randomEpochDay(FIRST_EPOCH_DAY, LAST_EPOCH_DAY)
+                : randomEpochDay(WINDOW_FIRST, WINDOW_LAST);
+            LocalDate date = LocalDate.ofEpochDay(epochDay);
+            int packed = pack(date);
+            assertEquals(date.toString(), pack(date.plusDays(1)), full.nextDate(packed));
+            if (epochDay > FIRST_EPOCH_DAY) {
+                assertEquals(date.toString(), pack(date.minusDays(1)), full.previousDate(packed));
+            }
+        }
+        assertEquals(PackedDate.pack(1, 1, NextDate.MAX_SUPPORTED_YEAR + 1),
+            full.nextDate(12, 31, NextDate.MAX_SUPPORTED_YEAR));
+        assertEquals(PackedDate.pack(1, 1, 1), full.nextDate(12, 31, 0));
+    }
+
+    /**
+     * Test: 1,000,000 random plusDays and daysBetween, half with both ends in 1812-2100
+     * Expected: Same results as LocalDate.plusDays and epoch-day differences
+     */
+    @Test
+    public void testDayArithmetic_MatchesLocalDate() {
+        for (int i = 0; i < 1_000_000; i++) {
+            boolean window = (i & 1) == 0;
+            long from = window ? randomEpochDay(WINDOW_FIRST, WINDOW_LAST) : randomEpochDay(FIRST_EPOCH_DAY, LAST_EPOCH_DAY);
+            long to = window ? randomEpochDay(WINDOW_FIRST, WINDOW_LAST) : randomEpochDay(FIRST_EPOCH_DAY, LAST_EPOCH_DAY);
+            LocalDate fromDate = LocalDate.ofEpochDay(from);
+            int days = (int) (to - from);
+            assertEquals(fromDate.toString(), pack(LocalDate.ofEpochDay(to)), full.plusDays(pack(fromDate), days));
+            assertEquals(pack(fromDate), full.minusDays(pack(LocalDate.ofEpochDay(to)), days));
+            assertEquals(days, full.daysBetween(pack(fromDate), pack(LocalDate.ofEpochDay(to))));
+        }
+    }
+
+    /**
+     * Test: Formatting of random dates with 4, 5 and 6 digit years
+     * Expected: Same text as String.format("%02d/%02d/%04d") from every output method
+     */
+    @Test
+    public void testFormatting_MatchesFormatString() throws IOException {
+        char[] chars = new char[12];
+        byte[] bytes = new byte[12];
+        for (int i = 0; i < 100_000; i++) {
+            LocalDate date = LocalDate.ofEpochDay(randomEpochDay(FIRST_EPOCH_DAY, LAST_EPOCH_DAY));
+            LocalDate next = date.plusDays(1);
+            String expected = String.format("%02d/%02d/%04d", next.getMonthValue(), next.getDayOfMonth(), next.getYear());
+            int month = date.getMonthValue();
+            int day = date.getDayOfMonth();
+            int year = date.getYear();
+
+            assertEquals(expected, full.getNextDate(month, day, year));
+            int written = full.getNextDate(month, day, year, chars, 0);
+            assertEquals(expected, new String(chars, 0, written));
+            assertEquals(written, full.getNextDate(month, day, year, bytes, 0));
+            assertEquals(expected, new String(bytes, 0, written, StandardCharsets.US_ASCII));
+            assertEquals(expected, full.getNextDate(month, day, year, new StringBuilder()).toString());
+            Appendable appendable = new StringBuilder();
+            assertEquals(expected, full.getNextDate(month, day, year, appendable).toString());
+            CharBuffer charBuffer = CharBuffer.allocate(12);
+            full.getNextDate(month, day, year, charBuffer).flip();
+            assertEquals(expected, charBuffer.toString());
+            ByteBuffer byteBuffer = ByteBuffer.allocate(12);
+            full.getNextDate(month, day, year, byteBuffer).flip();
+            assertEquals(written, byteBuffer.remaining());
+        }
+        assertEquals("01/01/0001", full.getNextDate(12, 31, 0));
+        assertEquals("01/01/10000", full.getNextDate(12, 31, 9999));
+        assertEquals("01/01/214748", full.getNextDate(12, 31, 214747));
+        try {
+            full.getNextDate(12, 31, 9999, new char[10], 0);
+            fail("Expected IndexOutOfBoundsException");
+        } catch (IndexOutOfBoundsException expected) {
+            // 11 characters do not fit
+        }
+    }
+
+    /**
+     * Test: Batch kernel on a custom range
+     * Input: Random packed dates with years 1000-3000 on a 1500-2500 instance
+     * Expected: Same results and invalid rows as tryNextDate
+     */
+    @Test
+    public void testBatch_CustomRange() {
+        NextDate ranged = new NextDate(1500, 2500);
+        int rows = 10_000;
+        int[] dates = new int[rows];
+        for (int i = 0; i < rows; i++) {
+            dates[i] = PackedDate.pack(1 + random.nextInt(12), 1 + random.nextInt(31), 1000 + random.nextInt(2001));
+        }
+        int[] next = new int[rows];
+        long[] invalid = new long[(rows + 63) / 64];
+        int invalidCount = ranged.nextDates(dates, 0, rows, next, invalid);
+        int expectedInvalid = 0;
+        for (int i = 0; i < rows; i++) {
+            int expected = ranged.tryNextDate(dates[i]);
+            boolean rowInvalid = (invalid[i >>> 6] & 1L << i) != 0;
+            assertEquals(expected < 0, rowInvalid);
+            assertEquals(expected < 0 ? 0 : expected, next[i]);
+            expectedInvalid += expected < 0 ? 1 : 0;
+        }
+        assertEquals(expectedInvalid, invalidCount);
+    }
+}
@@ -0,0 +1,367 @@
+package edu.seds514.nextdate;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.Random;
+
+/**
+ * Off-Heap Column Testing
+ *
+ * Tests append/get/slice, the bulk kernels against the on-heap methods, explicit
+ * lifetime, and persistence of mapped columns.
+ */
+public class OffHeapDateColumnTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final NextDate nextDate = new NextDate();
+
+    private static int randomDate(Random random) {
+        return PackedDate.pack(random.nextInt(14), random.nextInt(33), 1805 + random.nextInt(300));
+    }
+
+    /**
+     * Test: Append, get, set and capacity
+     * Expected: Rows read back; appending past capacity fails
+     */
+    @Test
+    public void testAppendGetSet() {
+        try (OffHeapDateColumn column = OffHeapDateColumn.allocate(2)) {
+            column.append(20000228);
+            column.append(21001231);
+            column.set(0, 20000229);
+            assertEquals(2, column.size());
+            assertEquals(20000229, column.get(0));
+            assertEquals(21001231, column.get(1));
+            try {
+                column.append(20000101);
+                fail("Expected IllegalStateException");
+            } catch (IllegalStateException expected) {
+                // full
+            }
+        }
+    }
+
+    /**
+     * Test: nextDates kernel on random valid and invalid dates, in place
+     * Expected: Same results and bitmap as NextDate.nextDates on an int[]
+     */
+    @Test
+    public void testNextDates_MatchesHeapKernel() {
+        Random random = new Random(5);
+        int rows = 1000;
+        int[] dates = new int[rows];
+        try (OffHeapDateColumn column = OffHeapDateColumn.allocate(rows)) {
+            for (int i = 0; i < rows; i++) {
+                dates[i] = randomDate(random);
+                column.append(dates[i]);
+            }
+            int[] expected = new int[rows];
+            long[] expectedInvalid = new long[16];
+            int expectedCount = nextDate.nextDates(dates, 0, rows, expected, expectedInvalid);
+
+            long[] invalid = new long[16];
+            assertEquals(expectedCount, column.nextDates(column, invalid));
+            assertArrayEquals(expectedInvalid, invalid);
+            for (int i = 0; i < rows; i++) {
+                assertEquals(expected[i], column.get(i));
+            }
+        }
+    }
+
+    /**
+     * Test: plusDays kernel for several offsets
+     * Expected: Matches LocalDate and NextDate.plusDays, which allows 01/01/2101; results
+     * past it, before 1812 and invalid inputs are flagged
+     */
+    @Test
+    public void testPlusDays() {
+        try (OffHeapDateColumn column = OffHeapDateColumn.allocate(4);
+             OffHeapDateColumn out = OffHeapDateColumn.allocate(4)) {
+            column.append(20000228);
+            column.append(18120101);
+            column.append(21001231);
+            column.append(20000230);
+            long[] invalid = new long[1];
+
+            assertEquals(1, column.plusDays(1, out, invalid));
+            assertEquals(20000229, out.get(0));
+            assertEquals(18120102, out.get(1));
+            assertEquals(new NextDate().plusDays(21001231, 1), out.get(2));
+            assertEquals(0b1000L, invalid[0]);
+
+            assertEquals(2, column.plusDays(2, out, invalid));
+            assertEquals(0, out.get(2));
+            assertEquals(0b1100L, invalid[0]);
+
+            assertEquals(2, column.plusDays(-366, out, invalid));
+            LocalDate expected = LocalDate.of(2000, 2, 28).minusDays(366);
+            assertEquals(PackedDate.pack(expected.getMonthValue(), expected.getDayOfMonth(), expected.getYear()), out.get(0));
+            assertEquals(0b1010L, invalid[0]);
+        }
+    }
+
+    /**
+     * Test: Both kernels with the range of NextDate(1700, 2200), and plusDays with the default range
+     * Input: 02/28/2200, 01/01/1700, 12/31/2200, 02/30/2000, 06/15/1699
+     * Expected: nextDates matches NextDate(1700, 2200).nextDates; plusDays matches its
+     *           plusDays up to 01/01/2201 and flags the rest; every row is outside the default range
+     */
+    @Test
+    public void testCustomRange() {
+        NextDate ranged = new NextDate(1700, 2200);
+        int[] dates = {22000228, 17000101, 22001231, 20000230, 16990615};
+        try (OffHeapDateColumn column = OffHeapDateColumn.allocate(dates.length);
+             OffHeapDateColumn out = OffHeapDateColumn.allocate(dates.length)) {
+            for (int date : dates) {
+                column.append(date);
+            }
+            int[] expected = new int[dates.length];
+            long[] expectedInvalid = new long[1];
+            int expectedCount = ranged.nextDates(dates, 0, dates.length, expected, expectedInvalid);
+            long[] invalid = new long[1];
+            assertEquals(expectedCount, column.nextDates(ranged, out, invalid));
+            assertEquals(expectedInvalid[0], invalid[0]);
+            for (int i = 0; i < dates.length; i++) {
+                assertEquals(expected[i], out.get(i));
+            }
+
+            assertEquals(2, column.plusDays(ranged, 1, out, invalid));
+            assertEquals(ranged.plusDays(22000228, 1), out.get(0));
+            assertEquals(17000102, out.get(1));
+            assertEquals(22010101, out.get(2));
+            assertEquals(0b11000L, invalid[0]);
+
+            assertEquals(3, column.plusDays(ranged, -1, out, invalid));
+            assertEquals(0, out.get(1));
+            assertEquals(0b11010L, invalid[0]);
+
+            assertEquals(5, column.plusDays(nextDate, 1, out, invalid));
+            assertEquals(0b11111L, invalid[0]);
+        }
+    }
+
+    /**
+     * Test: Slices share memory and run kernels on their own rows
+     * Expected: Kernel on a slice changes only the slice's rows of the parent
+     */
+    @Test
+    public void testSlice() {
+        try (OffHeapDateColumn column = OffHeapDateColumn.allocate(4)) {
+            column.append(20000101);
+            column.append(20000131);
+            column.append(20001231);
+            column.append(20000615);
+            OffHeapDateColumn slice = column.slice(1, 3);
+            assertEquals(2, slice.size());
+            assertEquals(0, slice.nextDates(slice, new long[1]));
+            assertEquals(20000101, column.get(0));
+            assertEquals(20000201, column.get(1));
+            assertEquals(20010101, column.get(2));
+            assertEquals(20000615, column.get(3));
+            slice.close();
+            assertEquals(20000201, column.get(1));
+        }
+    }
+
+    /**
+     * Test: Kernels between slices of one column: partly overlapping, adjacent, and the same rows
+     * Expected: Partial overlap throws IllegalArgumentException and writes nothing; the others run
+     */
+    @Test
+    public void testSliceOverlap() {
+        try (OffHeapDateColumn column = OffHeapDateColumn.allocate(4)) {
+            column.append(20000101);
+            column.append(20000131);
+            column.append(20001231);
+            column.append(20000615);
+            OffHeapDateColumn head = column.slice(0, 2);
+            for (OffHeapDateColumn dst : new OffHeapDateColumn[] {column.slice(1, 3), column.slice(1, 4)}) {
+                try {
+                    head.nextDates(dst, new long[1]);
+                    fail("Expected IllegalArgumentException");
+                } catch (IllegalArgumentException expected) {
+                    assertEquals("Target rows partly overlap the source rows", expected.getMessage());
+                }
+                try {
+                    head.plusDays(1, dst, new long[1]);
+                    fail("Expected IllegalArgumentException");
+                } catch (IllegalArgumentException expected) {
+                    // same check
+                }
+            }
+            assertEquals(20000131, column.get(1));
+            assertEquals(20001231, column.get(2));
+
+            assertEquals(0, head.nextDates(column.slice(2, 4), new long[1]));
+            assertEquals(20000102, column.get(2));
+            assertEquals(20000201, column.get(3));
+            assertEquals(0, head.plusDays(1, column.slice(0, 2), new long[1]));
+            assertEquals(20000102, column.get(0));
+            assertEquals(20000201, column.get(1));
+        }
+    }
+
+    /**
+     * Test: Access after close, on the column and on its slice
+     * Expected: Should throw IllegalStateException
+     */
+    @Test
+    public void testClosed() {
+        OffHeapDateColumn column = OffHeapDateColumn.allocate(1);
+        column.append(20000101);
+        OffHeapDateColumn slice = column.slice(0, 1);
+        column.close();
+        column.close();
+        try {
+            column.get(0);
+            fail("Expected IllegalStateException");
+        } catch (IllegalStateException expected) {
+            // closed
+        }
+        try {
+            slice.get(0);
+            fail("Expected IllegalStateException");
+        } catch (IllegalStateException expected) {
+            // parent closed
+        }
+    }
+
+    /**
+     * Test: Target column too small
+     * Expected: Should throw IllegalArgumentException
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testTargetTooSmall() {
+        try (OffHeapDateColumn column = OffHeapDateColumn.allocate(2);
+             OffHeapDateColumn out = OffHeapDateColumn.allocate(1)) {
+            column.append(20000101);
+            column.append(20000102);
+            column.nextDates(out, new long[1]);
+        }
+    }
+
+    /**
+     * Test: Mapped column written, closed and reopened with a larger capacity
+     * Expected: Rows persist and more can be appended
+     */
+    @Test
+    public void testMappedPersistence() throws IOException {
+        Path path = folder.getRoot().toPath().resolve("dates.col");
+        try (OffHeapDateColumn column = OffHeapDateColumn.map(path, 3)) {
+            column.append(20000228);
+            column.append(20000229);
+            column.nextDates(column, new long[1]);
+        }
+        assertEquals(OffHeapDateColumn.HEADER_SIZE + 3 * 4, Files.size(path));
+        try (OffHeapDateColumn column = OffHeapDateColumn.map(path, 10)) {
+            assertEquals(2, column.size());
+            assertEquals(10, column.capacity());
+            assertEquals(20000229, column.get(0));
+            assertEquals(20000301, column.get(1));
+            column.append(20001231);
+        }
+        try (OffHeapDateColumn column = OffHeapDateColumn.map(path, 0)) {
+            assertEquals(3, column.size());
+            assertEquals(20001231, column.get(2));
+        }
+    }
+
+    /**
+     * Test: Mapping a file that is not a column
+     * Expected: Should throw IOException
+     */
+    @Test(expected = IOException.class)
+    public void testMapNotAColumn() throws IOException {
+        Path path = folder.newFile("text.txt").toPath();
+        Files.write(path, "02/28/2000\n".getBytes(StandardCharsets.US_ASCII));
+        OffHeapDateColumn.map(path, 1).close();
+    }
+
+    /**
+     * Test: Mapping a file shorter than the header, and one whose row count exceeds its length
+     * Expected: Should throw IOException naming the problem
+     */
+    @Test
+    public void testMapTruncatedOrCorrupt() throws IOException {
+        Path shortFile = folder.newFile("short.col").toPath();
+        Files.write(shortFile, new byte[] {'L', 'C', 'D'});
+        try {
+            OffHeapDateColumn.map(shortFile, 1).close();
+            fail("Expected IOException");
+        } catch (IOException e) {
+            assertTrue(e.getMessage(), e.getMessage().startsWith("File too short for a column header"));
+        }
+        Path corrupt = folder.getRoot().toPath().resolve("corrupt.col");
+        try (OffHeapDateColumn column = OffHeapDateColumn.map(corrupt, 1)) {
+            column.append(20000101);
+        }
+        ByteBuffer header = ByteBuffer.allocate(OffHeapDateColumn.HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(OffHeapDateColumn.MAGIC).putInt(2);
+        try (FileChannel channel = FileChannel.open(corrupt, StandardOpenOption.WRITE)) {
+            channel.write(header.flip(), 0);
+        }
+        try {
+            OffHeapDateColumn.map(corrupt, 1).close();
+            fail("Expected IOException");
+        } catch (IOException e) {
+            assertTrue(e.getMessage(), e.getMessage().startsWith("Corrupt date column file"));
+        }
+    }
+
+    /**
+     * Test: Negative and oversized capacities, and a bitmap too short for the rows
+     * Expected: IllegalArgumentException for the capacities, IndexOutOfBoundsException for the bitmap
+     */
+    @Test
+    public void testBadArguments() {
+        for (int capacity : new int[] {-1, OffHeapDateColumn.MAX_CAPACITY + 1}) {
+            try {
+                OffHeapDateColumn.allocate(capacity);
+                fail("Expected IllegalArgumentException for " + capacity);
+            } catch (IllegalArgumentException expected) {
+                // out of range
+            }
+        }
+        try (OffHeapDateColumn column = OffHeapDateColumn.allocate(65)) {
+            for (int i = 0; i < 65; i++) {
+                column.append(20000101);
+            }
+            column.force();
+            column.plusDays(1, column, new long[1]);
+            fail("Expected IndexOutOfBoundsException");
+        } catch (IndexOutOfBoundsException expected) {
+            // bitmap needs 2 words
+        }
+    }
+
+    /**
+     * Test: Cleaner lookup on a class without invokeCleaner, and freeing a heap buffer
+     * Expected: The failed lookup frees nothing; freeing a non-direct buffer is ignored
+     */
+    @Test
+    public void testCleanerFallback() {
+        OffHeapDateColumn.Cleaner missing = OffHeapDateColumn.Cleaner.find("java.lang.Object");
+        assertFalse(missing.isAvailable());
+        ByteBuffer direct = ByteBuffer.allocateDirect(4);
+        missing.free(direct);
+        direct.putInt(0, 20000101);
+        assertEquals(20000101, direct.getInt(0));
+
+        assertTrue(OffHeapDateColumn.Cleaner.INSTANCE.isAvailable());
+        OffHeapDateColumn.Cleaner.INSTANCE.free(ByteBuffer.allocate(4));
+    }
+}
@@ -0,0 +1,115 @@
+package edu.seds514.nextdate;
+
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.time.LocalDate;
+
+/**
+ * Packed Date Encoding Testing
+ *
+ * Tests the packed-int and epoch-day encodings, their conversions, and the
+ * NextDate variants that take and return encoded dates directly.
+ */
+public class PackedDateTest {
+
+    private NextDate nextDate;
+
+    @Before
+    public void setUp() {
+        nextDate = new NextDate();
+    }
+
+    /**
+     * Test: Packing and unpacking
+     * Input: Feb 29, 2024
+     * Expected: 20240229, fields read back unchanged
+     */
+    @Test
+    public void testPack_RoundTrip() {
+        int packed = PackedDate.pack(2, 29, 2024);
+        assertEquals(20240229, packed);
+        assertEquals(2, PackedDate.month(packed));
+        assertEquals(29, PackedDate.day(packed));
+        assertEquals(2024, PackedDate.year(packed));
+    }
+
+    /**
+     * Test: Epoch day and ordinal conversions over the whole domain
+     * Expected: Agree with java.time.LocalDate and round-trip for every date
+     */
+    @Test
+    public void testEpochDay_AgreesWithLocalDate() {
+        LocalDate date = LocalDate.of(1812, 1, 1);
+        LocalDate end = LocalDate.of(2101, 1, 1);
+        int ordinal = 0;
+        while (!date.isAfter(end)) {
+            int packed = PackedDate.pack(date.getMonthValue(), date.getDayOfMonth(), date.getYear());
+            assertEquals(date.toEpochDay(), PackedDate.toEpochDay(packed));
+            assertEquals(packed, PackedDate.fromEpochDay(date.toEpochDay()));
+            assertEquals(ordinal, PackedDate.toOrdinal(packed));
+            assertEquals(packed, PackedDate.fromOrdinal(ordinal));
+            date = date.plusDays(1);
+            ordinal++;
+        }
+    }
+
+    /**
+     * Test: nextDate on packed input agrees with getNextDate
+     * Input: Decision-table dates
+     * Expected: Same date as the String result
+     */
+    @Test
+    public void testNextDate_Packed() {
+        assertEquals(20000616, nextDate.nextDate(20000615));
+        assertEquals(20000201, nextDate.nextDate(20000131));
+        assertEquals(20000229, nextDate.nextDate(20000228));
+        assertEquals(20000301, nextDate.nextDate(20000229));
+        assertEquals(19000301, nextDate.nextDate(19000228));
+        assertEquals(20000101, nextDate.nextDate(19991231));
+        assertEquals(21010101, nextDate.nextDate(12, 31, 2100));
+    }
+
+    /**
+     * Test: nextDate on an invalid packed date
+     * Input: 02/30/2000
+     * Expected: Should throw IllegalArgumentException
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testNextDate_PackedInvalid() {
+        nextDate.nextDate(20000230);
+    }
+
+    /**
+     * Test: nextEpochDay within range
+     * Expected: Epoch day of the following date
+     */
+    @Test
+    public void testNextEpochDay() {
+        long epochDay = LocalDate.of(2100, 12, 31).toEpochDay();
+        assertEquals(epochDay + 1, nextDate.nextEpochDay(epochDay));
+        long first = LocalDate.of(1812, 1, 1).toEpochDay();
+        assertEquals(first + 1, nextDate.nextEpochDay(first));
+    }
+
+    /**
+     * Test: nextEpochDay below range
+     * Input: 12/31/1811
+     * Expected: Should throw IllegalArgumentException
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testNextEpochDay_BelowRange() {
+        nextDate.nextEpochDay(LocalDate.of(1811, 12, 31).toEpochDay());
+    }
+
+    /**
+     * Test: nextEpochDay above range
+     * Input: 01/01/2101
+     * Expected: Should throw IllegalArgumentException
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testNextEpochDay_AboveRange() {
+        nextDate.nextEpochDay(LocalDate.of(2101, 1, 1).toEpochDay());
+    }
+}
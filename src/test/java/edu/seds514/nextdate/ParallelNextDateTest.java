@@ -0,0 +1,180 @@
+package edu.seds514.nextdate;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Parallel Batch Testing for NextDate Program
+ *
+ * Tests that the fork/join batch processor produces exactly the same output
+ * columns, bitmap and invalid count as the sequential batch API.
+ */
+public class ParallelNextDateTest {
+
+    private static final int ROWS = 1_000_003;
+
+    private NextDate nextDate;
+    private ForkJoinPool pool;
+    private ParallelNextDate parallel;
+    private int[] months;
+    private int[] days;
+    private int[] years;
+
+    @Before
+    public void setUp() {
+        nextDate = new NextDate();
+        pool = new ForkJoinPool(4);
+        parallel = new ParallelNextDate(pool);
+        Random random = new Random(42);
+        months = new int[ROWS];
+        days = new int[ROWS];
+        years = new int[ROWS];
+        for (int i = 0; i < ROWS; i++) {
+            months[i] = random.nextInt(14);
+            days[i] = random.nextInt(33);
+            years[i] = 1800 + random.nextInt(310);
+        }
+    }
+
+    @After
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    /**
+     * Test: Packed column on a custom pool with an unaligned offset
+     * Expected: Identical to the sequential path
+     */
+    @Test
+    public void testPacked_MatchesSequential() {
+        int[] dates = new int[ROWS];
+        for (int i = 0; i < ROWS; i++) {
+            dates[i] = PackedDate.pack(months[i], days[i], years[i]);
+        }
+        int offset = 17;
+        int length = ROWS - 40;
+        int[] expected = new int[ROWS];
+        long[] expectedInvalid = new long[(length + 63) / 64];
+        int expectedCount = nextDate.nextDates(dates, offset, length, expected, expectedInvalid);
+
+        int[] actual = new int[ROWS];
+        long[] actualInvalid = new long[(length + 63) / 64];
+        int actualCount = parallel.nextDates(dates, offset, length, actual, actualInvalid);
+
+        assertEquals(expectedCount, actualCount);
+        assertArrayEquals(expected, actual);
+        assertArrayEquals(expectedInvalid, actualInvalid);
+    }
+
+    /**
+     * Test: Month/day/year columns written back in place
+     * Expected: Identical to the sequential path
+     */
+    @Test
+    public void testColumns_InPlaceMatchesSequential() {
+        int[] expectedMonths = new int[ROWS];
+        int[] expectedDays = new int[ROWS];
+        int[] expectedYears = new int[ROWS];
+        long[] expectedInvalid = new long[(ROWS + 63) / 64];
+        int expectedCount = nextDate.nextDates(months, days, years, 0, ROWS,
+            expectedMonths, expectedDays, expectedYears, expectedInvalid);
+
+        long[] actualInvalid = new long[(ROWS + 63) / 64];
+        int actualCount = parallel.nextDates(months, days, years, 0, ROWS,
+            months, days, years, actualInvalid);
+
+        assertEquals(expectedCount, actualCount);
+        assertArrayEquals(expectedMonths, months);
+        assertArrayEquals(expectedDays, days);
+        assertArrayEquals(expectedYears, years);
+        assertArrayEquals(expectedInvalid, actualInvalid);
+    }
+
+    /**
+     * Test: Batch smaller than one chunk
+     * Expected: Runs directly and still matches the sequential path
+     */
+    @Test
+    public void testPacked_SmallBatch() {
+        int[] dates = {20000615, 20000230, 19991231};
+        int[] next = new int[3];
+        long[] invalid = new long[1];
+        assertEquals(1, new ParallelNextDate().nextDates(dates, 0, 3, next, invalid));
+        assertArrayEquals(new int[] {20000616, 0, 20000101}, next);
+        assertEquals(0b010L, invalid[0]);
+    }
+
+    /**
+     * Test: Chunk size adapts to length and parallelism
+     * Expected: Never below the minimum, always a multiple of 64
+     */
+    @Test
+    public void testChunkSize() {
+        assertEquals(ParallelNextDate.MIN_CHUNK, parallel.chunkSize(1000));
+        int chunk = parallel.chunkSize(100_000_000);
+        assertEquals(0, chunk % 64);
+        assertTrue(chunk >= 100_000_000 / 16);
+    }
+
+    /**
+     * Test: Processor for 1700-2200 on packed dates around both default bounds
+     * Expected: Same results as NextDate(1700, 2200); 12/31/2200 rolls over, 2201 is invalid
+     */
+    @Test
+    public void testCustomRange() {
+        ParallelNextDate ranged = new ParallelNextDate(pool, 1700, 2200);
+        assertEquals(1700, ranged.getMinYear());
+        assertEquals(2200, ranged.getMaxYear());
+        int[] dates = {17000101, 18111231, 21001231, 22001231, 22010101, 16991231};
+        int[] expected = new int[dates.length];
+        long[] expectedInvalid = new long[1];
+        int expectedCount = new NextDate(1700, 2200).nextDates(dates, 0, dates.length, expected, expectedInvalid);
+        int[] actual = new int[dates.length];
+        long[] actualInvalid = new long[1];
+        assertEquals(expectedCount, ranged.nextDates(dates, 0, dates.length, actual, actualInvalid));
+        assertArrayEquals(expected, actual);
+        assertArrayEquals(expectedInvalid, actualInvalid);
+        assertEquals(22010101, actual[3]);
+        assertEquals(0b110000L, actualInvalid[0]);
+
+        int[] nextMonths = new int[1];
+        int[] nextDays = new int[1];
+        int[] nextYears = new int[1];
+        assertEquals(0, ranged.nextDates(new int[] {12}, new int[] {31}, new int[] {2150}, 0, 1,
+            nextMonths, nextDays, nextYears, new long[1]));
+        assertEquals(2151, nextYears[0]);
+    }
+
+    /**
+     * Test: Default processor
+     * Expected: Range is 1812-2100
+     */
+    @Test
+    public void testDefaultRange() {
+        assertEquals(1812, parallel.getMinYear());
+        assertEquals(2100, parallel.getMaxYear());
+    }
+
+    /**
+     * Test: Empty year range
+     * Expected: Should throw IllegalArgumentException
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testEmptyRange() {
+        new ParallelNextDate(pool, 2000, 1999);
+    }
+
+    /**
+     * Test: Null pool
+     * Expected: Should throw IllegalArgumentException
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testNullPool() {
+        new ParallelNextDate(null);
+    }
+}
@@ -0,0 +1,202 @@
+package edu.seds514.nextdate;
+
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.util.Random;
+
+/**
+ * SIMD Kernel Testing
+ *
+ * Tests that the Vector API kernel (or its scalar fallback) matches the scalar batch
+ * kernel row for row and bit for bit, including vector tails and unaligned offsets.
+ */
+public class VectorizedNextDateTest {
+
+    private NextDate nextDate;
+    private VectorizedNextDate vectorized;
+
+    @Before
+    public void setUp() {
+        nextDate = new NextDate();
+        vectorized = new VectorizedNextDate();
+    }
+
+    /**
+     * Test: Kernel selection
+     * Expected: SIMD kernel in use whenever the incubator module is loaded (JDK 17+ builds
+     * add it to the test JVM)
+     */
+    @Test
+    public void testKernelSelection() {
+        boolean moduleLoaded = ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+        assertEquals(moduleLoaded && Runtime.version().feature() >= 17, vectorized.isVectorized());
+    }
+
+    /**
+     * Test: Random mixed valid and invalid rows over many offset/length combinations
+     * Expected: Outputs, bitmap and invalid count equal the scalar batch API
+     */
+    @Test
+    public void testMatchesScalarKernel() {
+        Random random = new Random(17);
+        int rows = 1000;
+        int[] months = new int[rows];
+        int[] days = new int[rows];
+        int[] years = new int[rows];
+        for (int i = 0; i < rows; i++) {
+            months[i] = random.nextInt(15) - 1;
+            days[i] = random.nextInt(34) - 1;
+            years[i] = 1800 + random.nextInt(310);
+        }
+        int[][] ranges = {{0, rows}, {0, 0}, {0, 1}, {3, 61}, {5, 64}, {7, 200}, {64, 129}, {999, 1}};
+        for (int[] range : ranges) {
+            int offset = range[0];
+            int length = range[1];
+            int[][] expected = new int[3][rows];
+            int[][] actual = new int[3][rows];
+            long[] expectedInvalid = new long[16];
+            long[] actualInvalid = new long[16];
+            int expectedCount = nextDate.nextDates(months, days, years, offset, length,
+                expected[0], expected[1], expected[2], expectedInvalid);
+            int actualCount = vectorized.nextDates(months, days, years, offset, length,
+                actual[0], actual[1], actual[2], actualInvalid);
+            assertEquals(expectedCount, actualCount);
+            assertArrayEquals(expectedInvalid, actualInvalid);
+            for (int c = 0; c < 3; c++) {
+                assertArrayEquals(expected[c], actual[c]);
+            }
+        }
+    }
+
+    /**
+     * Test: Every date of the domain, in order
+     * Expected: Next month, day and year match nextDate; nothing flagged invalid
+     */
+    @Test
+    public void testWholeDomain() {
+        NextDateTable table = NextDateTable.getInstance();
+        int rows = table.size();
+        int[] months = new int[rows];
+        int[] days = new int[rows];
+        int[] years = new int[rows];
+        for (int i = 0; i < rows; i++) {
+            int date = table.dateAt(i);
+            months[i] = PackedDate.month(date);
+            days[i] = PackedDate.day(date);
+            years[i] = PackedDate.year(date);
+        }
+        int[] nextMonths = new int[rows];
+        int[] nextDays = new int[rows];
+        int[] nextYears = new int[rows];
+        assertEquals(0, vectorized.nextDates(months, days, years, 0, rows,
+            nextMonths, nextDays, nextYears, new long[(rows + 63) / 64]));
+        for (int i = 0; i < rows; i++) {
+            assertEquals(table.dateAt(i + 1), PackedDate.pack(nextMonths[i], nextDays[i], nextYears[i]));
+        }
+    }
+
+    /**
+     * Test: SIMD kernel disabled with -Dnextdate.vector=false
+     * Expected: Scalar fallback in use; results equal the scalar batch API
+     */
+    @Test
+    public void testDisabledByProperty() {
+        String previous = System.getProperty(VectorizedNextDate.ENABLED_PROPERTY);
+        System.setProperty(VectorizedNextDate.ENABLED_PROPERTY, "false");
+        VectorizedNextDate scalar;
+        try {
+            scalar = new VectorizedNextDate();
+        } finally {
+            if (previous == null) {
+                System.clearProperty(VectorizedNextDate.ENABLED_PROPERTY);
+            } else {
+                System.setProperty(VectorizedNextDate.ENABLED_PROPERTY, previous);
+            }
+        }
+        assertFalse(scalar.isVectorized());
+        int[] months = {2, 12, 2, 13};
+        int[] days = {28, 31, 29, 1};
+        int[] years = {2000, 2100, 1900, 2000};
+        int[][] expected = new int[3][4];
+        int[][] actual = new int[3][4];
+        long[] expectedInvalid = new long[1];
+        long[] actualInvalid = new long[1];
+        assertEquals(nextDate.nextDates(months, days, years, 0, 4, expected[0], expected[1], expected[2], expectedInvalid),
+            scalar.nextDates(months, days, years, 0, 4, actual[0], actual[1], actual[2], actualInvalid));
+        assertArrayEquals(expectedInvalid, actualInvalid);
+        for (int c = 0; c < 3; c++) {
+            assertArrayEquals(expected[c], actual[c]);
+        }
+    }
+
+    /**
+     * Test: Processor for 1600-2400, whose century years the SIMD kernel does not handle
+     * Expected: Scalar kernel in use; results equal NextDate(1600, 2400), so 02/28/2200
+     *           goes to 03/01 and 02/28/2400 to 02/29
+     */
+    @Test
+    public void testCustomRange() {
+        VectorizedNextDate ranged = new VectorizedNextDate(1600, 2400);
+        assertFalse(ranged.isVectorized());
+        assertEquals(1600, ranged.getMinYear());
+        assertEquals(2400, ranged.getMaxYear());
+        int[] months = {2, 2, 12, 1, 6};
+        int[] days = {28, 28, 31, 1, 15};
+        int[] years = {2200, 2400, 2400, 1599, 1700};
+        int[][] expected = new int[3][5];
+        int[][] actual = new int[3][5];
+        long[] expectedInvalid = new long[1];
+        long[] actualInvalid = new long[1];
+        assertEquals(new NextDate(1600, 2400).nextDates(months, days, years, 0, 5,
+                expected[0], expected[1], expected[2], expectedInvalid),
+            ranged.nextDates(months, days, years, 0, 5, actual[0], actual[1], actual[2], actualInvalid));
+        assertArrayEquals(expectedInvalid, actualInvalid);
+        for (int c = 0; c < 3; c++) {
+            assertArrayEquals(expected[c], actual[c]);
+        }
+        assertEquals(3, actual[0][0]);
+        assertEquals(29, actual[1][1]);
+        assertEquals(0b01000L, actualInvalid[0]);
+    }
+
+    /**
+     * Test: Default processor
+     * Expected: Range is 1812-2100
+     */
+    @Test
+    public void testDefaultRange() {
+        assertEquals(1812, vectorized.getMinYear());
+        assertEquals(2100, vectorized.getMaxYear());
+    }
+
+    /**
+     * Test: Range beyond the largest supported year
+     * Expected: Should throw IllegalArgumentException
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnsupportedRange() {
+        new VectorizedNextDate(1812, NextDate.MAX_SUPPORTED_YEAR + 1);
+    }
+
+    /**
+     * Test: Loading a kernel class that does not exist, and one that is not a kernel
+     * Expected: null, so the constructor falls back to the scalar kernel
+     */
+    @Test
+    public void testLoadFailure() {
+        assertNull(VectorizedNextDate.load("edu.seds514.nextdate.NoSuchKernel"));
+        assertNull(VectorizedNextDate.load("java.lang.Object"));
+    }
+
+    /**
+     * Test: Bitmap too short
+     * Expected: Should throw IndexOutOfBoundsException
+     */
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testBitmapTooShort() {
+        int[] column = new int[65];
+        vectorized.nextDates(column, column, column, 0, 65, column, column, column, new long[1]);
+    }
+}